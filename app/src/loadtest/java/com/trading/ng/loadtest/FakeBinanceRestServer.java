@@ -0,0 +1,175 @@
+package com.trading.ng.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stub of every Binance Spot REST endpoint the app calls.
+ * <p>
+ * {@code POST /api/v3/order} fills every order immediately, so cancels and
+ * order lookups find nothing. {@code GET /api/v3/account} returns a fixed balance
+ * in the quote asset plus every base asset, and {@code exchangeInfo} lists every
+ * symbol with permissive filters. The market data and trade history endpoints
+ * ({@code klines}, {@code aggTrades}, {@code depth}, {@code myTrades}) and
+ * {@code openOrders} return empty results. Requests are handled on virtual
+ * threads and signatures are not checked.
+ * <p>
+ * Keep this in step with the app: a REST call added there needs a stub here.
+ */
+public class FakeBinanceRestServer implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeBinanceRestServer.class);
+
+    private final HttpServer server;
+    private final List<String> symbols;
+    private final String quoteAsset;
+    private final List<String> assets;
+    private final AtomicLong nextOrderId = new AtomicLong(1);
+    private final LongAdder orders = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+
+    public FakeBinanceRestServer(List<String> symbols, String quoteAsset, List<String> assets) throws IOException {
+        this.symbols = List.copyOf(symbols);
+        this.quoteAsset = quoteAsset;
+        this.assets = List.copyOf(assets);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/v3/order", this::handleOrder);
+        server.createContext("/api/v3/account", this::handleAccount);
+        server.createContext("/api/v3/openOrders", ex -> respond(ex, 200, "[]"));
+        server.createContext("/api/v3/exchangeInfo", this::handleExchangeInfo);
+        server.createContext("/api/v3/klines", ex -> respond(ex, 200, "[]"));
+        server.createContext("/api/v3/aggTrades", ex -> respond(ex, 200, "[]"));
+        server.createContext("/api/v3/myTrades", ex -> respond(ex, 200, "[]"));
+        server.createContext("/api/v3/depth", ex -> respond(ex, 200, "{\"lastUpdateId\":1,\"bids\":[],\"asks\":[]}"));
+        server.createContext("/", ex -> respond(ex, 404, "{\"code\":-1000,\"msg\":\"Not stubbed\"}"));
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void start() {
+        server.start();
+        log.info("Fake Binance REST server listening on {}", url());
+    }
+
+    public long orderCount() {
+        return orders.sum();
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handleOrder(HttpExchange ex) throws IOException {
+        if ("DELETE".equals(ex.getRequestMethod())) {
+            respond(ex, 400, "{\"code\":-2011,\"msg\":\"Unknown order sent.\"}");
+            return;
+        }
+        if (!"POST".equals(ex.getRequestMethod())) {
+            respond(ex, 400, "{\"code\":-2013,\"msg\":\"Order does not exist.\"}");
+            return;
+        }
+        Map<String, String> params = params(ex);
+        long orderId = nextOrderId.getAndIncrement();
+        orders.increment();
+        String qty = params.getOrDefault("quantity", "0");
+        respond(ex, 200, "{\"symbol\":\"" + params.getOrDefault("symbol", "") + "\",\"orderId\":" + orderId
+                + ",\"orderListId\":-1,\"clientOrderId\":\"lt-" + orderId + "\",\"transactTime\":"
+                + System.currentTimeMillis() + ",\"price\":\"0.00000000\",\"origQty\":\"" + qty
+                + "\",\"executedQty\":\"" + qty + "\",\"cummulativeQuoteQty\":\"0.00000000\""
+                + ",\"status\":\"FILLED\",\"timeInForce\":\"GTC\",\"type\":\"" + params.getOrDefault("type", "MARKET")
+                + "\",\"side\":\"" + params.getOrDefault("side", "BUY") + "\",\"fills\":[]}");
+    }
+
+    private void handleAccount(HttpExchange ex) throws IOException {
+        StringBuilder balances = new StringBuilder();
+        for (String asset : assets) {
+            if (!balances.isEmpty()) {
+                balances.append(',');
+            }
+            balances.append("{\"asset\":\"").append(asset)
+                    .append("\",\"free\":\"1000000.00000000\",\"locked\":\"0.00000000\"}");
+        }
+        respond(ex, 200, "{\"makerCommission\":10,\"takerCommission\":10,\"buyerCommission\":0,"
+                + "\"sellerCommission\":0,\"canTrade\":true,\"canWithdraw\":false,\"canDeposit\":false,"
+                + "\"updateTime\":" + System.currentTimeMillis() + ",\"accountType\":\"SPOT\","
+                + "\"balances\":[" + balances + "],\"permissions\":[\"SPOT\"]}");
+    }
+
+    private void handleExchangeInfo(HttpExchange ex) throws IOException {
+        StringBuilder listed = new StringBuilder();
+        for (String symbol : symbols) {
+            if (!listed.isEmpty()) {
+                listed.append(',');
+            }
+            listed.append("{\"symbol\":\"").append(symbol).append("\",\"status\":\"TRADING\",\"baseAsset\":\"")
+                    .append(symbol, 0, symbol.length() - quoteAsset.length())
+                    .append("\",\"baseAssetPrecision\":8,\"quoteAsset\":\"").append(quoteAsset)
+                    .append("\",\"quotePrecision\":8,\"quoteAssetPrecision\":8,")
+                    .append("\"orderTypes\":[\"LIMIT\",\"LIMIT_MAKER\",\"MARKET\"],\"icebergAllowed\":true,")
+                    .append("\"ocoAllowed\":false,\"isSpotTradingAllowed\":true,\"isMarginTradingAllowed\":false,")
+                    .append("\"filters\":[{\"filterType\":\"PRICE_FILTER\",\"minPrice\":\"0.00000001\",")
+                    .append("\"maxPrice\":\"1000000.00000000\",\"tickSize\":\"0.00000001\"},")
+                    .append("{\"filterType\":\"LOT_SIZE\",\"minQty\":\"0.00000001\",")
+                    .append("\"maxQty\":\"9000000.00000000\",\"stepSize\":\"0.00000001\"},")
+                    .append("{\"filterType\":\"MARKET_LOT_SIZE\",\"minQty\":\"0.00000000\",")
+                    .append("\"maxQty\":\"9000000.00000000\",\"stepSize\":\"0.00000000\"}],")
+                    .append("\"permissions\":[],\"defaultSelfTradePreventionMode\":\"NONE\",")
+                    .append("\"allowedSelfTradePreventionModes\":[\"NONE\"]}");
+        }
+        respond(ex, 200, "{\"timezone\":\"UTC\",\"serverTime\":" + System.currentTimeMillis()
+                + ",\"rateLimits\":[],\"exchangeFilters\":[],\"symbols\":[" + listed + "]}");
+    }
+
+    private Map<String, String> params(HttpExchange ex) throws IOException {
+        String query = ex.getRequestURI().getRawQuery();
+        String body = new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> params = new HashMap<>();
+        for (String source : new String[]{query, body}) {
+            if (source == null || source.isEmpty()) {
+                continue;
+            }
+            for (String pair : source.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return params;
+    }
+
+    private void respond(HttpExchange ex, int status, String json) throws IOException {
+        requests.increment();
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().add("Content-Type", "application/json");
+        ex.getResponseHeaders().add("X-MBX-USED-WEIGHT-1M", "1");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.trading.ng.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal local stand-in for the Binance market data WebSocket endpoint.
+ * <p>
+ * Implements just enough of RFC 6455 for the connector: the upgrade
+ * handshake, unmasking client frames, ping/pong and close. Clients subscribe
+ * either through the {@code streams=} query of a combined-stream URL or with
+ * {@code SUBSCRIBE}/{@code UNSUBSCRIBE} method messages. A generator thread
+ * emits synthetic {@code @miniTicker} and {@code @trade} events for every
+ * configured symbol at a fixed total rate, following a random walk per symbol.
+ */
+public class FakeBinanceStreamServer implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeBinanceStreamServer.class);
+    private static final String WS_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+|\"[^\"]*\")");
+    private static final Pattern PARAMS_PATTERN = Pattern.compile("\"params\"\\s*:\\s*\\[([^\\]]*)]");
+
+    private final ServerSocket serverSocket;
+    private final List<String> symbols;
+    private final long eventsPerSecond;
+    private final double[] prices;
+    private final long[] tradeIds;
+
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final AtomicLong emitted = new AtomicLong();
+    private final AtomicLong emittedTickers = new AtomicLong();
+    private volatile boolean running = true;
+
+    public FakeBinanceStreamServer(List<String> symbols, long eventsPerSecond) throws IOException {
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        this.symbols = List.copyOf(symbols);
+        this.eventsPerSecond = eventsPerSecond;
+        this.prices = new double[symbols.size()];
+        this.tradeIds = new long[symbols.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 100 + ThreadLocalRandom.current().nextDouble(50_000);
+        }
+    }
+
+    public String url() {
+        return "ws://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    public void start() {
+        Thread.ofPlatform().name("fake-ws-accept").daemon().start(this::acceptLoop);
+        Thread.ofPlatform().name("fake-ws-generator").daemon().start(this::generateLoop);
+        log.info("Fake Binance stream server listening on {} ({} events/s over {} symbols)",
+                url(), eventsPerSecond, symbols.size());
+    }
+
+    /** Total events handed to client connections. */
+    public long emittedCount() {
+        return emitted.get();
+    }
+
+    /** Mini-ticker events handed to client connections; these are what reach price listeners. */
+    public long emittedTickerCount() {
+        return emittedTickers.get();
+    }
+
+    /** Frames queued for sending but not yet written, across all connections. */
+    public long sendBacklog() {
+        long backlog = 0;
+        for (Connection c : connections) {
+            backlog += c.outbound.size();
+        }
+        return backlog;
+    }
+
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Connection c : connections) {
+            c.close();
+        }
+    }
+
+    // --- Event generation ---
+
+    private void generateLoop() {
+        long intervalNanos = 1_000_000; // emit in 1 ms batches
+        double perBatch = eventsPerSecond / 1000.0;
+        double carry = 0;
+        long next = System.nanoTime();
+        int cursor = 0;
+        while (running) {
+            carry += perBatch;
+            int batch = (int) carry;
+            carry -= batch;
+            for (int i = 0; i < batch; i++) {
+                int idx = cursor;
+                cursor = (cursor + 1) % symbols.size();
+                // Four ticker events per trade event roughly matches a busy pair
+                if (ThreadLocalRandom.current().nextInt(5) == 0) {
+                    publish(idx, "@trade", tradeEvent(idx));
+                } else {
+                    publish(idx, "@miniTicker", miniTickerEvent(idx));
+                }
+            }
+            next += intervalNanos;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void publish(int idx, String suffix, String data) {
+        String stream = symbols.get(idx).toLowerCase() + suffix;
+        for (Connection c : connections) {
+            if (c.streams.contains(stream)) {
+                c.send(c.combined ? "{\"stream\":\"" + stream + "\",\"data\":" + data + "}" : data);
+                emitted.incrementAndGet();
+                if (suffix.equals("@miniTicker")) {
+                    emittedTickers.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private String miniTickerEvent(int idx) {
+        double price = prices[idx] * (1 + ThreadLocalRandom.current().nextGaussian() * 0.0005);
+        prices[idx] = price;
+        long now = System.currentTimeMillis();
+        return "{\"e\":\"24hrMiniTicker\",\"E\":" + now + ",\"s\":\"" + symbols.get(idx) + "\""
+                + ",\"c\":\"" + fmt(price) + "\",\"o\":\"" + fmt(price * 0.99) + "\""
+                + ",\"h\":\"" + fmt(price * 1.01) + "\",\"l\":\"" + fmt(price * 0.98) + "\""
+                + ",\"v\":\"1234.56780000\",\"q\":\"" + fmt(price * 1234.5678) + "\"}";
+    }
+
+    private String tradeEvent(int idx) {
+        long now = System.currentTimeMillis();
+        return "{\"e\":\"trade\",\"E\":" + now + ",\"s\":\"" + symbols.get(idx) + "\""
+                + ",\"t\":" + (++tradeIds[idx]) + ",\"p\":\"" + fmt(prices[idx]) + "\",\"q\":\"0.01000000\""
+                + ",\"T\":" + now + ",\"m\":" + ThreadLocalRandom.current().nextBoolean() + ",\"M\":true}";
+    }
+
+    private static String fmt(double v) {
+        return String.format(Locale.ROOT, "%.8f", v);
+    }
+
+    // --- WebSocket protocol ---
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread.ofVirtual().name("fake-ws-conn").start(() -> handle(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.error("Accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        Connection conn = null;
+        try {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+
+            String requestLine = readLine(in);
+            Map<String, String> headers = new HashMap<>();
+            for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+                }
+            }
+            String path = requestLine.split(" ")[1];
+            String accept = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-1")
+                    .digest((headers.get("sec-websocket-key") + WS_GUID).getBytes(StandardCharsets.ISO_8859_1)));
+            out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + accept + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+
+            conn = new Connection(socket, out, path.startsWith("/stream"));
+            int query = path.indexOf("streams=");
+            if (query >= 0) {
+                conn.streams.addAll(Arrays.asList(path.substring(query + "streams=".length()).split("/")));
+            }
+            connections.add(conn);
+            Connection c = conn;
+            Thread.ofVirtual().name("fake-ws-writer").start(c::writeLoop);
+
+            readFrames(in, conn);
+        } catch (Exception e) {
+            log.debug("WebSocket connection ended: {}", e.getMessage());
+        } finally {
+            if (conn != null) {
+                connections.remove(conn);
+                conn.close();
+            }
+        }
+    }
+
+    private void readFrames(InputStream in, Connection conn) throws IOException {
+        while (running) {
+            int b0 = in.read();
+            int b1 = in.read();
+            if (b0 < 0 || b1 < 0) {
+                return;
+            }
+            int opcode = b0 & 0x0F;
+            long len = b1 & 0x7F;
+            if (len == 126) {
+                len = (in.read() << 8) | in.read();
+            } else if (len == 127) {
+                len = 0;
+                for (int i = 0; i < 8; i++) {
+                    len = (len << 8) | in.read();
+                }
+            }
+            byte[] mask = (b1 & 0x80) != 0 ? in.readNBytes(4) : null;
+            byte[] payload = in.readNBytes((int) len);
+            if (mask != null) {
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i & 3];
+                }
+            }
+            switch (opcode) {
+                case 0x1 -> onText(conn, new String(payload, StandardCharsets.UTF_8));
+                case 0x8 -> {
+                    conn.sendFrame(0x8, payload);
+                    return;
+                }
+                case 0x9 -> conn.sendFrame(0xA, payload);
+                default -> {
+                    // pong and continuation frames are ignored
+                }
+            }
+        }
+    }
+
+    private void onText(Connection conn, String message) {
+        Matcher params = PARAMS_PATTERN.matcher(message);
+        List<String> streams = new ArrayList<>();
+        if (params.find()) {
+            for (String p : params.group(1).split(",")) {
+                String stream = p.trim().replace("\"", "");
+                if (!stream.isEmpty()) {
+                    streams.add(stream);
+                }
+            }
+        }
+        if (message.contains("UNSUBSCRIBE")) {
+            streams.forEach(conn.streams::remove);
+        } else if (message.contains("SUBSCRIBE")) {
+            conn.streams.addAll(streams);
+        }
+        Matcher id = ID_PATTERN.matcher(message);
+        conn.send("{\"result\":null,\"id\":" + (id.find() ? id.group(1) : "null") + "}");
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = in.read()) >= 0 && c != '\n') {
+            if (c != '\r') {
+                sb.append((char) c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class Connection {
+        private final Socket socket;
+        private final OutputStream out;
+        private final boolean combined;
+        private final Set<String> streams = ConcurrentHashMap.newKeySet();
+        private final BlockingQueue<byte[]> outbound = new LinkedBlockingQueue<>();
+
+        Connection(Socket socket, OutputStream out, boolean combined) {
+            this.socket = socket;
+            this.out = out;
+            this.combined = combined;
+        }
+
+        void send(String text) {
+            outbound.add(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeLoop() {
+            try {
+                while (!socket.isClosed()) {
+                    byte[] payload = outbound.take();
+                    synchronized (out) {
+                        writeFrame(0x1, payload);
+                        // Batch everything already queued into one flush
+                        byte[] more;
+                        while ((more = outbound.poll()) != null) {
+                            writeFrame(0x1, more);
+                        }
+                        out.flush();
+                    }
+                }
+            } catch (InterruptedException | IOException e) {
+                close();
+            }
+        }
+
+        void sendFrame(int opcode, byte[] payload) throws IOException {
+            synchronized (out) {
+                writeFrame(opcode, payload);
+                out.flush();
+            }
+        }
+
+        private void writeFrame(int opcode, byte[] payload) throws IOException {
+            out.write(0x80 | opcode);
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else if (payload.length <= 0xFFFF) {
+                out.write(126);
+                out.write(payload.length >>> 8);
+                out.write(payload.length & 0xFF);
+            } else {
+                out.write(127);
+                for (int i = 7; i >= 0; i--) {
+                    out.write((int) ((long) payload.length >>> (8 * i)) & 0xFF);
+                }
+            }
+            out.write(payload);
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+}
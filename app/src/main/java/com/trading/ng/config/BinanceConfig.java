@@ -5,10 +5,13 @@ import com.binance.connector.client.common.configuration.SignatureConfiguration;
 import com.binance.connector.client.common.websocket.configuration.WebSocketClientConfiguration;
 import com.binance.connector.client.spot.rest.SpotRestApiUtil;
 import com.binance.connector.client.spot.rest.api.SpotRestApi;
+import com.binance.connector.client.spot.websocket.api.SpotWebSocketApiUtil;
+import com.binance.connector.client.spot.websocket.api.api.SpotWebSocketApi;
 import com.binance.connector.client.spot.websocket.stream.SpotWebSocketStreamsUtil;
 import com.binance.connector.client.spot.websocket.stream.api.SpotWebSocketStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -59,4 +62,35 @@ public class BinanceConfig {
         log.info("Binance SpotWebSocketStreams initialized (pool=true)");
         return new SpotWebSocketStreams(config);
     }
+
+    /**
+     * Signed WebSocket API connection, used for the user data stream.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "exchange", name = "mode", havingValue = "LIVE", matchIfMissing = true)
+    public SpotWebSocketApi spotWebSocketApi(BinanceProperties props) {
+        WebSocketClientConfiguration config = SpotWebSocketApiUtil.getClientConfiguration();
+
+        if (props.useTestnet()) {
+            config.setUrl("wss://ws-api.testnet.binance.vision/ws-api/v3");
+            log.info("Binance WebSocket API configured for TESTNET");
+        } else if (props.wsApiUrl() != null && !props.wsApiUrl().isBlank()) {
+            config.setUrl(props.wsApiUrl());
+        }
+
+        if (props.apiKey() != null && !props.apiKey().isBlank()) {
+            SignatureConfiguration sig = new SignatureConfiguration();
+            sig.setApiKey(props.apiKey());
+            if (props.privateKeyPath() != null && !props.privateKeyPath().isBlank()) {
+                sig.setPrivateKey(props.privateKeyPath());
+            }
+            if (props.privateKeyPass() != null && !props.privateKeyPass().isBlank()) {
+                sig.setPrivateKeyPass(props.privateKeyPass());
+            }
+            config.setSignatureConfiguration(sig);
+        }
+
+        log.info("Binance SpotWebSocketApi initialized (url={})", config.getUrl());
+        return new SpotWebSocketApi(config);
+    }
 }
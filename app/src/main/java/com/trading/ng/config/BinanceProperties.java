@@ -11,6 +11,7 @@ public record BinanceProperties(
         String privateKeyPass,
         String baseUrl,
         String streamUrl,
+        String wsApiUrl,
         boolean useTestnet,
         List<String> symbols
 ) {
@@ -5,19 +5,39 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "bot")
 public record BotProperties(
         boolean enabled,
         List<String> symbols,
         StrategyType strategy,
+        Map<String, List<StrategyType>> symbolStrategies,
         int shortSmaPeriod,
         int longSmaPeriod,
         int vortexPeriod,
         int samplingIntervalSeconds,
+        Map<String, Integer> symbolSamplingIntervals,
+        Map<StrategyType, Integer> strategySamplingIntervals,
         BigDecimal orderSizePercent,
         int cooldownSeconds,
         BigDecimal minOrderSizeEur,
-        String quoteAsset
+        String quoteAsset,
+        boolean batchEvaluation,
+        AdaptiveSampling adaptiveSampling
 ) {
+
+    /**
+     * Volatility-driven sampling intervals, on a ladder of {@code minIntervalSeconds}
+     * doublings up to {@code maxIntervalSeconds}.
+     */
+    public record AdaptiveSampling(
+            boolean enabled,
+            int minIntervalSeconds,
+            int maxIntervalSeconds,
+            int targetMoveBps,
+            int halfLifeSeconds,
+            int adjustSeconds
+    ) {
+    }
 }
@@ -0,0 +1,13 @@
+package com.trading.ng.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "cluster")
+public record ClusterProperties(
+        boolean enabled,
+        String nodeId,
+        int heartbeatSeconds,
+        int leaseSeconds,
+        int virtualNodes
+) {
+}
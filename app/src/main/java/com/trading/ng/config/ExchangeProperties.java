@@ -0,0 +1,26 @@
+package com.trading.ng.config;
+
+import com.trading.ng.service.ExchangeMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "exchange")
+public record ExchangeProperties(
+        ExchangeMode mode,
+        int filterRefreshSeconds,
+        Paper paper
+) {
+
+    /**
+     * Simulated exchange settings, used when {@code mode} is {@code PAPER}.
+     */
+    public record Paper(
+            long latencyMillis,
+            int slippageBps,
+            int feeBps,
+            Map<String, BigDecimal> initialBalances
+    ) {
+    }
+}
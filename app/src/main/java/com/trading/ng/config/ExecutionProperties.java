@@ -0,0 +1,19 @@
+package com.trading.ng.config;
+
+import com.trading.ng.domain.ExecutionAlgo;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+@ConfigurationProperties(prefix = "execution")
+public record ExecutionProperties(
+        ExecutionAlgo botAlgo,
+        BigDecimal sliceAboveNotional,
+        int twapSlices,
+        int twapIntervalSeconds,
+        BigDecimal icebergVisiblePercent,
+        int icebergRepriceSeconds,
+        int makerTimeoutSeconds,
+        int makerMaxRepricesPerSecond
+) {
+}
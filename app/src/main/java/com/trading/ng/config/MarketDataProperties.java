@@ -0,0 +1,43 @@
+package com.trading.ng.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "market-data")
+public record MarketDataProperties(
+        int staleAfterSeconds,
+        Map<String, Integer> staleAfterSecondsBySymbol,
+        int watchdogSeconds,
+        long reconnectBackoffMillis,
+        long reconnectMaxBackoffMillis,
+        int reconnectBatchSize,
+        OrderBook orderBook,
+        BarStore barStore
+) {
+
+    /**
+     * Local order books from the diff-depth stream.
+     */
+    public record OrderBook(
+            boolean enabled,
+            int snapshotLimit,
+            int maxLevels
+    ) {
+    }
+
+    /**
+     * Off-heap OHLCV bars per symbol, memory-mapped under {@code directory} when set.
+     * Exchange archives under {@code importDirectory} are imported on request.
+     */
+    public record BarStore(
+            boolean enabled,
+            int barSeconds,
+            int capacity,
+            String directory,
+            int preloadDays,
+            String importDirectory,
+            int importThreads
+    ) {
+    }
+}
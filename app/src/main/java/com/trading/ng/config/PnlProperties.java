@@ -0,0 +1,11 @@
+package com.trading.ng.config;
+
+import com.trading.ng.service.CostMethod;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "pnl")
+public record PnlProperties(
+        CostMethod costMethod,
+        int snapshotSeconds
+) {
+}
@@ -0,0 +1,12 @@
+package com.trading.ng.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "portfolio")
+public record PortfolioProperties(
+        List<String> bridgeAssets,
+        int balanceRefreshSeconds
+) {
+}
@@ -0,0 +1,13 @@
+package com.trading.ng.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "rest-scheduler")
+public record RestSchedulerProperties(
+        int weightLimitPerMinute,
+        int orderLimitPerTenSeconds,
+        int readBudgetPercent,
+        int backgroundBudgetPercent,
+        long maxQueueMillis
+) {
+}
@@ -0,0 +1,15 @@
+package com.trading.ng.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+@ConfigurationProperties(prefix = "risk")
+public record RiskProperties(
+        boolean enabled,
+        BigDecimal maxNotionalPerSymbol,
+        BigDecimal maxTotalExposure,
+        int maxOrdersPerSecond,
+        BigDecimal maxPriceDeviationPercent
+) {
+}
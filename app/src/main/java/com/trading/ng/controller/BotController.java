@@ -1,12 +1,15 @@
 package com.trading.ng.controller;
 
 import com.trading.ng.dto.BotConfigRequest;
+import com.trading.ng.dto.BotConfigVersion;
 import com.trading.ng.dto.BotStatusResponse;
 import com.trading.ng.service.TradingBotService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/bot")
 public class BotController {
@@ -40,4 +43,9 @@ public class BotController {
         botService.updateConfig(request);
         return ResponseEntity.ok(botService.getStatus());
     }
+
+    @GetMapping("/config/history")
+    public List<BotConfigVersion> configHistory() {
+        return botService.getConfigHistory();
+    }
 }
@@ -0,0 +1,26 @@
+package com.trading.ng.controller;
+
+import com.trading.ng.dto.ClusterStatusResponse;
+import com.trading.ng.service.SymbolOwnershipService;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    private final SymbolOwnershipService ownershipService;
+
+    public ClusterController(SymbolOwnershipService ownershipService) {
+        this.ownershipService = ownershipService;
+    }
+
+    @GetMapping("/status")
+    public ClusterStatusResponse status() {
+        return new ClusterStatusResponse(
+                ownershipService.isClusterEnabled(),
+                ownershipService.getNodeId(),
+                ownershipService.getLiveNodes(),
+                ownershipService.getOwnedSymbols()
+        );
+    }
+}
@@ -1,10 +1,17 @@
 package com.trading.ng.controller;
 
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.dto.BarImportStatus;
+import com.trading.ng.dto.OrderBookResponse;
 import com.trading.ng.dto.PriceUpdate;
+import com.trading.ng.dto.SlippageEstimate;
+import com.trading.ng.service.ArchiveImportService;
 import com.trading.ng.service.MarketDataStreamService;
+import com.trading.ng.service.OrderBookService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.Collection;
 
 @RestController
@@ -12,9 +19,14 @@ import java.util.Collection;
 public class MarketDataController {
 
     private final MarketDataStreamService marketDataService;
+    private final OrderBookService orderBookService;
+    private final ArchiveImportService archiveImportService;
 
-    public MarketDataController(MarketDataStreamService marketDataService) {
+    public MarketDataController(MarketDataStreamService marketDataService, OrderBookService orderBookService,
+                                ArchiveImportService archiveImportService) {
         this.marketDataService = marketDataService;
+        this.orderBookService = orderBookService;
+        this.archiveImportService = archiveImportService;
     }
 
     @GetMapping("/prices")
@@ -30,4 +42,38 @@ public class MarketDataController {
         }
         return ResponseEntity.ok(price);
     }
+
+    @GetMapping("/book/{symbol}")
+    public ResponseEntity<OrderBookResponse> getOrderBook(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "20") int levels) {
+        OrderBookResponse book = orderBookService.getSnapshot(symbol, levels);
+        if (book == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(book);
+    }
+
+    @GetMapping("/book/{symbol}/slippage")
+    public ResponseEntity<SlippageEstimate> estimateSlippage(
+            @PathVariable String symbol,
+            @RequestParam OrderSide side,
+            @RequestParam BigDecimal quantity) {
+        SlippageEstimate estimate = orderBookService.estimateSlippage(symbol, side, quantity);
+        if (estimate == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(estimate);
+    }
+
+    @PostMapping("/bars/import")
+    public ResponseEntity<BarImportStatus> importBars() {
+        archiveImportService.startImport();
+        return ResponseEntity.accepted().body(archiveImportService.getStatus());
+    }
+
+    @GetMapping("/bars/import")
+    public BarImportStatus importStatus() {
+        return archiveImportService.getStatus();
+    }
 }
@@ -1,22 +1,42 @@
 package com.trading.ng.controller;
 
+import com.trading.ng.dto.OrderHistoryPage;
 import com.trading.ng.dto.OrderResponse;
 import com.trading.ng.dto.PlaceOrderRequest;
+import com.trading.ng.dto.SlicedOrderRequest;
 import com.trading.ng.service.OrderService;
+import com.trading.ng.service.SlicedExecutionService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final int STREAM_FLUSH_ROWS = 1000;
+
     private final OrderService orderService;
+    private final SlicedExecutionService executionService;
+    private final JsonMapper jsonMapper;
+    private final ObjectWriter rowWriter;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, SlicedExecutionService executionService, JsonMapper jsonMapper) {
         this.orderService = orderService;
+        this.executionService = executionService;
+        this.jsonMapper = jsonMapper;
+        this.rowWriter = jsonMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @PostMapping
@@ -25,6 +45,25 @@ public class OrderController {
         return orderService.placeOrder(request);
     }
 
+    @PostMapping("/sliced")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public OrderResponse placeSlicedOrder(@Valid @RequestBody SlicedOrderRequest request) {
+        return executionService.submit(request.symbol(), request.side(), request.quantity(), request.algo(), null);
+    }
+
+    @GetMapping("/sliced")
+    public List<OrderResponse> getActiveSlicedOrders() {
+        return executionService.getActive();
+    }
+
+    @DeleteMapping("/sliced/{parentOrderId}")
+    public ResponseEntity<Void> cancelSlicedOrder(@PathVariable Long parentOrderId) {
+        if (!executionService.cancel(parentOrderId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
     @DeleteMapping("/{symbol}/{orderId}")
     public OrderResponse cancelOrder(
             @PathVariable String symbol,
@@ -45,7 +84,35 @@ public class OrderController {
     }
 
     @GetMapping("/history/{symbol}")
-    public List<OrderResponse> getOrderHistory(@PathVariable String symbol) {
-        return orderService.getOrderHistory(symbol);
+    public OrderHistoryPage getOrderHistory(
+            @PathVariable String symbol,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return orderService.getOrderHistory(symbol, from, to, cursor, limit);
+    }
+
+    /**
+     * Full history as a JSON array written row by row from a database cursor.
+     */
+    @GetMapping(value = "/history/{symbol}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody streamOrderHistory(
+            @PathVariable String symbol,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return out -> {
+            try (JsonGenerator gen = jsonMapper.createGenerator(out)) {
+                gen.writeStartArray();
+                int[] rows = {0};
+                orderService.streamOrderHistory(symbol, from, to, order -> {
+                    rowWriter.writeValue(gen, order);
+                    if (++rows[0] % STREAM_FLUSH_ROWS == 0) {
+                        gen.flush();
+                    }
+                });
+                gen.writeEndArray();
+            }
+        };
     }
 }
@@ -0,0 +1,33 @@
+package com.trading.ng.controller;
+
+import com.trading.ng.dto.PnlResponse;
+import com.trading.ng.service.PnlService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/pnl")
+public class PnlController {
+
+    private final PnlService pnlService;
+
+    public PnlController(PnlService pnlService) {
+        this.pnlService = pnlService;
+    }
+
+    @GetMapping
+    public List<PnlResponse> getAll() {
+        return pnlService.getAll();
+    }
+
+    @GetMapping("/{symbol}")
+    public ResponseEntity<PnlResponse> get(@PathVariable String symbol) {
+        PnlResponse pnl = pnlService.get(symbol);
+        if (pnl == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(pnl);
+    }
+}
@@ -1,7 +1,9 @@
 package com.trading.ng.controller;
 
 import com.trading.ng.dto.AccountBalance;
+import com.trading.ng.dto.PortfolioValuationResponse;
 import com.trading.ng.service.PortfolioService;
+import com.trading.ng.service.PortfolioValuationService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -11,9 +13,11 @@ import java.util.List;
 public class PortfolioController {
 
     private final PortfolioService portfolioService;
+    private final PortfolioValuationService valuationService;
 
-    public PortfolioController(PortfolioService portfolioService) {
+    public PortfolioController(PortfolioService portfolioService, PortfolioValuationService valuationService) {
         this.portfolioService = portfolioService;
+        this.valuationService = valuationService;
     }
 
     @GetMapping("/balances")
@@ -25,4 +29,9 @@ public class PortfolioController {
     public AccountBalance getBalance(@PathVariable String asset) {
         return portfolioService.getBalance(asset);
     }
+
+    @GetMapping("/valuation")
+    public PortfolioValuationResponse getValuation() {
+        return valuationService.getValuation();
+    }
 }
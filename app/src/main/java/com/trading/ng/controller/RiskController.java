@@ -0,0 +1,21 @@
+package com.trading.ng.controller;
+
+import com.trading.ng.dto.RiskStatusResponse;
+import com.trading.ng.service.RiskEngine;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/risk")
+public class RiskController {
+
+    private final RiskEngine riskEngine;
+
+    public RiskController(RiskEngine riskEngine) {
+        this.riskEngine = riskEngine;
+    }
+
+    @GetMapping("/status")
+    public RiskStatusResponse status() {
+        return riskEngine.getStatus();
+    }
+}
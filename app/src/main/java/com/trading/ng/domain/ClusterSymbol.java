@@ -0,0 +1,29 @@
+package com.trading.ng.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "cluster_symbols")
+public class ClusterSymbol {
+
+    @Id
+    private String symbol;
+
+    @Column(nullable = false)
+    private String registeredBy;
+
+    @Column(nullable = false)
+    private Instant registeredAt;
+
+    // --- Getters and Setters ---
+
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+
+    public String getRegisteredBy() { return registeredBy; }
+    public void setRegisteredBy(String registeredBy) { this.registeredBy = registeredBy; }
+
+    public Instant getRegisteredAt() { return registeredAt; }
+    public void setRegisteredAt(Instant registeredAt) { this.registeredAt = registeredAt; }
+}
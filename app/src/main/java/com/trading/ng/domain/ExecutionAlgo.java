@@ -0,0 +1,12 @@
+package com.trading.ng.domain;
+
+/**
+ * How a parent order is worked: TWAP spreads equal MARKET slices over time,
+ * ICEBERG shows one LIMIT slice at a time at the touch, MAKER posts the whole
+ * order as LIMIT_MAKER at the touch and follows the book.
+ */
+public enum ExecutionAlgo {
+    TWAP,
+    ICEBERG,
+    MAKER
+}
@@ -0,0 +1,74 @@
+package com.trading.ng.domain;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Entity
+@Table(name = "pnl_snapshots")
+public class PnlSnapshot {
+
+    @Id
+    private String symbol;
+
+    @Column(nullable = false, precision = 20, scale = 8)
+    private BigDecimal position;
+
+    @Column(nullable = false, precision = 20, scale = 8)
+    private BigDecimal costBasis;
+
+    @Column(nullable = false, precision = 20, scale = 8)
+    private BigDecimal realizedPnl;
+
+    @Column(nullable = false, precision = 20, scale = 8)
+    private BigDecimal fees;
+
+    // Open lots as "quantity:price;..." in scale-8 fixed point, oldest first
+    @Lob
+    private String lots;
+
+    @Column(nullable = false)
+    private Long lastTradeId;
+
+    // Every trade at or below this id was applied; null in snapshots saved before it was kept
+    private Long tradeIdFloor;
+
+    // Applied trade ids above tradeIdFloor, "id,id,..." ascending
+    @Lob
+    private String recentTradeIds;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    // --- Getters and Setters ---
+
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+
+    public BigDecimal getPosition() { return position; }
+    public void setPosition(BigDecimal position) { this.position = position; }
+
+    public BigDecimal getCostBasis() { return costBasis; }
+    public void setCostBasis(BigDecimal costBasis) { this.costBasis = costBasis; }
+
+    public BigDecimal getRealizedPnl() { return realizedPnl; }
+    public void setRealizedPnl(BigDecimal realizedPnl) { this.realizedPnl = realizedPnl; }
+
+    public BigDecimal getFees() { return fees; }
+    public void setFees(BigDecimal fees) { this.fees = fees; }
+
+    public String getLots() { return lots; }
+    public void setLots(String lots) { this.lots = lots; }
+
+    public Long getLastTradeId() { return lastTradeId; }
+    public void setLastTradeId(Long lastTradeId) { this.lastTradeId = lastTradeId; }
+
+    public Long getTradeIdFloor() { return tradeIdFloor; }
+    public void setTradeIdFloor(Long tradeIdFloor) { this.tradeIdFloor = tradeIdFloor; }
+
+    public String getRecentTradeIds() { return recentTradeIds; }
+    public void setRecentTradeIds(String recentTradeIds) { this.recentTradeIds = recentTradeIds; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,31 @@
+package com.trading.ng.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "symbol_leases", indexes = {
+        @Index(name = "idx_lease_owner", columnList = "ownerNodeId")
+})
+public class SymbolLease {
+
+    @Id
+    private String symbol;
+
+    @Column(nullable = false)
+    private String ownerNodeId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // --- Getters and Setters ---
+
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+
+    public String getOwnerNodeId() { return ownerNodeId; }
+    public void setOwnerNodeId(String ownerNodeId) { this.ownerNodeId = ownerNodeId; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -8,7 +8,9 @@ import java.time.Instant;
 @Table(name = "trading_orders", indexes = {
         @Index(name = "idx_order_symbol", columnList = "symbol"),
         @Index(name = "idx_order_status", columnList = "status"),
-        @Index(name = "idx_order_binance_id", columnList = "binanceOrderId")
+        @Index(name = "idx_order_binance_id", columnList = "binanceOrderId"),
+        @Index(name = "idx_order_symbol_created", columnList = "symbol, createdAt, id"),
+        @Index(name = "idx_order_parent", columnList = "parentOrderId")
 })
 public class TradingOrder {
 
@@ -48,6 +50,13 @@ public class TradingOrder {
     @Column(precision = 20, scale = 8)
     private BigDecimal stopPrice;
 
+    // Set on sliced parent orders, which have no exchange order of their own
+    @Enumerated(EnumType.STRING)
+    private ExecutionAlgo algo;
+
+    // Local id of the parent order this child was sliced from
+    private Long parentOrderId;
+
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -98,6 +107,12 @@ public class TradingOrder {
     public BigDecimal getStopPrice() { return stopPrice; }
     public void setStopPrice(BigDecimal stopPrice) { this.stopPrice = stopPrice; }
 
+    public ExecutionAlgo getAlgo() { return algo; }
+    public void setAlgo(ExecutionAlgo algo) { this.algo = algo; }
+
+    public Long getParentOrderId() { return parentOrderId; }
+    public void setParentOrderId(Long parentOrderId) { this.parentOrderId = parentOrderId; }
+
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
 }
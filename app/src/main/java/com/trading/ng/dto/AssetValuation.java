@@ -0,0 +1,14 @@
+package com.trading.ng.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record AssetValuation(
+        String asset,
+        BigDecimal quantity,
+        BigDecimal price,
+        BigDecimal value,
+        List<String> route,
+        boolean priced
+) {
+}
@@ -0,0 +1,16 @@
+package com.trading.ng.dto;
+
+import java.time.Instant;
+
+public record BarImportStatus(
+        boolean running,
+        String directory,
+        Instant startedAt,
+        Instant finishedAt,
+        int files,
+        int filesDone,
+        int filesFailed,
+        long rows,
+        long bars
+) {
+}
@@ -7,14 +7,18 @@ import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public record BotConfigRequest(
         List<String> symbols,
         StrategyType strategy,
+        Map<String, List<StrategyType>> symbolStrategies,
         @Min(2) Integer shortSmaPeriod,
         @Min(3) Integer longSmaPeriod,
         @Min(5) Integer vortexPeriod,
         @Min(10) Integer samplingIntervalSeconds,
+        Map<String, @Min(10) Integer> symbolSamplingIntervals,
+        Map<StrategyType, @Min(10) Integer> strategySamplingIntervals,
         @Positive @Max(1) BigDecimal orderSizePercent,
         @Min(0) Integer cooldownSeconds,
         @Positive BigDecimal minOrderSizeEur
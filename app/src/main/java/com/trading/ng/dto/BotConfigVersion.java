@@ -0,0 +1,27 @@
+package com.trading.ng.dto;
+
+import com.trading.ng.service.StrategyType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record BotConfigVersion(
+        long version,
+        Instant updatedAt,
+        List<String> changedFields,
+        List<String> symbols,
+        StrategyType strategy,
+        Map<String, List<StrategyType>> symbolStrategies,
+        int shortSmaPeriod,
+        int longSmaPeriod,
+        int vortexPeriod,
+        int samplingIntervalSeconds,
+        Map<String, Integer> symbolSamplingIntervals,
+        Map<StrategyType, Integer> strategySamplingIntervals,
+        BigDecimal orderSizePercent,
+        int cooldownSeconds,
+        BigDecimal minOrderSizeEur
+) {
+}
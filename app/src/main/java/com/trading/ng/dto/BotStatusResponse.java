@@ -4,16 +4,21 @@ import com.trading.ng.service.StrategyType;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 public record BotStatusResponse(
         boolean running,
         Instant startedAt,
+        long configVersion,
         StrategyType strategy,
+        Map<String, List<StrategyType>> symbolStrategies,
         int shortSmaPeriod,
         int longSmaPeriod,
         int vortexPeriod,
         int samplingIntervalSeconds,
+        Map<String, Integer> symbolSamplingIntervals,
+        Map<StrategyType, Integer> strategySamplingIntervals,
         BigDecimal orderSizePercent,
         int cooldownSeconds,
         Map<String, SymbolBotStatus> symbols
@@ -0,0 +1,12 @@
+package com.trading.ng.dto;
+
+import java.util.List;
+import java.util.Set;
+
+public record ClusterStatusResponse(
+        boolean enabled,
+        String nodeId,
+        List<String> liveNodes,
+        Set<String> ownedSymbols
+) {
+}
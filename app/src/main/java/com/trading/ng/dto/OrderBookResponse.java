@@ -0,0 +1,15 @@
+package com.trading.ng.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record OrderBookResponse(
+        String symbol,
+        long lastUpdateId,
+        BigDecimal bestBid,
+        BigDecimal bestAsk,
+        BigDecimal spread,
+        List<PriceLevel> bids,
+        List<PriceLevel> asks
+) {
+}
@@ -0,0 +1,14 @@
+package com.trading.ng.dto;
+
+import java.util.List;
+
+/**
+ * One page of order history, newest first.
+ *
+ * @param nextCursor opaque cursor for the following page, or {@code null} on the last page
+ */
+public record OrderHistoryPage(
+        List<OrderResponse> orders,
+        String nextCursor
+) {
+}
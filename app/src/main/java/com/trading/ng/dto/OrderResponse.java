@@ -18,6 +18,7 @@ public record OrderResponse(
         BigDecimal quantity,
         BigDecimal executedQty,
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+        Long parentOrderId
 ) {
 }
@@ -0,0 +1,20 @@
+package com.trading.ng.dto;
+
+import com.trading.ng.service.CostMethod;
+
+import java.math.BigDecimal;
+
+public record PnlResponse(
+        String symbol,
+        CostMethod costMethod,
+        BigDecimal position,
+        BigDecimal averageCost,
+        BigDecimal costBasis,
+        BigDecimal markPrice,
+        BigDecimal realizedPnl,
+        BigDecimal unrealizedPnl,
+        BigDecimal fees,
+        BigDecimal netPnl,
+        long lastTradeId
+) {
+}
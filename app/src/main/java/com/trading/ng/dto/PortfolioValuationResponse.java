@@ -0,0 +1,13 @@
+package com.trading.ng.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record PortfolioValuationResponse(
+        String quoteAsset,
+        BigDecimal totalValue,
+        List<AssetValuation> assets,
+        Instant balancesAsOf
+) {
+}
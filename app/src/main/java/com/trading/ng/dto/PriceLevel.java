@@ -0,0 +1,9 @@
+package com.trading.ng.dto;
+
+import java.math.BigDecimal;
+
+public record PriceLevel(
+        BigDecimal price,
+        BigDecimal quantity
+) {
+}
@@ -0,0 +1,16 @@
+package com.trading.ng.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public record RiskStatusResponse(
+        boolean enabled,
+        BigDecimal maxNotionalPerSymbol,
+        BigDecimal maxTotalExposure,
+        int maxOrdersPerSecond,
+        BigDecimal maxPriceDeviationPercent,
+        BigDecimal totalExposure,
+        Map<String, BigDecimal> symbolExposure,
+        long rejectedOrders
+) {
+}
@@ -0,0 +1,17 @@
+package com.trading.ng.dto;
+
+import com.trading.ng.domain.ExecutionAlgo;
+import com.trading.ng.domain.OrderSide;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record SlicedOrderRequest(
+        @NotBlank String symbol,
+        @NotNull OrderSide side,
+        @NotNull @Positive BigDecimal quantity,
+        @NotNull ExecutionAlgo algo
+) {
+}
@@ -0,0 +1,16 @@
+package com.trading.ng.dto;
+
+import com.trading.ng.domain.OrderSide;
+
+import java.math.BigDecimal;
+
+public record SlippageEstimate(
+        String symbol,
+        OrderSide side,
+        BigDecimal quantity,
+        BigDecimal bestPrice,
+        BigDecimal averagePrice,
+        BigDecimal slippageBps,
+        boolean sufficientDepth
+) {
+}
@@ -0,0 +1,18 @@
+package com.trading.ng.dto;
+
+import com.trading.ng.service.StrategyType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record StrategySlotStatus(
+        StrategyType strategy,
+        BigDecimal fastIndicator,
+        BigDecimal slowIndicator,
+        String signal,
+        int requiredDataPoints,
+        BigDecimal positionQuantity,
+        Instant lastTradeTime,
+        int samplingIntervalSeconds
+) {
+}
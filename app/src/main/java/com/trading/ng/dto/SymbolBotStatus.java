@@ -14,6 +14,8 @@ public record SymbolBotStatus(
         int requiredDataPoints,
         BigDecimal positionQuantity,
         Instant lastTradeTime,
-        List<BigDecimal> recentPrices
+        List<BigDecimal> recentPrices,
+        List<StrategySlotStatus> strategies,
+        Double volatilityBps
 ) {
 }
@@ -0,0 +1,12 @@
+package com.trading.ng.repository;
+
+import com.trading.ng.domain.ClusterNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    List<ClusterNode> findByHeartbeatAtAfter(Instant since);
+}
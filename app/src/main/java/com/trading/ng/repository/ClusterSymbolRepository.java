@@ -0,0 +1,13 @@
+package com.trading.ng.repository;
+
+import com.trading.ng.domain.ClusterSymbol;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ClusterSymbolRepository extends JpaRepository<ClusterSymbol, String> {
+
+    @Query("select s.symbol from ClusterSymbol s")
+    List<String> findAllSymbols();
+}
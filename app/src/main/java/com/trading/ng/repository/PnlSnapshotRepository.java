@@ -0,0 +1,7 @@
+package com.trading.ng.repository;
+
+import com.trading.ng.domain.PnlSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PnlSnapshotRepository extends JpaRepository<PnlSnapshot, String> {
+}
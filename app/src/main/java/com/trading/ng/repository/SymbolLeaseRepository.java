@@ -0,0 +1,52 @@
+package com.trading.ng.repository;
+
+import com.trading.ng.domain.SymbolLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SymbolLeaseRepository extends JpaRepository<SymbolLease, String> {
+
+    List<SymbolLease> findByOwnerNodeId(String ownerNodeId);
+
+    /**
+     * Renew a lease we already hold, or take over one that has expired.
+     *
+     * @return 1 if this node now holds the lease, 0 if another node holds a live lease
+     *         or no lease row exists yet
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update SymbolLease l set l.ownerNodeId = :nodeId, l.expiresAt = :expiresAt
+            where l.symbol = :symbol and (l.ownerNodeId = :nodeId or l.expiresAt < :now)""")
+    int tryAcquire(@Param("symbol") String symbol,
+                   @Param("nodeId") String nodeId,
+                   @Param("expiresAt") Instant expiresAt,
+                   @Param("now") Instant now);
+
+    /**
+     * Create the lease row for a symbol nobody has claimed yet. Fails with a
+     * duplicate-key error if another node inserted it first, so a concurrent
+     * claim can never overwrite an existing owner.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into symbol_leases (symbol, owner_node_id, expires_at) values (:symbol, :nodeId, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("symbol") String symbol,
+               @Param("nodeId") String nodeId,
+               @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update SymbolLease l set l.expiresAt = :now where l.symbol = :symbol and l.ownerNodeId = :nodeId")
+    int release(@Param("symbol") String symbol,
+                @Param("nodeId") String nodeId,
+                @Param("now") Instant now);
+}
@@ -0,0 +1,82 @@
+package com.trading.ng.repository;
+
+import com.trading.ng.service.ExchangeFill;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Idempotent bulk writes into {@code trades}, keyed on {@code binance_trade_id}.
+ * Goes straight to JDBC batches: a fill that is already stored is a no-op
+ * instead of a constraint violation, and one round trip covers a whole batch
+ * (with {@code rewriteBatchedStatements=true} on MySQL, a single multi-row insert).
+ */
+@Repository
+public class TradeBatchRepository {
+
+    private static final String COLUMNS = "binance_trade_id, symbol, binance_order_id, side, price, quantity,"
+            + " commission, commission_asset, maker, trade_time, created_at";
+    private static final String MYSQL_UPSERT = "insert into trades (" + COLUMNS + ")"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " on duplicate key update binance_trade_id = binance_trade_id";
+    // H2 (tests, load test) has no ON DUPLICATE KEY outside MySQL mode
+    private static final String MERGE_UPSERT = "merge into trades (" + COLUMNS + ") key (binance_trade_id)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    public TradeBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert fills that are not stored yet, as one JDBC batch.
+     */
+    public void upsertAll(List<ExchangeFill> fills) {
+        if (fills.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(upsertSql(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ExchangeFill fill = fills.get(i);
+                ps.setLong(1, fill.tradeId());
+                ps.setString(2, fill.symbol());
+                ps.setLong(3, fill.orderId());
+                ps.setString(4, fill.side().name());
+                ps.setBigDecimal(5, fill.price());
+                ps.setBigDecimal(6, fill.quantity());
+                ps.setBigDecimal(7, fill.commission());
+                ps.setString(8, fill.commissionAsset());
+                ps.setBoolean(9, fill.maker());
+                ps.setTimestamp(10, Timestamp.from(fill.tradeTime()));
+                ps.setTimestamp(11, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return fills.size();
+            }
+        });
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            sql = product != null && product.toLowerCase().contains("mysql") ? MYSQL_UPSERT : MERGE_UPSERT;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
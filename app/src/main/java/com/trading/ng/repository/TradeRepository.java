@@ -2,6 +2,8 @@ package com.trading.ng.repository;
 
 import com.trading.ng.domain.Trade;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.List;
@@ -14,4 +16,13 @@ public interface TradeRepository extends JpaRepository<Trade, Long> {
 
     List<Trade> findBySymbolAndTradeTimeBetweenOrderByTradeTimeDesc(
             String symbol, Instant from, Instant to);
+
+    @Query("select max(t.binanceTradeId) from Trade t where t.symbol = :symbol")
+    Long findMaxBinanceTradeId(@Param("symbol") String symbol);
+
+    @Query("select distinct t.symbol from Trade t")
+    List<String> findDistinctSymbols();
+
+    List<Trade> findTop1000BySymbolAndBinanceTradeIdGreaterThanOrderByBinanceTradeIdAsc(
+            String symbol, Long afterTradeId);
 }
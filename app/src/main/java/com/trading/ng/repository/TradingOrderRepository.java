@@ -2,10 +2,23 @@ package com.trading.ng.repository;
 
 import com.trading.ng.domain.OrderStatus;
 import com.trading.ng.domain.TradingOrder;
+import com.trading.ng.dto.OrderResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TradingOrderRepository extends JpaRepository<TradingOrder, Long> {
 
@@ -16,4 +29,65 @@ public interface TradingOrderRepository extends JpaRepository<TradingOrder, Long
     List<TradingOrder> findByStatusOrderByCreatedAtDesc(OrderStatus status);
 
     List<TradingOrder> findBySymbolAndStatusOrderByCreatedAtDesc(String symbol, OrderStatus status);
+
+    List<TradingOrder> findByStatusInAndBinanceOrderIdIsNotNull(Collection<OrderStatus> statuses);
+
+    List<TradingOrder> findByAlgoIsNotNullAndStatusIn(Collection<OrderStatus> statuses);
+
+    @Query("select distinct o.symbol from TradingOrder o")
+    List<String> findDistinctSymbols();
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update TradingOrder o set o.status = :status, o.executedQty = :executedQty, o.updatedAt = :updatedAt
+            where o.binanceOrderId = :binanceOrderId""")
+    int updateState(@Param("binanceOrderId") Long binanceOrderId,
+                    @Param("status") OrderStatus status,
+                    @Param("executedQty") BigDecimal executedQty,
+                    @Param("updatedAt") Instant updatedAt);
+
+    // --- Keyset pagination on (createdAt, id), projected straight into DTOs ---
+
+    @Query("""
+            select new com.trading.ng.dto.OrderResponse(o.id, o.binanceOrderId, o.symbol, o.side, o.type,
+                o.status, o.price, o.quantity, o.executedQty, o.createdAt, o.updatedAt, o.parentOrderId)
+            from TradingOrder o
+            where o.symbol = :symbol and o.createdAt >= :from and o.createdAt < :to
+            order by o.createdAt desc, o.id desc""")
+    List<OrderResponse> findHistoryPage(@Param("symbol") String symbol,
+                                        @Param("from") Instant from,
+                                        @Param("to") Instant to,
+                                        Limit limit);
+
+    @Query("""
+            select new com.trading.ng.dto.OrderResponse(o.id, o.binanceOrderId, o.symbol, o.side, o.type,
+                o.status, o.price, o.quantity, o.executedQty, o.createdAt, o.updatedAt, o.parentOrderId)
+            from TradingOrder o
+            where o.symbol = :symbol and o.createdAt >= :from and o.createdAt < :to
+              and (o.createdAt < :cursorTime or (o.createdAt = :cursorTime and o.id < :cursorId))
+            order by o.createdAt desc, o.id desc""")
+    List<OrderResponse> findHistoryPageAfter(@Param("symbol") String symbol,
+                                             @Param("from") Instant from,
+                                             @Param("to") Instant to,
+                                             @Param("cursorTime") Instant cursorTime,
+                                             @Param("cursorId") Long cursorId,
+                                             Limit limit);
+
+    /**
+     * Streams history in fetches of 500 rows. On MySQL this reads from a
+     * server-side cursor because the URL sets {@code useCursorFetch=true};
+     * other drivers such as H2 honour the fetch size directly.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.trading.ng.dto.OrderResponse(o.id, o.binanceOrderId, o.symbol, o.side, o.type,
+                o.status, o.price, o.quantity, o.executedQty, o.createdAt, o.updatedAt, o.parentOrderId)
+            from TradingOrder o
+            where o.symbol = :symbol and o.createdAt >= :from and o.createdAt < :to
+            order by o.createdAt desc, o.id desc""")
+    Stream<OrderResponse> streamHistory(@Param("symbol") String symbol,
+                                        @Param("from") Instant from,
+                                        @Param("to") Instant to);
 }
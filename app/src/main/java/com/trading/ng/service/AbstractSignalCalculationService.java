@@ -1,26 +1,31 @@
 package com.trading.ng.service;
 
-import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
 
+/**
+ * Base class for crossover strategies. Indicator values are scale-8
+ * fixed-point longs (see {@link com.trading.ng.util.FixedDecimal}) so that a
+ * tick evaluates without allocating. Periods come from the {@link BotConfig}
+ * snapshot the tick is working with, never from state of their own.
+ */
 public abstract class AbstractSignalCalculationService {
 
-    protected static final int SCALE = 8;
     protected static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
 
     /**
      * Compute indicator values from price history.
      *
-     * @param prices list of close prices (most recent last)
-     * @return array of [fastLine, slowLine] indicator values, or null if insufficient data
+     * @param prices close prices (most recent last)
+     * @param config configuration snapshot supplying the periods
+     * @param out    receives [fastLine, slowLine]; must have length 2
+     * @return {@code true} if {@code out} was filled, {@code false} if there is insufficient data
      */
-    public abstract BigDecimal[] computeIndicators(List<BigDecimal> prices);
+    public abstract boolean computeIndicators(PriceSeries prices, BotConfig config, long[] out);
 
     /**
      * Minimum number of price data points required to compute indicators.
      */
-    public abstract int getRequiredDataPoints();
+    public abstract int getRequiredDataPoints(BotConfig config);
 
     /**
      * Detect crossover signal between previous and current indicator values.
@@ -30,19 +35,16 @@ public abstract class AbstractSignalCalculationService {
      * @param curr current [fastLine, slowLine] values
      * @return detected signal type
      */
-    public SignalType detectSignal(BigDecimal[] prev, BigDecimal[] curr) {
+    public SignalType detectSignal(long[] prev, long[] curr) {
         if (prev == null || curr == null) {
             return SignalType.NONE;
         }
-        if (prev[0] == null || prev[1] == null || curr[0] == null || curr[1] == null) {
-            return SignalType.NONE;
-        }
 
-        boolean wasBelow = prev[0].compareTo(prev[1]) <= 0;
-        boolean isAbove = curr[0].compareTo(curr[1]) > 0;
+        boolean wasBelow = prev[0] <= prev[1];
+        boolean isAbove = curr[0] > curr[1];
 
-        boolean wasAbove = prev[0].compareTo(prev[1]) >= 0;
-        boolean isBelow = curr[0].compareTo(curr[1]) < 0;
+        boolean wasAbove = prev[0] >= prev[1];
+        boolean isBelow = curr[0] < curr[1];
 
         if (wasBelow && isAbove) {
             return SignalType.BUY;
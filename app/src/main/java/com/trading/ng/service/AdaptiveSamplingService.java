@@ -0,0 +1,98 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.BotProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses each symbol's sampling interval from its realized volatility, so quiet
+ * symbols are sampled (and their strategies evaluated) rarely and volatile ones often.
+ * <p>
+ * Intervals live on a ladder {@code min, 2*min, 4*min, ...} up to the configured
+ * maximum. Because the bot samples at wall-clock multiples of the interval, every
+ * coarser grid is a subset of the finer ones and a history can move between rungs
+ * without losing its even spacing. The ideal interval is the one over which the
+ * expected move equals {@code targetMoveBps}; the interval moves one rung at a time,
+ * and only once the ideal is at least a full rung away.
+ */
+@Service
+public class AdaptiveSamplingService {
+
+    private final BotProperties.AdaptiveSampling props;
+    private final Map<String, VolatilityEstimator> estimators = new ConcurrentHashMap<>();
+    // Squared target move in log-return terms
+    private final double targetVariance;
+
+    public AdaptiveSamplingService(MarketDataStreamService marketDataService, BotProperties botProperties) {
+        this.props = botProperties.adaptiveSampling() != null
+                ? botProperties.adaptiveSampling()
+                : new BotProperties.AdaptiveSampling(false, 0, 0, 0, 0, 0);
+        double targetMove = props.targetMoveBps() / 10_000.0;
+        this.targetVariance = targetMove * targetMove;
+        if (props.enabled()) {
+            if (props.minIntervalSeconds() <= 0 || props.maxIntervalSeconds() < props.minIntervalSeconds()) {
+                throw new IllegalArgumentException("Invalid adaptive sampling range: "
+                        + props.minIntervalSeconds() + "-" + props.maxIntervalSeconds() + "s");
+            }
+            marketDataService.addPriceListener(this::onTick);
+        }
+    }
+
+    public boolean isEnabled() {
+        return props.enabled();
+    }
+
+    public int getAdjustSeconds() {
+        return props.adjustSeconds();
+    }
+
+    private void onTick(MarketTick tick) {
+        long time = tick.eventTimeMillis() > 0 ? tick.eventTimeMillis() : System.currentTimeMillis();
+        estimators.computeIfAbsent(tick.symbol(), s -> new VolatilityEstimator(props.halfLifeSeconds()))
+                .update(tick.price(), time);
+    }
+
+    /**
+     * Starting interval for a symbol: the highest rung not above {@code defaultSeconds}.
+     */
+    public int initialInterval(int defaultSeconds) {
+        int seconds = props.minIntervalSeconds();
+        while (seconds * 2 <= Math.min(defaultSeconds, props.maxIntervalSeconds())) {
+            seconds *= 2;
+        }
+        return seconds;
+    }
+
+    /**
+     * Interval for the next period: one rung up or down from {@code currentSeconds}
+     * when the ideal interval calls for it, otherwise {@code currentSeconds}.
+     */
+    public int nextInterval(String symbol, int currentSeconds) {
+        VolatilityEstimator estimator = estimators.get(symbol);
+        if (estimator == null) {
+            return currentSeconds;
+        }
+        double variance = estimator.variancePerSecond(System.currentTimeMillis());
+        double ideal = variance > 0 ? targetVariance / variance : Double.POSITIVE_INFINITY;
+        if (ideal >= currentSeconds * 2.0 && currentSeconds * 2 <= props.maxIntervalSeconds()) {
+            return currentSeconds * 2;
+        }
+        if (ideal <= currentSeconds / 2.0 && currentSeconds / 2 >= props.minIntervalSeconds()) {
+            return currentSeconds / 2;
+        }
+        return currentSeconds;
+    }
+
+    /**
+     * @return realized volatility per minute in basis points, or {@code null} with no data
+     */
+    public Double getVolatilityBps(String symbol) {
+        VolatilityEstimator estimator = estimators.get(symbol);
+        if (estimator == null) {
+            return null;
+        }
+        return Math.sqrt(estimator.variancePerSecond(System.currentTimeMillis()) * 60) * 10_000;
+    }
+}
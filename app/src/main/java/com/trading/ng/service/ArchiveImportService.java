@@ -0,0 +1,453 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.MarketDataProperties;
+import com.trading.ng.dto.BarImportStatus;
+import com.trading.ng.util.FixedDecimal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Imports Binance public-data archives ({@code data.binance.vision}) into the
+ * {@link BarStoreService}: kline, trade and aggTrade files named
+ * {@code SYMBOL-1m-2024-01.zip}, {@code SYMBOL-trades-2024-01-15.zip} and so on,
+ * zipped or plain CSV, anywhere under the configured import directory.
+ * <p>
+ * Files are parsed in parallel, each streamed straight out of its archive through
+ * a byte buffer: fields are parsed in place without creating strings, and rows are
+ * folded into bars of the store's length as they arrive, so memory stays flat
+ * however many gigabytes of trades a file holds. Klines must be no longer than the
+ * store's bars; other files are skipped.
+ */
+@Service
+public class ArchiveImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveImportService.class);
+    private static final Pattern FILE_NAME =
+            Pattern.compile("([A-Z0-9]+)-(trades|aggTrades|\\d+[smhd])-[0-9-]+\\.(zip|csv)");
+    private static final int READ_BUFFER = 1 << 20;
+    // Bars are handed to the store in batches of this size
+    private static final int FLUSH_BARS = 1 << 16;
+    // Archives since 2025 carry microsecond timestamps; millisecond ones stay below this
+    private static final long MICROS_THRESHOLD = 100_000_000_000_000L;
+
+    private final BarStoreService barStore;
+    private final MarketDataProperties.BarStore props;
+    private final Path directory;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private final AtomicInteger files = new AtomicInteger();
+    private final AtomicInteger filesDone = new AtomicInteger();
+    private final AtomicInteger filesFailed = new AtomicInteger();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong bars = new AtomicLong();
+
+    public ArchiveImportService(BarStoreService barStore, MarketDataProperties marketDataProperties) {
+        this.barStore = barStore;
+        this.props = marketDataProperties.barStore() != null
+                ? marketDataProperties.barStore()
+                : new MarketDataProperties.BarStore(false, 60, 0, null, 0, null, 0);
+        this.directory = props.importDirectory() != null && !props.importDirectory().isBlank()
+                ? Path.of(props.importDirectory()) : null;
+    }
+
+    /**
+     * Start importing every archive under the import directory on a background thread.
+     */
+    public void startImport() {
+        if (!barStore.isEnabled() || directory == null) {
+            log.warn("Archive import needs an enabled bar store and an import directory");
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Archive import is already running");
+            return;
+        }
+        startedAt = Instant.now();
+        finishedAt = null;
+        files.set(0);
+        filesDone.set(0);
+        filesFailed.set(0);
+        rows.set(0);
+        bars.set(0);
+        Thread.ofVirtual().name("archive-import").start(this::runImport);
+    }
+
+    public BarImportStatus getStatus() {
+        return new BarImportStatus(
+                running.get(),
+                directory != null ? directory.toString() : null,
+                startedAt,
+                finishedAt,
+                files.get(),
+                filesDone.get(),
+                filesFailed.get(),
+                rows.get(),
+                bars.get()
+        );
+    }
+
+    private void runImport() {
+        int threads = props.importThreads() > 0 ? props.importThreads() : Runtime.getRuntime().availableProcessors();
+        try (Stream<Path> walk = Files.walk(directory)) {
+            // Name order puts each symbol's files in chronological order, so most merges append
+            List<Path> archives = walk
+                    .filter(path -> FILE_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+            files.set(archives.size());
+            log.info("Importing {} archives from {} on {} threads", archives.size(), directory, threads);
+            // Parsing is CPU-bound, so it runs on platform threads
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads,
+                    Thread.ofPlatform().name("archive-import-", 0).factory())) {
+                for (Path archive : archives) {
+                    executor.submit(() -> importFile(archive));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Archive import from {} failed: {}", directory, e.getMessage(), e);
+        } finally {
+            finishedAt = Instant.now();
+            running.set(false);
+            log.info("Archive import finished: {} of {} files, {} failed, {} rows into {} bars in {}s",
+                    filesDone.get(), files.get(), filesFailed.get(), rows.get(), bars.get(),
+                    (finishedAt.toEpochMilli() - startedAt.toEpochMilli()) / 1000);
+        }
+    }
+
+    private void importFile(Path file) {
+        String name = file.getFileName().toString();
+        Matcher matcher = FILE_NAME.matcher(name);
+        if (!matcher.matches()) {
+            return;
+        }
+        String symbol = matcher.group(1);
+        String kind = matcher.group(2);
+        long barMillis = barStore.getBarSeconds() * 1000L;
+        try {
+            RowFormat format = RowFormat.of(kind, barMillis);
+            if (format == null) {
+                log.warn("{}: {} klines do not fit the {}s bars, skipped", name, kind, barStore.getBarSeconds());
+                filesFailed.incrementAndGet();
+                return;
+            }
+            BarAggregator aggregator = new BarAggregator(symbol, barMillis);
+            long parsed = 0;
+            if (name.endsWith(".zip")) {
+                try (ZipFile zip = new ZipFile(file.toFile())) {
+                    Enumeration<? extends ZipEntry> entries = zip.entries();
+                    while (entries.hasMoreElements()) {
+                        ZipEntry entry = entries.nextElement();
+                        if (!entry.isDirectory() && entry.getName().endsWith(".csv")) {
+                            try (InputStream in = zip.getInputStream(entry)) {
+                                parsed += parse(in, format, aggregator);
+                            }
+                        }
+                    }
+                }
+            } else {
+                try (InputStream in = Files.newInputStream(file)) {
+                    parsed = parse(in, format, aggregator);
+                }
+            }
+            aggregator.finish();
+            rows.addAndGet(parsed);
+            filesDone.incrementAndGet();
+            log.debug("{}: {} rows into {} bars", name, parsed, aggregator.emitted);
+        } catch (Exception e) {
+            filesFailed.incrementAndGet();
+            log.warn("{}: import failed: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Stream CSV rows from {@code in} into {@code aggregator}; a header line is skipped.
+     *
+     * @return the number of rows parsed
+     */
+    private static long parse(InputStream in, RowFormat format, BarAggregator aggregator) throws IOException {
+        byte[] buffer = new byte[READ_BUFFER];
+        int[] fieldStarts = new int[format.fields];
+        int[] fieldEnds = new int[format.fields];
+        ByteChars chars = new ByteChars(buffer);
+        long parsed = 0;
+        int filled = 0;
+        int lineStart = 0;
+        boolean eof = false;
+        while (true) {
+            int lineEnd = -1;
+            for (int i = lineStart; i < filled; i++) {
+                if (buffer[i] == '\n') {
+                    lineEnd = i;
+                    break;
+                }
+            }
+            if (lineEnd < 0) {
+                if (eof) {
+                    lineEnd = filled;
+                    if (lineStart == filled) {
+                        return parsed;
+                    }
+                } else {
+                    // Move the partial line to the front and read more behind it
+                    System.arraycopy(buffer, lineStart, buffer, 0, filled - lineStart);
+                    filled -= lineStart;
+                    lineStart = 0;
+                    if (filled == buffer.length) {
+                        throw new IOException("CSV line longer than " + buffer.length + " bytes");
+                    }
+                    int read = in.read(buffer, filled, buffer.length - filled);
+                    if (read < 0) {
+                        eof = true;
+                    } else {
+                        filled += read;
+                    }
+                    continue;
+                }
+            }
+            int end = lineEnd > lineStart && buffer[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            if (end > lineStart && split(buffer, lineStart, end, fieldStarts, fieldEnds)
+                    && isDigit(buffer[lineStart])) {
+                format.accept(chars, fieldStarts, fieldEnds, aggregator);
+                parsed++;
+            }
+            lineStart = lineEnd + 1;
+            if (eof && lineStart >= filled) {
+                return parsed;
+            }
+        }
+    }
+
+    /**
+     * Record where the first {@code starts.length} comma-separated fields of a line lie.
+     *
+     * @return {@code false} if the line has fewer fields
+     */
+    private static boolean split(byte[] buffer, int from, int to, int[] starts, int[] ends) {
+        int field = 0;
+        starts[0] = from;
+        for (int i = from; i < to && field < starts.length; i++) {
+            if (buffer[i] == ',') {
+                ends[field++] = i;
+                if (field < starts.length) {
+                    starts[field] = i + 1;
+                }
+            }
+        }
+        if (field < starts.length) {
+            ends[field++] = to;
+        }
+        return field == starts.length;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static long parseLong(byte[] buffer, int from, int to) {
+        if (from == to) {
+            throw new NumberFormatException("Empty integer field");
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (!isDigit(b)) {
+                throw new NumberFormatException("Invalid integer field at byte " + i);
+            }
+            value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+        }
+        return value;
+    }
+
+    private static long toMillis(long timestamp) {
+        return timestamp >= MICROS_THRESHOLD ? timestamp / 1000 : timestamp;
+    }
+
+    /**
+     * Columns of one archive type and how a row becomes a price update.
+     */
+    private enum RowFormat {
+        // open_time, open, high, low, close, volume, ...
+        KLINE(6),
+        // id, price, qty, quote_qty, time, ...
+        TRADE(5),
+        // agg_id, price, qty, first_id, last_id, transact_time, ...
+        AGG_TRADE(6);
+
+        final int fields;
+
+        RowFormat(int fields) {
+            this.fields = fields;
+        }
+
+        /**
+         * @return the format for a file of {@code kind}, or {@code null} for klines longer than the bars
+         */
+        static RowFormat of(String kind, long barMillis) {
+            return switch (kind) {
+                case "trades" -> TRADE;
+                case "aggTrades" -> AGG_TRADE;
+                default -> {
+                    long unit = switch (kind.charAt(kind.length() - 1)) {
+                        case 's' -> 1_000L;
+                        case 'm' -> 60_000L;
+                        case 'h' -> 3_600_000L;
+                        default -> 86_400_000L;
+                    };
+                    long klineMillis = Long.parseLong(kind.substring(0, kind.length() - 1)) * unit;
+                    yield klineMillis <= barMillis && barMillis % klineMillis == 0 ? KLINE : null;
+                }
+            };
+        }
+
+        void accept(ByteChars chars, int[] starts, int[] ends, BarAggregator aggregator) {
+            byte[] b = chars.bytes;
+            switch (this) {
+                case KLINE -> aggregator.add(toMillis(parseLong(b, starts[0], ends[0])),
+                        chars.parse(starts[1], ends[1]), chars.parse(starts[2], ends[2]),
+                        chars.parse(starts[3], ends[3]), chars.parse(starts[4], ends[4]),
+                        chars.parseSaturated(starts[5], ends[5]));
+                case TRADE -> {
+                    long price = chars.parse(starts[1], ends[1]);
+                    aggregator.add(toMillis(parseLong(b, starts[4], ends[4])),
+                            price, price, price, price, chars.parseSaturated(starts[2], ends[2]));
+                }
+                case AGG_TRADE -> {
+                    long price = chars.parse(starts[1], ends[1]);
+                    aggregator.add(toMillis(parseLong(b, starts[5], ends[5])),
+                            price, price, price, price, chars.parseSaturated(starts[2], ends[2]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Window onto the read buffer, so {@link FixedDecimal#parse} reads decimals in place.
+     * Volumes and quantities saturate: high-supply tokens trade past the scale-8 range.
+     */
+    private static final class ByteChars implements CharSequence {
+        final byte[] bytes;
+        private int offset;
+        private int length;
+
+        ByteChars(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long parse(int from, int to) {
+            offset = from;
+            length = to - from;
+            return FixedDecimal.parse(this);
+        }
+
+        long parseSaturated(int from, int to) {
+            offset = from;
+            length = to - from;
+            return FixedDecimal.parseSaturated(this);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) bytes[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Folds time-ordered rows into bars aligned to epoch multiples of the bar length
+     * and hands them to the store a batch at a time.
+     */
+    private final class BarAggregator {
+        final String symbol;
+        final long barMillis;
+        final BarSeries.Batch batch = new BarSeries.Batch(FLUSH_BARS);
+        long emitted;
+        long openTime = Long.MIN_VALUE;
+        long open;
+        long high;
+        long low;
+        long close;
+        long volume;
+
+        BarAggregator(String symbol, long barMillis) {
+            this.symbol = symbol;
+            this.barMillis = barMillis;
+        }
+
+        void add(long timeMillis, long rowOpen, long rowHigh, long rowLow, long rowClose, long rowVolume) {
+            long bar = timeMillis - Math.floorMod(timeMillis, barMillis);
+            if (bar != openTime) {
+                emit();
+                openTime = bar;
+                open = rowOpen;
+                high = rowHigh;
+                low = rowLow;
+                volume = 0;
+            }
+            high = Math.max(high, rowHigh);
+            low = Math.min(low, rowLow);
+            close = rowClose;
+            volume = FixedDecimal.addSaturated(volume, rowVolume);
+        }
+
+        private void emit() {
+            if (openTime == Long.MIN_VALUE) {
+                return;
+            }
+            batch.add(openTime, open, high, low, close, volume);
+            if (batch.size() == FLUSH_BARS) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.size() > 0) {
+                barStore.load(symbol, batch);
+                emitted += batch.size();
+                bars.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+
+        void finish() {
+            emit();
+            openTime = Long.MIN_VALUE;
+            flush();
+        }
+    }
+}
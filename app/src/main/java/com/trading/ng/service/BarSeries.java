@@ -0,0 +1,568 @@
+package com.trading.ng.service;
+
+import com.trading.ng.util.FixedDecimal;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * OHLCV bars of a fixed length for one symbol, oldest first, stored column-wise
+ * off-heap in one {@link MemorySegment} — anonymous memory, or a memory-mapped file
+ * that survives restarts. As a {@link PriceSeries} it reads as the bar closes.
+ * <p>
+ * Layout: a header {@code [magic, capacity, barMillis, count]} followed by one column
+ * of longs each for open time, open, high, low, close and volume, all scale-8 fixed
+ * point except the time. Bars stay contiguous and in time order; when the capacity is
+ * reached the oldest quarter is dropped in one move per column.
+ * <p>
+ * A mapped file is sized for {@code capacity} bars up front, though the file system
+ * only backs the pages written so far. Anonymous memory starts with columns of
+ * {@value #INITIAL_BARS} bars and doubles them as bars arrive, so a series costs
+ * memory in proportion to what it holds rather than to its capacity.
+ * <p>
+ * Writers are serialized and readers share a read lock, so a scan never sees a
+ * half-written bar or a compaction in progress.
+ */
+public final class BarSeries implements PriceSeries, AutoCloseable {
+
+    private static final long MAGIC = 0x4E47424152533031L;   // "NGBARS01"
+    private static final long HEADER_BYTES = 4 * Long.BYTES;
+    private static final long COUNT_OFFSET = 3 * Long.BYTES;
+    private static final int TIME = 0;
+    private static final int OPEN = 1;
+    private static final int HIGH = 2;
+    private static final int LOW = 3;
+    private static final int CLOSE = 4;
+    private static final int VOLUME = 5;
+    private static final int COLUMNS = 6;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG;
+    static final int INITIAL_BARS = 1024;
+
+    // Guarded by lock; an anonymous series swaps both when its columns grow
+    private Arena arena;
+    private MemorySegment segment;
+    // Bars each column has room for: capacity when mapped
+    private int columnBars;
+    private final int capacity;
+    private final long barMillis;
+    private final boolean mapped;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; mirrored into the header on every write
+    private int count;
+    private boolean closed;
+
+    private BarSeries(Arena arena, MemorySegment segment, int columnBars, int capacity, long barMillis, int count,
+                      boolean mapped) {
+        this.arena = arena;
+        this.segment = segment;
+        this.columnBars = columnBars;
+        this.capacity = capacity;
+        this.barMillis = barMillis;
+        this.count = count;
+        this.mapped = mapped;
+    }
+
+    /**
+     * Series in anonymous off-heap memory, growing up to {@code capacity} bars.
+     */
+    public static BarSeries allocate(int capacity, long barMillis) {
+        checkLayout(capacity, barMillis);
+        int columnBars = Math.min(capacity, INITIAL_BARS);
+        Arena arena = Arena.ofShared();
+        MemorySegment segment = arena.allocate(byteSize(columnBars), Long.BYTES);
+        writeHeader(segment, capacity, barMillis);
+        return new BarSeries(arena, segment, columnBars, capacity, barMillis, 0, false);
+    }
+
+    /**
+     * Series mapped onto {@code file}, reopening the bars already there.
+     *
+     * @throws IllegalArgumentException if the file holds bars of another capacity or length
+     */
+    public static BarSeries map(Path file, int capacity, long barMillis) {
+        checkLayout(capacity, barMillis);
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long existing = channel.size();
+            if (existing != 0 && existing != byteSize(capacity)) {
+                throw new IllegalArgumentException(file + " holds a bar series of another capacity");
+            }
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, byteSize(capacity), arena);
+            if (existing == 0) {
+                writeHeader(segment, capacity, barMillis);
+                return new BarSeries(arena, segment, capacity, capacity, barMillis, 0, true);
+            }
+            if (segment.get(LONG, 0) != MAGIC || segment.get(LONG, Long.BYTES) != capacity
+                    || segment.get(LONG, 2 * Long.BYTES) != barMillis) {
+                throw new IllegalArgumentException(file + " is not a series of " + barMillis + "ms bars");
+            }
+            int count = (int) segment.get(LONG, COUNT_OFFSET);
+            return new BarSeries(arena, segment, capacity, capacity, barMillis, count, true);
+        } catch (IOException e) {
+            arena.close();
+            throw new RuntimeException("Failed to map bar series " + file, e);
+        } catch (RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    private static void checkLayout(int capacity, long barMillis) {
+        if (capacity <= 0 || barMillis <= 0) {
+            throw new IllegalArgumentException("Invalid bar series: " + capacity + " bars of " + barMillis + "ms");
+        }
+    }
+
+    private static long byteSize(int columnBars) {
+        return HEADER_BYTES + (long) COLUMNS * columnBars * Long.BYTES;
+    }
+
+    private static void writeHeader(MemorySegment segment, int capacity, long barMillis) {
+        segment.set(LONG, 0, MAGIC);
+        segment.set(LONG, Long.BYTES, capacity);
+        segment.set(LONG, 2 * Long.BYTES, barMillis);
+        segment.set(LONG, COUNT_OFFSET, 0);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long barMillis() {
+        return barMillis;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the close of bar {@code index}
+     */
+    @Override
+    public long get(int index) {
+        return value(CLOSE, index);
+    }
+
+    public long openTime(int index) {
+        return value(TIME, index);
+    }
+
+    public long open(int index) {
+        return value(OPEN, index);
+    }
+
+    public long high(int index) {
+        return value(HIGH, index);
+    }
+
+    public long low(int index) {
+        return value(LOW, index);
+    }
+
+    public long volume(int index) {
+        return value(VOLUME, index);
+    }
+
+    private long value(int column, int index) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return read(column, index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long offset(int column, int index) {
+        return HEADER_BYTES + ((long) column * columnBars + index) * Long.BYTES;
+    }
+
+    private long read(int column, int index) {
+        return segment.get(LONG, offset(column, index));
+    }
+
+    private void write(int column, int index, long value) {
+        segment.set(LONG, offset(column, index), value);
+    }
+
+    private void writeBar(int index, long openTime, long open, long high, long low, long close, long volume) {
+        write(TIME, index, openTime);
+        write(OPEN, index, open);
+        write(HIGH, index, high);
+        write(LOW, index, low);
+        write(CLOSE, index, close);
+        write(VOLUME, index, volume);
+    }
+
+    private void moveBar(int from, int to) {
+        for (int column = 0; column < COLUMNS; column++) {
+            write(column, to, read(column, from));
+        }
+    }
+
+    private void setCount(int count) {
+        this.count = count;
+        segment.set(LONG, COUNT_OFFSET, count);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Bar series is closed");
+        }
+    }
+
+    /**
+     * Make room in every column for {@code bars} bars, at most the capacity, by
+     * moving an anonymous series to columns twice as long or more.
+     */
+    private void ensureRoom(int bars) {
+        if (bars <= columnBars) {
+            return;
+        }
+        int grown = (int) Math.min(capacity, Math.max(bars, 2L * columnBars));
+        Arena grownArena = Arena.ofShared();
+        MemorySegment grownSegment = grownArena.allocate(byteSize(grown), Long.BYTES);
+        MemorySegment.copy(segment, 0, grownSegment, 0, HEADER_BYTES);
+        for (int column = 0; column < COLUMNS; column++) {
+            MemorySegment.copy(segment, offset(column, 0),
+                    grownSegment, HEADER_BYTES + (long) column * grown * Long.BYTES, (long) count * Long.BYTES);
+        }
+        arena.close();
+        arena = grownArena;
+        segment = grownSegment;
+        columnBars = grown;
+    }
+
+    /**
+     * Drop the oldest {@code drop} bars, moving the rest to the front.
+     */
+    private void dropOldest(int drop) {
+        int keep = count - drop;
+        for (int column = 0; column < COLUMNS; column++) {
+            MemorySegment.copy(segment, offset(column, drop), segment, offset(column, 0), (long) keep * Long.BYTES);
+        }
+        setCount(keep);
+    }
+
+    /**
+     * Index of the first bar opening at or after {@code timeMillis}; {@code count} if none.
+     */
+    private int lowerBound(long timeMillis) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (read(TIME, mid) < timeMillis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Fold a live price into the bar containing {@code timeMillis}: it opens a new bar
+     * after the last one, or updates the last bar's high, low, close and volume.
+     * Prices older than the last bar are ignored.
+     */
+    public void update(long price, long quantity, long timeMillis) {
+        long openTime = timeMillis - Math.floorMod(timeMillis, barMillis);
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            long lastOpen = count > 0 ? read(TIME, count - 1) : Long.MIN_VALUE;
+            if (openTime > lastOpen) {
+                if (count == capacity) {
+                    dropOldest(Math.max(capacity / 4, 1));
+                }
+                ensureRoom(count + 1);
+                writeBar(count, openTime, price, price, price, price, quantity);
+                setCount(count + 1);
+            } else if (openTime == lastOpen) {
+                int last = count - 1;
+                write(HIGH, last, Math.max(read(HIGH, last), price));
+                write(LOW, last, Math.min(read(LOW, last), price));
+                write(CLOSE, last, price);
+                write(VOLUME, last, FixedDecimal.addSaturated(read(VOLUME, last), quantity));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Merge loaded bars into the series: bars at open times already held are replaced,
+     * the rest are inserted in time order, so gaps fill in and older history can be
+     * prepended. When the result exceeds the capacity its oldest bars are dropped.
+     *
+     * @return the number of bars added, not counting replaced ones
+     */
+    public int merge(Batch bars) {
+        if (bars.size == 0) {
+            return 0;
+        }
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            int start = Math.max(bars.size - capacity, 0);
+            int from = lowerBound(bars.times[start]);
+
+            int fresh = 0;
+            for (int i = from, j = start; j < bars.size; ) {
+                if (i < count && read(TIME, i) < bars.times[j]) {
+                    i++;
+                } else {
+                    if (i >= count || read(TIME, i) != bars.times[j]) {
+                        fresh++;
+                    } else {
+                        i++;
+                    }
+                    j++;
+                }
+            }
+
+            // Drop the oldest bars of the merged sequence that would not fit
+            int overflow = count + fresh - capacity;
+            if (overflow > 0) {
+                int i = 0;
+                int j = start;
+                for (int dropped = 0; dropped < overflow; dropped++) {
+                    long held = i < count ? read(TIME, i) : Long.MAX_VALUE;
+                    long loaded = j < bars.size ? bars.times[j] : Long.MAX_VALUE;
+                    if (held < loaded) {
+                        i++;
+                    } else {
+                        if (held == loaded) {
+                            i++;
+                        } else {
+                            fresh--;
+                        }
+                        j++;
+                    }
+                }
+                dropOldest(i);
+                start = j;
+            }
+
+            ensureRoom(count + fresh);
+            // Merge from the back so every held bar moves at most once and only forwards
+            int i = count - 1;
+            int d = count + fresh - 1;
+            for (int j = bars.size - 1; j >= start; d--) {
+                long held = i >= 0 ? read(TIME, i) : Long.MIN_VALUE;
+                if (held > bars.times[j]) {
+                    moveBar(i--, d);
+                    continue;
+                }
+                if (held == bars.times[j]) {
+                    i--;
+                }
+                writeBar(d, bars.times[j], bars.opens[j], bars.highs[j], bars.lows[j], bars.closes[j], bars.volumes[j]);
+                j--;
+            }
+            setCount(count + fresh);
+            return fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Receives bars from a {@link #scan}.
+     */
+    @FunctionalInterface
+    public interface BarVisitor {
+        void bar(long openTime, long open, long high, long low, long close, long volume);
+    }
+
+    /**
+     * Visit the bars opening in {@code [fromMillis, toMillis)}, oldest first, under the
+     * read lock; the visitor must not write to this series.
+     *
+     * @return the number of bars visited
+     */
+    public int scan(long fromMillis, long toMillis, BarVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            int visited = 0;
+            for (int i = lowerBound(fromMillis); i < count; i++) {
+                long openTime = read(TIME, i);
+                if (openTime >= toMillis) {
+                    break;
+                }
+                visitor.bar(openTime, read(OPEN, i), read(HIGH, i), read(LOW, i), read(CLOSE, i), read(VOLUME, i));
+                visited++;
+            }
+            return visited;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bars of {@code stepMillis}, a multiple of this series' bar length, opening at
+     * epoch multiples of the step and aggregated from the bars in {@code [fromMillis, toMillis)}.
+     * Steps without bars are left out.
+     */
+    public Batch downsample(long fromMillis, long toMillis, long stepMillis) {
+        if (stepMillis <= 0 || stepMillis % barMillis != 0) {
+            throw new IllegalArgumentException("Step " + stepMillis + "ms is not a multiple of " + barMillis + "ms");
+        }
+        Batch out = new Batch(16);
+        long[] bucket = new long[COLUMNS];
+        bucket[TIME] = Long.MIN_VALUE;
+        scan(fromMillis, toMillis, (openTime, open, high, low, close, volume) -> {
+            long bucketTime = openTime - Math.floorMod(openTime, stepMillis);
+            if (bucketTime != bucket[TIME]) {
+                if (bucket[TIME] != Long.MIN_VALUE) {
+                    out.add(bucket[TIME], bucket[OPEN], bucket[HIGH], bucket[LOW], bucket[CLOSE], bucket[VOLUME]);
+                }
+                bucket[TIME] = bucketTime;
+                bucket[OPEN] = open;
+                bucket[HIGH] = high;
+                bucket[LOW] = low;
+                bucket[VOLUME] = 0;
+            }
+            bucket[HIGH] = Math.max(bucket[HIGH], high);
+            bucket[LOW] = Math.min(bucket[LOW], low);
+            bucket[CLOSE] = close;
+            bucket[VOLUME] = FixedDecimal.addSaturated(bucket[VOLUME], volume);
+        });
+        if (bucket[TIME] != Long.MIN_VALUE) {
+            out.add(bucket[TIME], bucket[OPEN], bucket[HIGH], bucket[LOW], bucket[CLOSE], bucket[VOLUME]);
+        }
+        return out;
+    }
+
+    /**
+     * Prices on the grid of {@link MarketDataBackfillService#samplePrices}, read from the
+     * stored bars: the price at an instant is the close of the bar ending there.
+     *
+     * @return fixed-point prices, or {@code null} unless the grid is aligned to the bars
+     *         and every bar it needs is held
+     */
+    public long[] samplePrices(long fromMillis, long toMillis, long stepMillis, int maxSamples) {
+        long missed = (toMillis - fromMillis - 1) / stepMillis;
+        int samples = (int) Math.min(missed, maxSamples);
+        if (samples <= 0) {
+            return new long[0];
+        }
+        long firstSlot = fromMillis + (missed - samples + 1) * stepMillis;
+        if (stepMillis % barMillis != 0 || Math.floorMod(firstSlot, barMillis) != 0) {
+            return null;
+        }
+        long[] prices = new long[samples];
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            int i = lowerBound(firstSlot - barMillis);
+            for (int k = 0; k < samples; k++) {
+                long openTime = firstSlot + k * stepMillis - barMillis;
+                while (i < count && read(TIME, i) < openTime) {
+                    i++;
+                }
+                if (i == count || read(TIME, i) != openTime) {
+                    return null;
+                }
+                prices[k] = read(CLOSE, i);
+            }
+            return prices;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Release the memory, first flushing a mapped series to its file.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (mapped) {
+                segment.force();
+            }
+            arena.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Heap batch of bars in strictly increasing open time, for loading into a series.
+     * Bars not after the previous one are ignored.
+     */
+    public static final class Batch {
+        long[] times;
+        long[] opens;
+        long[] highs;
+        long[] lows;
+        long[] closes;
+        long[] volumes;
+        int size;
+
+        public Batch(int capacity) {
+            int length = Math.max(capacity, 16);
+            times = new long[length];
+            opens = new long[length];
+            highs = new long[length];
+            lows = new long[length];
+            closes = new long[length];
+            volumes = new long[length];
+        }
+
+        public void add(long openTime, long open, long high, long low, long close, long volume) {
+            if (size > 0 && openTime <= times[size - 1]) {
+                return;
+            }
+            if (size == times.length) {
+                int length = size * 2;
+                times = Arrays.copyOf(times, length);
+                opens = Arrays.copyOf(opens, length);
+                highs = Arrays.copyOf(highs, length);
+                lows = Arrays.copyOf(lows, length);
+                closes = Arrays.copyOf(closes, length);
+                volumes = Arrays.copyOf(volumes, length);
+            }
+            times[size] = openTime;
+            opens[size] = open;
+            highs[size] = high;
+            lows[size] = low;
+            closes[size] = close;
+            volumes[size] = volume;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.MarketDataProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Long OHLCV history per symbol in off-heap {@link BarSeries}, so millions of bars
+ * cost neither heap nor GC time.
+ * <p>
+ * Series stored under {@code directory} are opened at startup, any other on the
+ * symbol's first live price. Live prices then extend a series bar by bar, and
+ * {@code preloadDays} of exchange klines — or, for a mapped series reopened after
+ * a restart, the bars since the last stored one — are merged in on a virtual
+ * thread. Bulk loads go through {@link #load}, which opens series without a preload.
+ * <p>
+ * The bot's strategies still evaluate their 200-sample {@link PriceHistory} per
+ * sampling interval; the store seeds those at startup and serves the bar API, but
+ * strategies do not read windows longer than that from it.
+ */
+@Service
+public class BarStoreService {
+
+    private static final Logger log = LoggerFactory.getLogger(BarStoreService.class);
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private final MarketDataBackfillService backfillService;
+    private final MarketDataProperties.BarStore props;
+    private final long barMillis;
+    private final Path directory;
+    private final Map<String, BarSeries> series = new ConcurrentHashMap<>();
+
+    public BarStoreService(MarketDataStreamService marketDataService, MarketDataBackfillService backfillService,
+                           MarketDataProperties marketDataProperties) {
+        this.backfillService = backfillService;
+        this.props = marketDataProperties.barStore() != null
+                ? marketDataProperties.barStore()
+                : new MarketDataProperties.BarStore(false, 60, 0, null, 0, null, 0);
+        this.barMillis = props.barSeconds() * 1000L;
+        this.directory = props.directory() != null && !props.directory().isBlank() ? Path.of(props.directory()) : null;
+        if (props.enabled()) {
+            MarketDataBackfillService.klineInterval(props.barSeconds());
+            if (props.capacity() <= 0) {
+                throw new IllegalArgumentException("Invalid bar store capacity: " + props.capacity());
+            }
+            if (directory != null) {
+                try {
+                    Files.createDirectories(directory);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to create bar store directory " + directory, e);
+                }
+            }
+            marketDataService.addPriceListener(this::onTick);
+            log.info("Bar store: {} bars of {}s per symbol {}", props.capacity(), props.barSeconds(),
+                    directory != null ? "mapped under " + directory : "off-heap");
+            if (directory != null) {
+                openStored();
+            }
+        }
+    }
+
+    /**
+     * Open every series already stored under the directory, so its bars are there
+     * before the symbol's first live price (e.g. to seed the bot's samplers).
+     */
+    private void openStored() {
+        String suffix = "-" + props.barSeconds() + "s.bars";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                seriesFor(name.substring(0, name.length() - suffix.length()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list bar store directory " + directory, e);
+        }
+        log.info("Bar store: opened {} stored series", series.size());
+    }
+
+    public boolean isEnabled() {
+        return props.enabled();
+    }
+
+    public int getBarSeconds() {
+        return props.barSeconds();
+    }
+
+    private void onTick(MarketTick tick) {
+        long time = tick.eventTimeMillis() > 0 ? tick.eventTimeMillis() : System.currentTimeMillis();
+        // Ticker updates carry no traded quantity; volume comes from loaded klines
+        seriesFor(tick.symbol()).update(tick.price(), 0, time);
+    }
+
+    /**
+     * @return the bars held for {@code symbol}, or {@code null} if there are none
+     */
+    public BarSeries getSeries(String symbol) {
+        return series.get(symbol);
+    }
+
+    /**
+     * Merge bars loaded from elsewhere, e.g. exchange archives, into a symbol's series.
+     * A series this opens is not preloaded from the exchange, so an offline import
+     * makes no REST calls.
+     *
+     * @return the number of bars added
+     */
+    public int load(String symbol, BarSeries.Batch bars) {
+        if (!props.enabled()) {
+            throw new IllegalStateException("Bar store is disabled");
+        }
+        return seriesFor(symbol, false).merge(bars);
+    }
+
+    private BarSeries seriesFor(String symbol) {
+        return seriesFor(symbol, true);
+    }
+
+    private BarSeries seriesFor(String symbol, boolean preload) {
+        BarSeries existing = series.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        return series.computeIfAbsent(symbol, s -> {
+            BarSeries opened = directory != null
+                    ? BarSeries.map(directory.resolve(s + "-" + props.barSeconds() + "s.bars"), props.capacity(), barMillis)
+                    : BarSeries.allocate(props.capacity(), barMillis);
+            if (preload) {
+                Thread.ofVirtual().name("bar-preload-" + s).start(() -> preload(s, opened));
+            }
+            return opened;
+        });
+    }
+
+    private void preload(String symbol, BarSeries bars) {
+        long now = System.currentTimeMillis();
+        int held = bars.size();
+        long from;
+        if (held > 0) {
+            from = bars.openTime(held - 1);
+        } else if (props.preloadDays() > 0) {
+            from = now - props.preloadDays() * DAY_MILLIS;
+        } else {
+            return;
+        }
+        int[] added = new int[1];
+        int fetched = backfillService.fetchBars(symbol, props.barSeconds(), from, now,
+                batch -> added[0] += bars.merge(batch));
+        log.info("{}: loaded {} {}s bars from the exchange, {} new, {} held",
+                symbol, fetched, props.barSeconds(), added[0], bars.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        series.values().forEach(BarSeries::close);
+    }
+}
@@ -0,0 +1,108 @@
+package com.trading.ng.service;
+
+import com.trading.ng.util.FixedDecimal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates a strategy's indicators and crossovers for many symbols at once.
+ * <p>
+ * Closes are laid out column-wise in a {@link PriceMatrix} and the per-bar work runs
+ * on SIMD kernels from the incubating Vector API when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, and on plain scalar loops otherwise.
+ * Sums are exact integer adds either way and the final scaling goes through
+ * {@link FixedDecimal}, so results match the per-symbol calculation services exactly.
+ * The engine takes any matrix, whether built from live histories or from stored
+ * series for a backtest.
+ */
+@Service
+public class BatchIndicatorEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchIndicatorEngine.class);
+
+    private final IndicatorKernels kernels;
+    private final boolean simd;
+
+    public BatchIndicatorEngine() {
+        IndicatorKernels selected = null;
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                selected = new VectorIndicatorKernels();
+                log.info("Batch indicators on SIMD kernels, {} lanes", VectorIndicatorKernels.lanes());
+            } catch (LinkageError e) {
+                log.warn("Vector API unavailable, batch indicators fall back to scalar: {}", e.getMessage());
+            }
+        }
+        this.simd = selected != null;
+        this.kernels = simd ? selected : new ScalarIndicatorKernels();
+    }
+
+    public boolean isSimd() {
+        return simd;
+    }
+
+    /**
+     * Fast and slow lines of {@code type} for every column of {@code closes}. Where
+     * {@code computed[i]} is {@code false} there was not enough data, exactly where
+     * {@link AbstractSignalCalculationService#computeIndicators} would return {@code false}.
+     */
+    public void computeIndicators(StrategyType type, BotConfig config, PriceMatrix closes,
+                                  long[] fast, long[] slow, boolean[] computed) {
+        switch (type) {
+            case SMA -> sma(config, closes, fast, slow, computed);
+            case VORTEX -> vortex(config, closes, fast, slow, computed);
+        }
+    }
+
+    private void sma(BotConfig config, PriceMatrix closes, long[] fast, long[] slow, boolean[] computed) {
+        int shortP = config.shortSmaPeriod();
+        int longP = config.longSmaPeriod();
+        int n = closes.symbols();
+        if (closes.depth() < Math.max(shortP, longP)) {
+            Arrays.fill(computed, 0, n, false);
+            return;
+        }
+        kernels.sums(closes, shortP, fast);
+        kernels.sums(closes, longP, slow);
+        for (int i = 0; i < n; i++) {
+            computed[i] = closes.isComplete(i);
+            if (computed[i]) {
+                fast[i] = FixedDecimal.divideByCount(fast[i], shortP, AbstractSignalCalculationService.ROUNDING);
+                slow[i] = FixedDecimal.divideByCount(slow[i], longP, AbstractSignalCalculationService.ROUNDING);
+            }
+        }
+    }
+
+    private void vortex(BotConfig config, PriceMatrix closes, long[] fast, long[] slow, boolean[] computed) {
+        int period = config.vortexPeriod();
+        int n = closes.symbols();
+        if (closes.depth() < period + 2) {
+            Arrays.fill(computed, 0, n, false);
+            return;
+        }
+        long[] trueRange = new long[n];
+        kernels.vortexSums(closes, period, fast, slow, trueRange);
+        for (int i = 0; i < n; i++) {
+            computed[i] = closes.isComplete(i) && trueRange[i] != 0;
+            if (computed[i]) {
+                fast[i] = FixedDecimal.divide(fast[i], trueRange[i], AbstractSignalCalculationService.ROUNDING);
+                slow[i] = FixedDecimal.divide(slow[i], trueRange[i], AbstractSignalCalculationService.ROUNDING);
+            }
+        }
+    }
+
+    /**
+     * Crossover of each element pair, as {@link AbstractSignalCalculationService#detectSignal}.
+     */
+    public void detectSignals(long[] prevFast, long[] prevSlow, long[] currFast, long[] currSlow,
+                              int count, SignalType[] out) {
+        long[] codes = new long[count];
+        kernels.crossovers(prevFast, prevSlow, currFast, currSlow, count, codes);
+        for (int i = 0; i < count; i++) {
+            out[i] = codes[i] > 0 ? SignalType.BUY : codes[i] < 0 ? SignalType.SELL : SignalType.NONE;
+        }
+    }
+}
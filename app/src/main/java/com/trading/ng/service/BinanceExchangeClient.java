@@ -0,0 +1,403 @@
+package com.trading.ng.service;
+
+import com.binance.connector.client.common.ApiException;
+import com.binance.connector.client.common.ApiResponse;
+import com.binance.connector.client.common.websocket.service.StreamBlockingQueueWrapper;
+import com.binance.connector.client.spot.rest.api.SpotRestApi;
+import com.binance.connector.client.spot.rest.model.GetAccountResponse;
+import com.binance.connector.client.spot.rest.model.GetOpenOrdersResponse;
+import com.binance.connector.client.spot.rest.model.GetOrderResponse;
+import com.binance.connector.client.spot.rest.model.MyTradesResponse;
+import com.binance.connector.client.spot.rest.model.NewOrderRequest;
+import com.binance.connector.client.spot.rest.model.NewOrderResponse;
+import com.binance.connector.client.spot.rest.model.Side;
+import com.binance.connector.client.spot.rest.model.TimeInForce;
+import com.binance.connector.client.spot.websocket.api.api.SpotWebSocketApi;
+import com.binance.connector.client.spot.websocket.api.model.ExecutionReport;
+import com.binance.connector.client.spot.websocket.api.model.OutboundAccountPosition;
+import com.binance.connector.client.spot.websocket.api.model.OutboundAccountPositionBInner;
+import com.binance.connector.client.spot.websocket.api.model.UserDataStreamEventsResponse;
+import com.trading.ng.config.BinanceProperties;
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.domain.OrderStatus;
+import com.trading.ng.domain.OrderType;
+import com.trading.ng.dto.AccountBalance;
+import com.trading.ng.dto.PlaceOrderRequest;
+import org.slf4j.Logger;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link ExchangeClient} backed by the Binance Spot REST API, with order
+ * updates from executionReports on the WebSocket API user data stream.
+ */
+@Service
+@ConditionalOnProperty(prefix = "exchange", name = "mode", havingValue = "LIVE", matchIfMissing = true)
+public class BinanceExchangeClient implements ExchangeClient {
+
+    private static final Logger log = LoggerFactory.getLogger(BinanceExchangeClient.class);
+
+    private static final long MAX_RESUBSCRIBE_BACKOFF_MILLIS = 30_000;
+
+    private final SpotRestApi spotRestApi;
+    private final RestCallScheduler scheduler;
+    private final SpotWebSocketApi spotWebSocketApi;
+    private final BinanceProperties props;
+
+    private final List<Consumer<ExchangeOrder>> orderListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<ExchangeFill>> fillListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<AccountBalance>> balanceListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+    private volatile Thread userDataPoller;
+
+    public BinanceExchangeClient(
+            SpotRestApi spotRestApi,
+            RestCallScheduler scheduler,
+            SpotWebSocketApi spotWebSocketApi,
+            BinanceProperties props) {
+        this.spotRestApi = spotRestApi;
+        this.scheduler = scheduler;
+        this.spotWebSocketApi = spotWebSocketApi;
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startUserDataStream() {
+        if (props.apiKey() == null || props.apiKey().isBlank()) {
+            log.warn("No API key configured — user data stream disabled, order state relies on reconcile");
+            return;
+        }
+        userDataPoller = Thread.ofVirtual().name("ws-user-data").start(this::pollUserData);
+    }
+
+    /**
+     * Subscribe to the user data stream and forward executionReports and
+     * outboundAccountPosition balance changes,
+     * resubscribing with backoff if the subscription fails.
+     */
+    private void pollUserData() {
+        long backoff = 1_000;
+        while (running) {
+            try {
+                StreamBlockingQueueWrapper<UserDataStreamEventsResponse> events =
+                        spotWebSocketApi.userDataStreamSubscribe().getStream();
+                log.info("User data stream subscribed");
+                backoff = 1_000;
+                while (running) {
+                    UserDataStreamEventsResponse event = events.take();
+                    try {
+                        onUserDataEvent(event);
+                    } catch (Exception e) {
+                        // A single event we cannot read must not end the subscription
+                        log.warn("Skipping user data event: {}", e.getMessage());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("User data stream failed: {} — resubscribing in {}ms", e.getMessage(), backoff);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_RESUBSCRIBE_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void onUserDataEvent(UserDataStreamEventsResponse event) {
+        if (event.getActualInstance() instanceof ExecutionReport report) {
+            if ("TRADE".equals(report.getxLowerCase())) {       // x = execution type
+                publishFill(toExchangeFill(report));
+            }
+            publish(toExchangeOrder(report));
+        } else if (event.getActualInstance() instanceof OutboundAccountPosition position
+                && position.getB() != null) {                // B = changed balances
+            for (OutboundAccountPositionBInner balance : position.getB()) {
+                publishBalance(new AccountBalance(
+                        balance.getaLowerCase(),                 // a = asset
+                        new BigDecimal(balance.getfLowerCase()), // f = free
+                        new BigDecimal(balance.getlLowerCase())  // l = locked
+                ));
+            }
+        }
+    }
+
+    private static ExchangeOrder toExchangeOrder(ExecutionReport report) {
+        return new ExchangeOrder(
+                report.getiLowerCase(),                                  // i = order id
+                report.getcLowerCase(),                                  // c = client order id
+                report.getsLowerCase(),                                  // s = symbol
+                OrderSide.valueOf(report.getS()),                        // S = side
+                toType(report.getoLowerCase()),                          // o = order type
+                toStatus(report.getX()),                                 // X = current order status
+                new BigDecimal(report.getpLowerCase()),                  // p = order price
+                new BigDecimal(report.getqLowerCase()),                  // q = order quantity
+                new BigDecimal(report.getzLowerCase())                   // z = cumulative filled quantity
+        );
+    }
+
+    private static ExchangeFill toExchangeFill(ExecutionReport report) {
+        return new ExchangeFill(
+                report.gettLowerCase(),                                  // t = trade id
+                report.getiLowerCase(),                                  // i = order id
+                report.getsLowerCase(),                                  // s = symbol
+                OrderSide.valueOf(report.getS()),                        // S = side
+                new BigDecimal(report.getL()),                           // L = last executed price
+                new BigDecimal(report.getlLowerCase()),                  // l = last executed quantity
+                new BigDecimal(report.getnLowerCase()),                  // n = commission amount
+                report.getN(),                                           // N = commission asset
+                Boolean.TRUE.equals(report.getmLowerCase()),             // m = is maker
+                Instant.ofEpochMilli(report.getT())                      // T = transaction time
+        );
+    }
+
+    private static OrderStatus toStatus(String status) {
+        return switch (status) {
+            // PENDING_NEW: an order list leg that is not working yet
+            case "NEW", "PENDING_NEW" -> OrderStatus.NEW;
+            case "PARTIALLY_FILLED" -> OrderStatus.PARTIALLY_FILLED;
+            case "FILLED" -> OrderStatus.FILLED;
+            case "CANCELED" -> OrderStatus.CANCELED;
+            case "PENDING_CANCEL" -> OrderStatus.PENDING_CANCEL;
+            case "REJECTED" -> OrderStatus.REJECTED;
+            // EXPIRED_IN_MATCH: expired by self-trade prevention
+            case "EXPIRED", "EXPIRED_IN_MATCH" -> OrderStatus.EXPIRED;
+            case null, default -> throw new IllegalArgumentException("Unknown order status: " + status);
+        };
+    }
+
+    private static OrderType toType(String type) {
+        return switch (type) {
+            case "LIMIT" -> OrderType.LIMIT;
+            case "MARKET" -> OrderType.MARKET;
+            case "STOP_LOSS" -> OrderType.STOP_LOSS;
+            case "STOP_LOSS_LIMIT" -> OrderType.STOP_LOSS_LIMIT;
+            case "TAKE_PROFIT" -> OrderType.TAKE_PROFIT;
+            case "TAKE_PROFIT_LIMIT" -> OrderType.TAKE_PROFIT_LIMIT;
+            case "LIMIT_MAKER" -> OrderType.LIMIT_MAKER;
+            case null, default -> throw new IllegalArgumentException("Unknown order type: " + type);
+        };
+    }
+
+    private void publish(ExchangeOrder order) {
+        for (Consumer<ExchangeOrder> listener : orderListeners) {
+            try {
+                listener.accept(order);
+            } catch (Exception e) {
+                log.error("Order update listener error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void publishFill(ExchangeFill fill) {
+        for (Consumer<ExchangeFill> listener : fillListeners) {
+            try {
+                listener.accept(fill);
+            } catch (Exception e) {
+                log.error("Fill listener error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void publishBalance(AccountBalance balance) {
+        for (Consumer<AccountBalance> listener : balanceListeners) {
+            try {
+                listener.accept(balance);
+            } catch (Exception e) {
+                log.error("Balance listener error: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void addOrderUpdateListener(Consumer<ExchangeOrder> listener) {
+        orderListeners.add(listener);
+    }
+
+    @Override
+    public void addFillListener(Consumer<ExchangeFill> listener) {
+        fillListeners.add(listener);
+    }
+
+    @Override
+    public void addBalanceListener(Consumer<AccountBalance> listener) {
+        balanceListeners.add(listener);
+    }
+
+    @Override
+    public List<ExchangeFill> getMyTrades(String symbol, long fromTradeId, int limit) {
+        try {
+            ApiResponse<MyTradesResponse> response = scheduler.execute(RestPriority.READ, 20,
+                    () -> spotRestApi.myTrades(symbol, null, null, null, fromTradeId, limit, null));
+            return response.getData().stream()
+                    .map(t -> new ExchangeFill(
+                            t.getId(),
+                            t.getOrderId(),
+                            t.getSymbol(),
+                            Boolean.TRUE.equals(t.getIsBuyer()) ? OrderSide.BUY : OrderSide.SELL,
+                            new BigDecimal(t.getPrice()),
+                            new BigDecimal(t.getQty()),
+                            new BigDecimal(t.getCommission()),
+                            t.getCommissionAsset(),
+                            Boolean.TRUE.equals(t.getIsMaker()),
+                            Instant.ofEpochMilli(t.getTime())
+                    ))
+                    .toList();
+        } catch (ApiException e) {
+            log.error("Binance API error getting trades: {}", e.getMessage());
+            throw new RuntimeException("Failed to get trades: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread poller = userDataPoller;
+        if (poller != null) {
+            poller.interrupt();
+        }
+    }
+
+    @Override
+    public ExchangeOrder placeOrder(PlaceOrderRequest req) {
+        try {
+            NewOrderRequest binanceReq = new NewOrderRequest();
+            binanceReq.setSymbol(req.symbol());
+            binanceReq.setSide(toSide(req.side()));
+            binanceReq.setType(toType(req.type()));
+            binanceReq.setQuantity(req.quantity().doubleValue());
+            if (req.price() != null) {
+                binanceReq.setPrice(req.price().doubleValue());
+            }
+            if (req.timeInForce() != null) {
+                binanceReq.setTimeInForce(TimeInForce.fromValue(req.timeInForce()));
+            }
+            if (req.stopPrice() != null) {
+                binanceReq.setStopPrice(req.stopPrice().doubleValue());
+            }
+
+            ApiResponse<NewOrderResponse> response = scheduler.execute(
+                    RestPriority.ORDER, 1, () -> spotRestApi.newOrder(binanceReq));
+            NewOrderResponse data = response.getData();
+
+            return new ExchangeOrder(
+                    data.getOrderId(),
+                    data.getClientOrderId(),
+                    req.symbol(),
+                    req.side(),
+                    req.type(),
+                    toStatus(data.getStatus()),
+                    req.price(),
+                    req.quantity(),
+                    new BigDecimal(data.getExecutedQty())
+            );
+
+        } catch (ApiException e) {
+            log.error("Binance API error placing order: {} (code={})", e.getMessage(), e.getCode());
+            throw new RuntimeException("Failed to place order: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void cancelOrder(String symbol, long orderId) {
+        try {
+            scheduler.execute(RestPriority.ORDER, 1,
+                    () -> spotRestApi.deleteOrder(symbol, orderId, null, null, null, null));
+        } catch (ApiException e) {
+            log.error("Binance API error cancelling order: {}", e.getMessage());
+            throw new RuntimeException("Failed to cancel order: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ExchangeOrder getOrder(String symbol, long orderId) {
+        try {
+            ApiResponse<GetOrderResponse> response = scheduler.executeCoalesced(
+                    "getOrder:" + symbol + ":" + orderId, RestPriority.READ, 4,
+                    () -> spotRestApi.getOrder(symbol, orderId, null, null));
+            GetOrderResponse data = response.getData();
+            return new ExchangeOrder(
+                    data.getOrderId(),
+                    data.getClientOrderId(),
+                    data.getSymbol(),
+                    OrderSide.valueOf(data.getSide()),
+                    toType(data.getType()),
+                    toStatus(data.getStatus()),
+                    new BigDecimal(data.getPrice()),
+                    new BigDecimal(data.getOrigQty()),
+                    new BigDecimal(data.getExecutedQty())
+            );
+        } catch (ApiException e) {
+            log.error("Binance API error getting order: {}", e.getMessage());
+            throw new RuntimeException("Failed to get order: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<ExchangeOrder> getOpenOrders(String symbol) {
+        try {
+            // 6 weight for one symbol, 80 for all
+            ApiResponse<GetOpenOrdersResponse> response = scheduler.executeCoalesced(
+                    "getOpenOrders:" + symbol, RestPriority.READ, symbol != null ? 6 : 80,
+                    () -> spotRestApi.getOpenOrders(symbol, null));
+            return response.getData().stream()
+                    .map(o -> new ExchangeOrder(
+                            o.getOrderId(),
+                            o.getClientOrderId(),
+                            o.getSymbol(),
+                            OrderSide.valueOf(o.getSide()),
+                            toType(o.getType()),
+                            toStatus(o.getStatus()),
+                            new BigDecimal(o.getPrice()),
+                            new BigDecimal(o.getOrigQty()),
+                            new BigDecimal(o.getExecutedQty())
+                    ))
+                    .toList();
+        } catch (ApiException e) {
+            log.error("Binance API error getting open orders: {}", e.getMessage());
+            throw new RuntimeException("Failed to get open orders: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<AccountBalance> getBalances() {
+        try {
+            ApiResponse<GetAccountResponse> response = scheduler.executeCoalesced(
+                    "getAccount", RestPriority.READ, 20, () -> spotRestApi.getAccount(true, null));
+            GetAccountResponse account = response.getData();
+
+            return account.getBalances().stream()
+                    .map(b -> new AccountBalance(
+                            b.getAsset(),
+                            new BigDecimal(b.getFree()),
+                            new BigDecimal(b.getLocked())
+                    ))
+                    .toList();
+        } catch (ApiException e) {
+            log.error("Binance API error getting account: {}", e.getMessage());
+            throw new RuntimeException("Failed to get account balances: " + e.getMessage(), e);
+        }
+    }
+
+    private static Side toSide(OrderSide side) {
+        return Side.fromValue(side.name());
+    }
+
+    private static com.binance.connector.client.spot.rest.model.OrderType toType(OrderType type) {
+        return com.binance.connector.client.spot.rest.model.OrderType.fromValue(type.name());
+    }
+}
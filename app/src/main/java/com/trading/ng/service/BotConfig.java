@@ -0,0 +1,174 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.BotProperties;
+import com.trading.ng.dto.BotConfigRequest;
+import com.trading.ng.util.FixedDecimal;
+
+import java.lang.reflect.RecordComponent;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Immutable, versioned bot configuration (amounts in scale-8 fixed point).
+ * <p>
+ * {@link TradingBotService} publishes each update as a new snapshot in one
+ * reference swap, and a sample reads the reference once, so no tick sees half
+ * of an update — e.g. a new short SMA period with the old long one.
+ */
+public record BotConfig(
+        long version,
+        Instant updatedAt,
+        List<String> symbols,
+        StrategyType defaultStrategy,
+        Map<String, List<StrategyType>> symbolStrategies,
+        int shortSmaPeriod,
+        int longSmaPeriod,
+        int vortexPeriod,
+        int samplingIntervalSeconds,
+        Map<String, Integer> symbolSamplingIntervals,
+        Map<StrategyType, Integer> strategySamplingIntervals,
+        long orderSizePercent,
+        int cooldownSeconds,
+        long minOrderSizeEur,
+        String quoteAsset
+) {
+
+    public static BotConfig from(BotProperties props) {
+        return new BotConfig(
+                1,
+                Instant.now(),
+                normalizeSymbols(props.symbols()),
+                props.strategy(),
+                copyAssignments(props.symbolStrategies()),
+                props.shortSmaPeriod(),
+                props.longSmaPeriod(),
+                props.vortexPeriod(),
+                props.samplingIntervalSeconds(),
+                copySymbolIntervals(props.symbolSamplingIntervals()),
+                copyStrategyIntervals(props.strategySamplingIntervals()),
+                FixedDecimal.fromBigDecimal(props.orderSizePercent()),
+                props.cooldownSeconds(),
+                FixedDecimal.fromBigDecimal(props.minOrderSizeEur()),
+                props.quoteAsset()
+        );
+    }
+
+    /**
+     * Next version with the non-null fields of {@code request} applied.
+     *
+     * @throws IllegalArgumentException if the result would be inconsistent
+     */
+    public BotConfig apply(BotConfigRequest request) {
+        int shortP = request.shortSmaPeriod() != null ? request.shortSmaPeriod() : shortSmaPeriod;
+        int longP = request.longSmaPeriod() != null ? request.longSmaPeriod() : longSmaPeriod;
+        if (shortP >= longP) {
+            throw new IllegalArgumentException(
+                    "shortSmaPeriod (" + shortP + ") must be less than longSmaPeriod (" + longP + ")");
+        }
+        return new BotConfig(
+                version + 1,
+                Instant.now(),
+                request.symbols() != null && !request.symbols().isEmpty()
+                        ? normalizeSymbols(request.symbols()) : symbols,
+                request.strategy() != null ? request.strategy() : defaultStrategy,
+                request.symbolStrategies() != null
+                        ? copyAssignments(request.symbolStrategies()) : symbolStrategies,
+                shortP,
+                longP,
+                request.vortexPeriod() != null ? request.vortexPeriod() : vortexPeriod,
+                request.samplingIntervalSeconds() != null
+                        ? request.samplingIntervalSeconds() : samplingIntervalSeconds,
+                request.symbolSamplingIntervals() != null
+                        ? copySymbolIntervals(request.symbolSamplingIntervals()) : symbolSamplingIntervals,
+                request.strategySamplingIntervals() != null
+                        ? copyStrategyIntervals(request.strategySamplingIntervals()) : strategySamplingIntervals,
+                request.orderSizePercent() != null
+                        ? FixedDecimal.fromBigDecimal(request.orderSizePercent()) : orderSizePercent,
+                request.cooldownSeconds() != null ? request.cooldownSeconds() : cooldownSeconds,
+                request.minOrderSizeEur() != null
+                        ? FixedDecimal.fromBigDecimal(request.minOrderSizeEur()) : minOrderSizeEur,
+                quoteAsset
+        );
+    }
+
+    /**
+     * Names of the settings that differ from {@code previous}, ignoring the version stamp.
+     */
+    public List<String> changedFrom(BotConfig previous) {
+        List<String> changed = new ArrayList<>();
+        try {
+            for (RecordComponent component : BotConfig.class.getRecordComponents()) {
+                String name = component.getName();
+                if (name.equals("version") || name.equals("updatedAt")) {
+                    continue;
+                }
+                if (!Objects.equals(component.getAccessor().invoke(this), component.getAccessor().invoke(previous))) {
+                    changed.add(name);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to compare bot config versions", e);
+        }
+        return changed;
+    }
+
+    /**
+     * Strategies assigned to a symbol — the explicit per-symbol list if one
+     * is configured, otherwise just the default strategy.
+     */
+    public List<StrategyType> strategiesFor(String symbol) {
+        List<StrategyType> assigned = symbolStrategies.get(symbol);
+        return assigned != null ? assigned : List.of(defaultStrategy);
+    }
+
+    /**
+     * Configured sampling interval override for a strategy on a symbol — per symbol
+     * first, then per strategy — or {@code null} if neither is set.
+     */
+    public Integer samplingOverrideFor(String symbol, StrategyType type) {
+        Integer seconds = symbolSamplingIntervals.get(symbol);
+        return seconds != null ? seconds : strategySamplingIntervals.get(type);
+    }
+
+    private static List<String> normalizeSymbols(List<String> symbols) {
+        return symbols.stream().map(String::toUpperCase).distinct().toList();
+    }
+
+    private static Map<String, List<StrategyType>> copyAssignments(Map<String, List<StrategyType>> assignments) {
+        if (assignments == null) {
+            return Map.of();
+        }
+        Map<String, List<StrategyType>> copy = new LinkedHashMap<>();
+        assignments.forEach((symbol, types) -> {
+            if (types != null && !types.isEmpty()) {
+                copy.put(symbol.toUpperCase(), List.copyOf(new LinkedHashSet<>(types)));
+            }
+        });
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Map<String, Integer> copySymbolIntervals(Map<String, Integer> intervals) {
+        if (intervals == null) {
+            return Map.of();
+        }
+        Map<String, Integer> copy = new LinkedHashMap<>();
+        intervals.forEach((symbol, seconds) -> copy.put(symbol.toUpperCase(), checkInterval(seconds)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Map<StrategyType, Integer> copyStrategyIntervals(Map<StrategyType, Integer> intervals) {
+        if (intervals == null || intervals.isEmpty()) {
+            return Map.of();
+        }
+        Map<StrategyType, Integer> copy = new EnumMap<>(StrategyType.class);
+        intervals.forEach((type, seconds) -> copy.put(type, checkInterval(seconds)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static int checkInterval(Integer seconds) {
+        if (seconds == null || seconds <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + seconds);
+        }
+        return seconds;
+    }
+}
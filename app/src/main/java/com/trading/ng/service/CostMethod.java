@@ -0,0 +1,8 @@
+package com.trading.ng.service;
+
+/**
+ * How the cost of a sale is taken from the lots bought before it.
+ */
+public enum CostMethod {
+    FIFO, AVERAGE
+}
@@ -0,0 +1,56 @@
+package com.trading.ng.service;
+
+import com.trading.ng.dto.AccountBalance;
+import com.trading.ng.dto.PlaceOrderRequest;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Order and account operations against an exchange. {@link OrderService} and
+ * {@link PortfolioService} talk to this instead of the Binance client directly,
+ * so the live exchange can be swapped for the in-process simulator
+ * ({@code exchange.mode=PAPER}) without touching the order path.
+ * <p>
+ * Implementations throw {@link RuntimeException} with the exchange's message
+ * when a request is rejected.
+ */
+public interface ExchangeClient {
+
+    ExchangeOrder placeOrder(PlaceOrderRequest request);
+
+    void cancelOrder(String symbol, long orderId);
+
+    ExchangeOrder getOrder(String symbol, long orderId);
+
+    /**
+     * @param symbol symbol to list, or {@code null} for all symbols
+     */
+    List<ExchangeOrder> getOpenOrders(String symbol);
+
+    /**
+     * All asset balances, including zero ones.
+     */
+    List<AccountBalance> getBalances();
+
+    /**
+     * Receive every order state change pushed by the exchange, including
+     * fills and cancels that happen after placement.
+     */
+    void addOrderUpdateListener(Consumer<ExchangeOrder> listener);
+
+    /**
+     * Receive every fill pushed by the exchange.
+     */
+    void addFillListener(Consumer<ExchangeFill> listener);
+
+    /**
+     * Receive balance changes pushed by the exchange, one asset per call.
+     */
+    void addBalanceListener(Consumer<AccountBalance> listener);
+
+    /**
+     * Account fills for a symbol with trade id {@code >= fromTradeId}, oldest first.
+     */
+    List<ExchangeFill> getMyTrades(String symbol, long fromTradeId, int limit);
+}
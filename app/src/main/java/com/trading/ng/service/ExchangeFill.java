@@ -0,0 +1,23 @@
+package com.trading.ng.service;
+
+import com.trading.ng.domain.OrderSide;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One execution against an order, as reported by an {@link ExchangeClient}.
+ */
+public record ExchangeFill(
+        long tradeId,
+        long orderId,
+        String symbol,
+        OrderSide side,
+        BigDecimal price,
+        BigDecimal quantity,
+        BigDecimal commission,
+        String commissionAsset,
+        boolean maker,
+        Instant tradeTime
+) {
+}
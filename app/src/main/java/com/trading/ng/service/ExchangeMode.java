@@ -0,0 +1,5 @@
+package com.trading.ng.service;
+
+public enum ExchangeMode {
+    LIVE, PAPER
+}
@@ -0,0 +1,23 @@
+package com.trading.ng.service;
+
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.domain.OrderStatus;
+import com.trading.ng.domain.OrderType;
+
+import java.math.BigDecimal;
+
+/**
+ * Order state as reported by an {@link ExchangeClient}.
+ */
+public record ExchangeOrder(
+        long orderId,
+        String clientOrderId,
+        String symbol,
+        OrderSide side,
+        OrderType type,
+        OrderStatus status,
+        BigDecimal price,
+        BigDecimal origQty,
+        BigDecimal executedQty
+) {
+}
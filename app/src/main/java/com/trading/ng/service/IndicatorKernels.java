@@ -0,0 +1,27 @@
+package com.trading.ng.service;
+
+/**
+ * Column-wise indicator primitives over a {@link PriceMatrix}. Every method handles
+ * all symbols in one pass and writes one element per symbol; raw sums are left to
+ * the caller to scale so both implementations round identically.
+ */
+interface IndicatorKernels {
+
+    /**
+     * Sum of the last {@code period} closes of every symbol.
+     */
+    void sums(PriceMatrix closes, int period, long[] out);
+
+    /**
+     * Vortex sums of VM+, VM- and true range over the last {@code period} bars of every
+     * symbol, with synthetic highs and lows as in {@link VortexCalculationService}.
+     */
+    void vortexSums(PriceMatrix closes, int period, long[] vmPlus, long[] vmMinus, long[] trueRange);
+
+    /**
+     * Crossover per element: {@code 1} when the fast line crosses above the slow one,
+     * {@code -1} when it crosses below, {@code 0} otherwise, as in
+     * {@link AbstractSignalCalculationService#detectSignal}.
+     */
+    void crossovers(long[] prevFast, long[] prevSlow, long[] currFast, long[] currSlow, int count, long[] out);
+}
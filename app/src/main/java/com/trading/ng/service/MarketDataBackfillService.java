@@ -0,0 +1,229 @@
+package com.trading.ng.service;
+
+import com.binance.connector.client.common.ApiException;
+import com.binance.connector.client.spot.rest.api.SpotRestApi;
+import com.binance.connector.client.spot.rest.model.AggTradesResponse;
+import com.binance.connector.client.spot.rest.model.AggTradesResponseInner;
+import com.binance.connector.client.spot.rest.model.Interval;
+import com.binance.connector.client.spot.rest.model.KlinesResponse;
+import com.trading.ng.util.FixedDecimal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds the price samples missed while a market data stream was down,
+ * from REST klines and, for the still-open tail, aggregate trades; also
+ * loads OHLCV history for the {@link BarStoreService}.
+ */
+@Service
+public class MarketDataBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(MarketDataBackfillService.class);
+    private static final int MAX_LIMIT = 1000;
+    private static final long[] EMPTY = new long[0];
+
+    private final SpotRestApi spotRestApi;
+    private final RestCallScheduler scheduler;
+
+    public MarketDataBackfillService(SpotRestApi spotRestApi, RestCallScheduler scheduler) {
+        this.spotRestApi = spotRestApi;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Prices at {@code fromMillis + k * stepMillis} for every such instant
+     * strictly between {@code fromMillis} and {@code toMillis}, oldest first.
+     * Only the last {@code maxSamples} instants are filled. Instants that
+     * precede all exchange data are skipped, so the result may be shorter.
+     *
+     * @return fixed-point prices, or an empty array if nothing could be fetched
+     */
+    public long[] samplePrices(String symbol, long fromMillis, long toMillis, long stepMillis, int maxSamples) {
+        long missed = (toMillis - fromMillis - 1) / stepMillis;
+        int count = (int) Math.min(missed, maxSamples);
+        if (count <= 0) {
+            return EMPTY;
+        }
+        long firstSlot = fromMillis + (missed - count + 1) * stepMillis;
+        long lastSlot = firstSlot + (count - 1) * stepMillis;
+
+        PricePoints points = new PricePoints(count * 2);
+        try {
+            // Second klines keep sub-minute sampling exact; minute klines cover long gaps cheaply
+            Interval interval = stepMillis < 60_000 ? Interval.INTERVAL_1s : Interval.INTERVAL_1m;
+            long intervalMillis = stepMillis < 60_000 ? 1_000 : 60_000;
+            fetchKlines(symbol, interval, firstSlot - intervalMillis, lastSlot, points);
+            long covered = points.size > 0 ? points.times[points.size - 1] : firstSlot - intervalMillis;
+            if (covered < lastSlot) {
+                fetchAggTrades(symbol, covered + 1, lastSlot, points);
+            }
+        } catch (ApiException e) {
+            log.warn("{}: backfill failed: {} (code={})", symbol, e.getMessage(), e.getCode());
+            return EMPTY;
+        } catch (Exception e) {
+            log.warn("{}: backfill failed: {}", symbol, e.getMessage());
+            return EMPTY;
+        }
+
+        long[] samples = new long[count];
+        int filled = 0;
+        int p = -1;
+        for (long slot = firstSlot; slot <= lastSlot; slot += stepMillis) {
+            while (p + 1 < points.size && points.times[p + 1] <= slot) {
+                p++;
+            }
+            if (p >= 0) {
+                samples[filled++] = points.prices[p];
+            }
+        }
+        return filled == count ? samples : Arrays.copyOf(samples, filled);
+    }
+
+    /**
+     * OHLCV klines of {@code barSeconds} opening in {@code [fromMillis, toMillis]}, oldest
+     * first, handed to {@code sink} a page at a time; the batch is reused between pages.
+     *
+     * @return the number of bars fetched, fewer than requested if a call failed
+     */
+    public int fetchBars(String symbol, int barSeconds, long fromMillis, long toMillis,
+                         Consumer<BarSeries.Batch> sink) {
+        Interval interval = klineInterval(barSeconds);
+        BarSeries.Batch batch = new BarSeries.Batch(MAX_LIMIT);
+        int fetched = 0;
+        long cursor = fromMillis;
+        try {
+            while (cursor <= toMillis) {
+                long start = cursor;
+                KlinesResponse klines = scheduler.execute(RestPriority.BACKGROUND, 2,
+                        () -> spotRestApi.klines(symbol, interval, start, toMillis, null, MAX_LIMIT)).getData();
+                if (klines == null || klines.isEmpty()) {
+                    break;
+                }
+                batch.clear();
+                for (List<?> kline : klines) {
+                    // [openTime, open, high, low, close, volume, closeTime, ...]
+                    batch.add(toMillis(kline.get(0)), parse(kline.get(1)), parse(kline.get(2)),
+                            parse(kline.get(3)), parse(kline.get(4)),
+                            FixedDecimal.parseSaturated(String.valueOf(kline.get(5))));
+                }
+                sink.accept(batch);
+                fetched += batch.size();
+                if (klines.size() < MAX_LIMIT) {
+                    break;
+                }
+                cursor = batch.times[batch.size - 1] + 1;
+            }
+        } catch (ApiException e) {
+            log.warn("{}: kline load failed after {} bars: {} (code={})", symbol, fetched, e.getMessage(), e.getCode());
+        } catch (Exception e) {
+            log.warn("{}: kline load failed after {} bars: {}", symbol, fetched, e.getMessage());
+        }
+        return fetched;
+    }
+
+    /**
+     * Kline interval for bars of {@code barSeconds}.
+     *
+     * @throws IllegalArgumentException if the exchange has no such interval
+     */
+    public static Interval klineInterval(int barSeconds) {
+        return switch (barSeconds) {
+            case 1 -> Interval.INTERVAL_1s;
+            case 60 -> Interval.INTERVAL_1m;
+            case 300 -> Interval.INTERVAL_5m;
+            case 900 -> Interval.INTERVAL_15m;
+            case 3600 -> Interval.INTERVAL_1h;
+            default -> throw new IllegalArgumentException("No kline interval of " + barSeconds + "s");
+        };
+    }
+
+    private void fetchKlines(String symbol, Interval interval, long startMillis, long endMillis, PricePoints points) {
+        long cursor = startMillis;
+        while (cursor <= endMillis) {
+            long start = cursor;
+            KlinesResponse klines = scheduler.execute(RestPriority.BACKGROUND, 2,
+                    () -> spotRestApi.klines(symbol, interval, start, endMillis, null, MAX_LIMIT)).getData();
+            if (klines == null || klines.isEmpty()) {
+                return;
+            }
+            long lastOpen = cursor;
+            for (List<?> kline : klines) {
+                // [openTime, open, high, low, close, volume, closeTime, ...]
+                long closeTime = toMillis(kline.get(6));
+                if (closeTime <= endMillis) {
+                    points.add(closeTime, FixedDecimal.parse(String.valueOf(kline.get(4))));
+                }
+                lastOpen = toMillis(kline.get(0));
+            }
+            if (klines.size() < MAX_LIMIT) {
+                return;
+            }
+            cursor = lastOpen + 1;
+        }
+    }
+
+    private void fetchAggTrades(String symbol, long startMillis, long endMillis, PricePoints points) {
+        Long fromId = null;
+        while (true) {
+            Long from = fromId;
+            AggTradesResponse trades = scheduler.execute(RestPriority.BACKGROUND, 4, () -> from != null
+                    ? spotRestApi.aggTrades(symbol, from, null, null, MAX_LIMIT)
+                    : spotRestApi.aggTrades(symbol, null, startMillis, endMillis, MAX_LIMIT)).getData();
+            if (trades == null || trades.isEmpty()) {
+                return;
+            }
+            for (AggTradesResponseInner trade : trades) {
+                if (trade.getT() > endMillis) {                                   // T = trade time
+                    return;
+                }
+                points.add(trade.getT(), FixedDecimal.parse(trade.getpLowerCase()));   // p = price
+            }
+            if (trades.size() < MAX_LIMIT) {
+                return;
+            }
+            // A time range only ever returns its earliest trades, so page on by aggregate trade id
+            fromId = trades.getLast().getaLowerCase() + 1;                         // a = aggregate trade id
+        }
+    }
+
+    private static long parse(Object value) {
+        return FixedDecimal.parse(String.valueOf(value));
+    }
+
+    private static long toMillis(Object value) {
+        return value instanceof Number n ? n.longValue() : new BigDecimal(String.valueOf(value)).longValue();
+    }
+
+    /**
+     * Time-ordered (time, price) pairs in parallel primitive arrays.
+     */
+    private static final class PricePoints {
+        long[] times;
+        long[] prices;
+        int size;
+
+        PricePoints(int capacity) {
+            times = new long[Math.max(capacity, 16)];
+            prices = new long[times.length];
+        }
+
+        void add(long time, long price) {
+            if (size > 0 && time < times[size - 1]) {
+                return;
+            }
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            times[size] = time;
+            prices[size] = price;
+            size++;
+        }
+    }
+}
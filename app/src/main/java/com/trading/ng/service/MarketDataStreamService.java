@@ -1,6 +1,8 @@
 package com.trading.ng.service;
 
 import com.binance.connector.client.spot.websocket.stream.api.SpotWebSocketStreams;
+import com.binance.connector.client.spot.websocket.stream.model.DiffBookDepthRequest;
+import com.binance.connector.client.spot.websocket.stream.model.DiffBookDepthResponse;
 import com.binance.connector.client.spot.websocket.stream.model.MiniTickerRequest;
 import com.binance.connector.client.spot.websocket.stream.model.MiniTickerResponse;
 import com.binance.connector.client.spot.websocket.stream.model.TradeRequest;
@@ -9,83 +11,371 @@ import com.binance.connector.client.spot.websocket.stream.model.KlineRequest;
 import com.binance.connector.client.spot.websocket.stream.model.KlineResponse;
 import com.binance.connector.client.common.websocket.service.StreamBlockingQueueWrapper;
 import com.trading.ng.config.BinanceProperties;
+import com.trading.ng.config.MarketDataProperties;
 import com.trading.ng.dto.PriceUpdate;
+import com.trading.ng.util.FixedDecimal;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 
 /**
  * Subscribes to Binance WebSocket streams for real-time market data.
- * Maintains an in-memory cache of latest prices per symbol.
+ * Maintains an in-memory cache of latest prices per symbol as fixed-point
+ * {@link MarketTick}s; {@link PriceUpdate}s are only built for REST callers.
  * Virtual threads handle the blocking queue polling.
+ * <p>
+ * Symbols are streamed while any consumer is interested in them: {@code binance.symbols},
+ * the bot, portfolio valuation, PnL marks and paper fills each register their own
+ * interest with {@link #subscribeSymbols} / {@link #unsubscribeSymbols}, and a
+ * symbol's streams are closed only when the last consumer lets go of it. Streams
+ * are added to and removed from the pooled connection without a restart.
+ * Only symbols owned by this node (see {@link SymbolOwnershipService}) are
+ * streamed; streams follow ownership as it moves between nodes.
+ * <p>
+ * A watchdog marks a symbol stale when its latest price (mini ticker) event is older
+ * than {@code market-data.stale-after-seconds}, or the symbol's entry in
+ * {@code stale-after-seconds-by-symbol}, and resubscribes it with jittered
+ * exponential backoff, a bounded batch of symbols per pass so that a dropped
+ * connection does not turn into a reconnect storm.
+ * <p>
+ * With {@code market-data.order-book.enabled}, each symbol also gets a
+ * diff-depth stream feeding its local book in {@link OrderBookService}.
  */
 @Service
 public class MarketDataStreamService {
 
     private static final Logger log = LoggerFactory.getLogger(MarketDataStreamService.class);
+    // Interest registered for binance.symbols
+    private static final String CONFIGURED = "binance.symbols";
 
     private final SpotWebSocketStreams wsStreams;
     private final BinanceProperties props;
+    private final SymbolOwnershipService ownershipService;
+    private final MarketDataProperties marketDataProps;
+    private final OrderBookService orderBooks;
 
-    private final Map<String, PriceUpdate> latestPrices = new ConcurrentHashMap<>();
-    private final List<Consumer<PriceUpdate>> priceListeners = new CopyOnWriteArrayList<>();
-    private final List<Thread> pollingThreads = new CopyOnWriteArrayList<>();
+    private final Map<String, MarketTick> latestPrices = new ConcurrentHashMap<>();
+    private final List<Consumer<MarketTick>> priceListeners = new CopyOnWriteArrayList<>();
+    // Consumers interested in each symbol (upper case); streamed whenever this node owns it
+    private final Map<String, Set<String>> interest = new ConcurrentHashMap<>();
+    // Open streams per subscribed symbol (upper case)
+    private final Map<String, List<StreamHandle>> subscriptions = new ConcurrentHashMap<>();
+    // Liveness per subscribed symbol, kept across resubscribes
+    private final Map<String, StreamHealth> health = new ConcurrentHashMap<>();
 
     private volatile boolean running = true;
+    private volatile boolean started = false;
 
-    public MarketDataStreamService(SpotWebSocketStreams wsStreams, BinanceProperties props) {
+    /**
+     * Latest event times of a symbol's price stream and of any of its streams, and
+     * its reconnect state. Only the price stream counts for staleness: trades or
+     * depth updates still arriving do not mean prices are.
+     */
+    private static final class StreamHealth {
+        final String symbol;
+        volatile long lastPriceMillis;
+        volatile long lastEventMillis;
+        volatile boolean stale;
+        // Guarded by the service monitor
+        int reconnectAttempts;
+        long nextReconnectMillis;
+
+        StreamHealth(String symbol, long subscribedAt) {
+            this.symbol = symbol;
+            this.lastPriceMillis = subscribedAt;
+            this.lastEventMillis = subscribedAt;
+        }
+
+        void onEvent(long eventTimeMillis) {
+            if (eventTimeMillis > lastEventMillis) {
+                lastEventMillis = eventTimeMillis;
+            }
+        }
+
+        void onPrice(long eventTimeMillis) {
+            onEvent(eventTimeMillis);
+            if (eventTimeMillis > lastPriceMillis) {
+                lastPriceMillis = eventTimeMillis;
+            }
+            if (stale) {
+                stale = false;
+                log.info("{}: market data stream recovered", symbol);
+            }
+        }
+    }
+
+    /**
+     * One WebSocket stream and the virtual thread draining its queue.
+     */
+    private record StreamHandle(String name, StreamBlockingQueueWrapper<?> queue, Thread poller) {
+
+        void close() {
+            poller.interrupt();
+            try {
+                queue.unsubscribe();
+            } catch (Exception e) {
+                log.warn("Failed to unsubscribe stream {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    public MarketDataStreamService(
+            SpotWebSocketStreams wsStreams,
+            BinanceProperties props,
+            SymbolOwnershipService ownershipService,
+            MarketDataProperties marketDataProps,
+            OrderBookService orderBooks) {
         this.wsStreams = wsStreams;
         this.props = props;
+        this.ownershipService = ownershipService;
+        this.marketDataProps = marketDataProps;
+        this.orderBooks = orderBooks;
+        if (props.symbols() != null) {
+            props.symbols().forEach(symbol -> interest.computeIfAbsent(symbol.toUpperCase(), s -> new HashSet<>())
+                    .add(CONFIGURED));
+        }
+
+        ownershipService.addOwnershipListener(new SymbolOwnershipService.OwnershipListener() {
+            @Override
+            public void onAcquired(String symbol) {
+                if (started && interest.containsKey(symbol)) {
+                    subscribe(symbol);
+                }
+            }
+
+            @Override
+            public void onReleased(String symbol) {
+                unsubscribe(symbol);
+            }
+        });
     }
 
     @EventListener(ApplicationReadyEvent.class)
-    public void startStreams() {
-        List<String> symbols = props.symbols();
-        if (symbols == null || symbols.isEmpty()) {
-            log.warn("No symbols configured — WebSocket streams will not start");
+    public synchronized void startStreams() {
+        if (interest.isEmpty()) {
+            log.warn("No symbols configured — WebSocket streams will start when symbols are added");
+        }
+
+        started = true;
+        for (String symbol : interest.keySet()) {
+            if (ownershipService.isOwned(symbol)) {
+                subscribe(symbol);
+            }
+        }
+
+        log.info("WebSocket streams started for symbols: {}", subscriptions.keySet());
+    }
+
+    /**
+     * Register a consumer's interest in symbols, opening the streams of those
+     * nobody was interested in yet on the existing connection if this node owns them.
+     *
+     * @param consumer name of the component that needs the prices
+     */
+    public synchronized void subscribeSymbols(String consumer, Collection<String> requested) {
+        List<String> added = new ArrayList<>();
+        for (String symbol : requested) {
+            String upper = symbol.toUpperCase();
+            Set<String> consumers = interest.computeIfAbsent(upper, s -> new HashSet<>());
+            if (consumers.isEmpty()) {
+                added.add(upper);
+            }
+            consumers.add(consumer);
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        ownershipService.registerSymbols(added);
+        if (started) {
+            for (String symbol : added) {
+                if (ownershipService.isOwned(symbol)) {
+                    subscribe(symbol);
+                }
+            }
+        }
+        log.info("Symbols added to market data: {}", added);
+    }
+
+    /**
+     * Drop a consumer's interest in symbols. Symbols no other consumer needs
+     * have their streams and poller threads closed and their cached prices dropped.
+     */
+    public synchronized void unsubscribeSymbols(String consumer, Collection<String> requested) {
+        List<String> removed = new ArrayList<>();
+        for (String symbol : requested) {
+            String upper = symbol.toUpperCase();
+            Set<String> consumers = interest.get(upper);
+            if (consumers != null && consumers.remove(consumer) && consumers.isEmpty()) {
+                interest.remove(upper);
+                removed.add(upper);
+            }
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+        ownershipService.unregisterSymbols(removed);
+        removed.forEach(this::unsubscribe);
+        log.info("Symbols removed from market data: {}", removed);
+    }
+
+    public Set<String> getSubscribedSymbols() {
+        return Set.copyOf(subscriptions.keySet());
+    }
+
+    /**
+     * Whether the symbol has no live stream, or its latest price is older
+     * than its staleness threshold. Prices of a stale symbol must not be sampled.
+     */
+    public boolean isStale(String symbol) {
+        StreamHealth h = health.get(symbol);
+        return h == null || h.stale || System.currentTimeMillis() - h.lastPriceMillis > staleAfterMillis(symbol);
+    }
+
+    private long staleAfterMillis(String symbol) {
+        Map<String, Integer> bySymbol = marketDataProps.staleAfterSecondsBySymbol();
+        Integer seconds = bySymbol != null ? bySymbol.get(symbol) : null;
+        return (seconds != null ? seconds : marketDataProps.staleAfterSeconds()) * 1000L;
+    }
+
+    @Scheduled(fixedDelayString = "${market-data.watchdog-seconds:2}000")
+    public synchronized void checkStreams() {
+        if (!started || !running) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<StreamHealth> due = new ArrayList<>();
+        for (StreamHealth h : health.values()) {
+            if (now - h.lastPriceMillis <= staleAfterMillis(h.symbol)) {
+                continue;
+            }
+            if (!h.stale) {
+                h.stale = true;
+                h.reconnectAttempts = 0;
+                h.nextReconnectMillis = now;
+                log.warn("{}: no price for {}ms (last event on any stream {}ms ago), resubscribing",
+                        h.symbol, now - h.lastPriceMillis, now - h.lastEventMillis);
+            }
+            if (h.nextReconnectMillis <= now) {
+                due.add(h);
+            }
+        }
+        if (due.isEmpty()) {
             return;
         }
 
-        for (String symbol : symbols) {
-            String sym = symbol.toLowerCase();
-            subscribeMiniTicker(sym);
-            subscribeTrades(sym);
+        // Longest-silent first; the rest wait for the next pass
+        due.sort((a, b) -> Long.compare(a.lastPriceMillis, b.lastPriceMillis));
+        int batch = Math.min(due.size(), Math.max(1, marketDataProps.reconnectBatchSize()));
+        for (int i = 0; i < batch; i++) {
+            StreamHealth h = due.get(i);
+            resubscribe(h.symbol);
+            h.reconnectAttempts++;
+            h.nextReconnectMillis = now + reconnectDelay(h.reconnectAttempts);
         }
+        if (due.size() > batch) {
+            log.info("Resubscribed {} stale symbols, {} deferred to next pass", batch, due.size() - batch);
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter, capped at the configured maximum.
+     */
+    private long reconnectDelay(int attempts) {
+        long base = Math.max(1, marketDataProps.reconnectBackoffMillis());
+        long backoff = Math.min(marketDataProps.reconnectMaxBackoffMillis(), base << Math.min(attempts, 20));
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private void resubscribe(String symbol) {
+        List<StreamHandle> streams = subscriptions.remove(symbol);
+        if (streams != null) {
+            streams.forEach(StreamHandle::close);
+        }
+        orderBooks.invalidate(symbol);
+        try {
+            openStreams(symbol);
+        } catch (Exception e) {
+            log.warn("{}: resubscribe failed: {}", symbol, e.getMessage());
+        }
+    }
 
-        log.info("WebSocket streams started for symbols: {}", symbols);
+    private synchronized void subscribe(String symbol) {
+        String upper = symbol.toUpperCase();
+        if (!running || subscriptions.containsKey(upper)) {
+            return;
+        }
+        health.put(upper, new StreamHealth(upper, System.currentTimeMillis()));
+        openStreams(upper);
+        log.info("{}: market data streams subscribed", upper);
     }
 
-    private void subscribeMiniTicker(String symbol) {
+    private void openStreams(String upper) {
+        String sym = upper.toLowerCase();
+        StreamHealth h = health.get(upper);
+        List<StreamHandle> streams = new ArrayList<>(3);
+        streams.add(subscribeMiniTicker(sym, h));
+        streams.add(subscribeTrades(sym, h));
+        if (orderBooks.isEnabled()) {
+            streams.add(subscribeDepth(sym, h));
+        }
+        subscriptions.put(upper, List.copyOf(streams));
+    }
+
+    /**
+     * Close a symbol's streams and drop its cached price so nothing downstream
+     * acts on it any more.
+     */
+    private synchronized void unsubscribe(String symbol) {
+        String upper = symbol.toUpperCase();
+        List<StreamHandle> streams = subscriptions.remove(upper);
+        if (streams != null) {
+            streams.forEach(StreamHandle::close);
+            log.info("{}: market data streams stopped", upper);
+        }
+        health.remove(upper);
+        latestPrices.remove(upper);
+        orderBooks.remove(upper);
+    }
+
+    private StreamHandle subscribeMiniTicker(String symbol, StreamHealth h) {
         MiniTickerRequest request = new MiniTickerRequest();
         request.setSymbol(symbol);
         StreamBlockingQueueWrapper<MiniTickerResponse> queue = wsStreams.miniTicker(request);
 
+        String upperSymbol = symbol.toUpperCase();
         Thread poller = Thread.ofVirtual().name("ws-ticker-" + symbol).start(() -> {
             log.debug("Mini ticker polling started for {}", symbol);
             while (running) {
                 try {
                     MiniTickerResponse event = queue.take();
-                    PriceUpdate update = new PriceUpdate(
-                            symbol.toUpperCase(),
-                            new BigDecimal(event.getcLowerCase()),        // close price
-                            new BigDecimal(event.getvLowerCase()),        // base asset volume
-                            new BigDecimal(event.getcLowerCase()).subtract(new BigDecimal(event.getoLowerCase())),  // price change (close - open)
-                            Instant.ofEpochMilli(event.getE())           // event time
+                    long close = FixedDecimal.parse(event.getcLowerCase());  // close price
+                    long open = FixedDecimal.parse(event.getoLowerCase());   // open price
+                    MarketTick tick = new MarketTick(
+                            upperSymbol,
+                            close,
+                            FixedDecimal.parseSaturated(event.getvLowerCase()), // base asset volume
+                            FixedDecimal.subtract(close, open),                 // price change (close - open)
+                            event.getE()                                        // event time
                     );
-                    latestPrices.put(symbol.toUpperCase(), update);
-                    notifyListeners(update);
+                    h.onPrice(tick.eventTimeMillis());
+                    latestPrices.put(upperSymbol, tick);
+                    notifyListeners(tick);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
@@ -94,10 +384,10 @@ public class MarketDataStreamService {
                 }
             }
         });
-        pollingThreads.add(poller);
+        return new StreamHandle(symbol + "@miniTicker", queue, poller);
     }
 
-    private void subscribeTrades(String symbol) {
+    private StreamHandle subscribeTrades(String symbol, StreamHealth h) {
         TradeRequest request = new TradeRequest();
         request.setSymbol(symbol);
         StreamBlockingQueueWrapper<TradeResponse> queue = wsStreams.trade(request);
@@ -107,6 +397,7 @@ public class MarketDataStreamService {
             while (running) {
                 try {
                     TradeResponse event = queue.take();
+                    h.onEvent(event.getE());                        // event time
                     log.trace("Trade {} {} price={} qty={}",
                             symbol, event.getmLowerCase() ? "SELL" : "BUY",  // m = buyer is maker
                             event.getpLowerCase(), event.getqLowerCase());   // p = price, q = quantity
@@ -118,25 +409,78 @@ public class MarketDataStreamService {
                 }
             }
         });
-        pollingThreads.add(poller);
+        return new StreamHandle(symbol + "@trade", queue, poller);
+    }
+
+    private StreamHandle subscribeDepth(String symbol, StreamHealth h) {
+        DiffBookDepthRequest request = new DiffBookDepthRequest();
+        request.setSymbol(symbol);
+        request.setUpdateSpeed("100ms");
+        StreamBlockingQueueWrapper<DiffBookDepthResponse> queue = wsStreams.diffBookDepth(request);
+
+        String upperSymbol = symbol.toUpperCase();
+        Thread poller = Thread.ofVirtual().name("ws-depth-" + symbol).start(() -> {
+            log.debug("Depth stream polling started for {}", symbol);
+            while (running) {
+                try {
+                    DiffBookDepthResponse event = queue.take();
+                    h.onEvent(event.getE());                                // event time
+                    orderBooks.onDepthUpdate(upperSymbol,
+                            event.getU(),                                   // U = first update id
+                            event.getuLowerCase(),                          // u = final update id
+                            flatLevels(event.getbLowerCase()),              // b = bid changes
+                            flatLevels(event.getaLowerCase()));             // a = ask changes
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.error("Error processing depth update for {}: {}", symbol, e.getMessage());
+                }
+            }
+        });
+        return new StreamHandle(symbol + "@depth@100ms", queue, poller);
+    }
+
+    // [[price, qty], ...] -> [price, qty, ...] in fixed point; quantities of high-supply tokens saturate
+    private static long[] flatLevels(List<List<String>> levels) {
+        if (levels == null) {
+            return new long[0];
+        }
+        long[] flat = new long[levels.size() * 2];
+        for (int i = 0; i < levels.size(); i++) {
+            List<String> level = levels.get(i);
+            flat[2 * i] = FixedDecimal.parse(level.get(0));
+            flat[2 * i + 1] = FixedDecimal.parseSaturated(level.get(1));
+        }
+        return flat;
+    }
+
+    /**
+     * Latest tick for a symbol in fixed-point form, for the trading hot path.
+     */
+    public MarketTick getLatestTick(String symbol) {
+        return latestPrices.get(symbol);
     }
 
     public PriceUpdate getLatestPrice(String symbol) {
-        return latestPrices.get(symbol.toUpperCase());
+        MarketTick tick = latestPrices.get(symbol.toUpperCase());
+        return tick != null ? tick.toPriceUpdate() : null;
     }
 
     public Collection<PriceUpdate> getAllLatestPrices() {
-        return latestPrices.values();
+        return latestPrices.values().stream()
+                .map(MarketTick::toPriceUpdate)
+                .toList();
     }
 
-    public void addPriceListener(Consumer<PriceUpdate> listener) {
+    public void addPriceListener(Consumer<MarketTick> listener) {
         priceListeners.add(listener);
     }
 
-    private void notifyListeners(PriceUpdate update) {
-        for (Consumer<PriceUpdate> listener : priceListeners) {
+    private void notifyListeners(MarketTick tick) {
+        for (Consumer<MarketTick> listener : priceListeners) {
             try {
-                listener.accept(update);
+                listener.accept(tick);
             } catch (Exception e) {
                 log.error("Price listener error: {}", e.getMessage());
             }
@@ -147,8 +491,8 @@ public class MarketDataStreamService {
     public void shutdown() {
         log.info("Shutting down WebSocket streams...");
         running = false;
-        for (Thread t : pollingThreads) {
-            t.interrupt();
+        for (List<StreamHandle> streams : subscriptions.values()) {
+            streams.forEach(stream -> stream.poller().interrupt());
         }
     }
 }
@@ -0,0 +1,31 @@
+package com.trading.ng.service;
+
+import com.trading.ng.dto.PriceUpdate;
+
+import java.time.Instant;
+
+import static com.trading.ng.util.FixedDecimal.toBigDecimal;
+
+/**
+ * Latest market state for one symbol with scale-8 fixed-point fields.
+ * This is what the streaming path stores and hands to listeners; it is
+ * converted to a {@link PriceUpdate} only when served over REST.
+ */
+public record MarketTick(
+        String symbol,
+        long price,
+        long volume24h,
+        long priceChange24h,
+        long eventTimeMillis
+) {
+
+    public PriceUpdate toPriceUpdate() {
+        return new PriceUpdate(
+                symbol,
+                toBigDecimal(price),
+                toBigDecimal(volume24h),
+                toBigDecimal(priceChange24h),
+                Instant.ofEpochMilli(eventTimeMillis)
+        );
+    }
+}
@@ -0,0 +1,277 @@
+package com.trading.ng.service;
+
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.util.FixedDecimal;
+
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Price levels of one symbol's order book in parallel scale-8 fixed-point
+ * arrays, one pair per side. Each side is kept sorted with its best level
+ * last, so the top of book is read in O(1) and the frequent updates near
+ * the touch only shift the few levels above them.
+ * <p>
+ * Written by a single depth-stream thread under the write lock of a
+ * {@link StampedLock}. Top-of-book reads are optimistic and only fall back to
+ * the read lock if an update interferes; walks over many levels
+ * ({@link #depthTo}, {@link #averageFillPrice}, {@link #topLevels}) take the
+ * read lock, so they wait for at most one update in progress.
+ */
+public class OrderBook {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final String symbol;
+    private final int maxLevels;
+    private final StampedLock lock = new StampedLock();
+
+    // Bids ascending and asks descending, so index count-1 is the best level of each
+    private final Side bids = new Side(true);
+    private final Side asks = new Side(false);
+    private long lastUpdateId;
+
+    private final class Side {
+        final boolean ascending;
+        long[] prices = new long[INITIAL_CAPACITY];
+        long[] quantities = new long[INITIAL_CAPACITY];
+        int count;
+
+        Side(boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        /**
+         * Index of {@code price}, or {@code -(insertion point) - 1} as in {@link Arrays#binarySearch}.
+         */
+        int find(long price) {
+            int lo = 0;
+            int hi = count - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                long p = prices[mid];
+                if (p == price) {
+                    return mid;
+                }
+                if (ascending ? p < price : p > price) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return -(lo + 1);
+        }
+
+        void set(long price, long quantity) {
+            int i = find(price);
+            if (i >= 0) {
+                if (quantity == 0) {
+                    System.arraycopy(prices, i + 1, prices, i, count - i - 1);
+                    System.arraycopy(quantities, i + 1, quantities, i, count - i - 1);
+                    count--;
+                } else {
+                    quantities[i] = quantity;
+                }
+                return;
+            }
+            if (quantity == 0) {
+                return;
+            }
+            int at = -i - 1;
+            if (count == prices.length) {
+                prices = Arrays.copyOf(prices, count * 2);
+                quantities = Arrays.copyOf(quantities, count * 2);
+            }
+            System.arraycopy(prices, at, prices, at + 1, count - at);
+            System.arraycopy(quantities, at, quantities, at + 1, count - at);
+            prices[at] = price;
+            quantities[at] = quantity;
+            count++;
+        }
+
+        /**
+         * Drop the levels furthest from the touch beyond {@code maxLevels}.
+         */
+        void trim() {
+            int excess = count - maxLevels;
+            if (excess > 0) {
+                System.arraycopy(prices, excess, prices, 0, maxLevels);
+                System.arraycopy(quantities, excess, quantities, 0, maxLevels);
+                count = maxLevels;
+            }
+        }
+    }
+
+    public OrderBook(String symbol, int maxLevels) {
+        this.symbol = symbol;
+        this.maxLevels = maxLevels;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Replace the whole book with a REST snapshot.
+     */
+    public void load(long updateId, long[] bidPrices, long[] bidQuantities, long[] askPrices, long[] askQuantities) {
+        long stamp = lock.writeLock();
+        try {
+            bids.count = 0;
+            asks.count = 0;
+            for (int i = 0; i < bidPrices.length; i++) {
+                bids.set(bidPrices[i], bidQuantities[i]);
+            }
+            for (int i = 0; i < askPrices.length; i++) {
+                asks.set(askPrices[i], askQuantities[i]);
+            }
+            lastUpdateId = updateId;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Apply one diff event; a zero quantity removes the level.
+     * Levels are given as flat {@code [price, quantity, price, quantity, ...]} arrays.
+     */
+    public void apply(long updateId, long[] bidLevels, long[] askLevels) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i + 1 < bidLevels.length; i += 2) {
+                bids.set(bidLevels[i], bidLevels[i + 1]);
+            }
+            for (int i = 0; i + 1 < askLevels.length; i += 2) {
+                asks.set(askLevels[i], askLevels[i + 1]);
+            }
+            bids.trim();
+            asks.trim();
+            lastUpdateId = updateId;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public long getLastUpdateId() {
+        long stamp = lock.tryOptimisticRead();
+        long id = lastUpdateId;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = lastUpdateId;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Best bid price, or 0 if the side is empty.
+     */
+    public long bestBid() {
+        return best(bids);
+    }
+
+    /**
+     * Best ask price, or 0 if the side is empty.
+     */
+    public long bestAsk() {
+        return best(asks);
+    }
+
+    private long best(Side side) {
+        long stamp = lock.tryOptimisticRead();
+        long price = bestUnlocked(side);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                price = bestUnlocked(side);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return price;
+    }
+
+    private static long bestUnlocked(Side side) {
+        int count = side.count;
+        long[] prices = side.prices;
+        // count and prices may be torn under an optimistic read; validate() discards the result then
+        return count > 0 && count <= prices.length ? prices[count - 1] : 0;
+    }
+
+    /**
+     * Quantity available on the side a {@code side} order would take from,
+     * from the touch up to and including {@code limitPrice}.
+     */
+    public long depthTo(OrderSide side, long limitPrice) {
+        long stamp = lock.readLock();
+        try {
+            Side book = side == OrderSide.BUY ? asks : bids;
+            long total = 0;
+            for (int i = book.count - 1; i >= 0; i--) {
+                long price = book.prices[i];
+                if (side == OrderSide.BUY ? price > limitPrice : price < limitPrice) {
+                    break;
+                }
+                if (total > Long.MAX_VALUE - book.quantities[i]) {
+                    // Saturated quantities of high-supply tokens
+                    return Long.MAX_VALUE;
+                }
+                total += book.quantities[i];
+            }
+            return total;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Average price a {@code side} market order of {@code quantity} would fill at,
+     * walking the opposite side from the touch.
+     *
+     * @return the average price, or 0 if the book is not deep enough
+     */
+    public long averageFillPrice(OrderSide side, long quantity) {
+        long stamp = lock.readLock();
+        try {
+            Side book = side == OrderSide.BUY ? asks : bids;
+            long remaining = quantity;
+            long notional = 0;
+            for (int i = book.count - 1; i >= 0 && remaining > 0; i--) {
+                long taken = Math.min(remaining, book.quantities[i]);
+                notional = FixedDecimal.add(notional, FixedDecimal.multiply(taken, book.prices[i], RoundingMode.HALF_EVEN));
+                remaining -= taken;
+            }
+            if (remaining > 0 || quantity <= 0) {
+                return 0;
+            }
+            return FixedDecimal.divide(notional, quantity, RoundingMode.HALF_EVEN);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Top {@code levels} levels of the bids ({@code BUY}) or asks ({@code SELL}),
+     * best first, as flat {@code [price, quantity, ...]}.
+     */
+    public long[] topLevels(OrderSide side, int levels) {
+        long stamp = lock.readLock();
+        try {
+            Side book = side == OrderSide.BUY ? bids : asks;
+            int n = Math.min(levels, book.count);
+            long[] result = new long[n * 2];
+            for (int i = 0; i < n; i++) {
+                int at = book.count - 1 - i;
+                result[2 * i] = book.prices[at];
+                result[2 * i + 1] = book.quantities[at];
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
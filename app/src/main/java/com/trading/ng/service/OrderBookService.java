@@ -0,0 +1,215 @@
+package com.trading.ng.service;
+
+import com.binance.connector.client.common.ApiException;
+import com.binance.connector.client.spot.rest.api.SpotRestApi;
+import com.binance.connector.client.spot.rest.model.DepthResponse;
+import com.trading.ng.config.MarketDataProperties;
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.dto.OrderBookResponse;
+import com.trading.ng.dto.PriceLevel;
+import com.trading.ng.dto.SlippageEstimate;
+import com.trading.ng.util.FixedDecimal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local order books kept in sync with the exchange the way Binance documents
+ * it: diff-depth events are applied on top of a REST depth snapshot, the
+ * first event must straddle the snapshot's {@code lastUpdateId}, and every
+ * later event must start right after the previous one ended. A gap, or a
+ * stream restart, throws the book away and resyncs it from a new snapshot.
+ * <p>
+ * Each book is only written by its symbol's depth-stream thread, which also
+ * fetches the snapshots; events arriving meanwhile wait in the stream queue.
+ */
+@Service
+public class OrderBookService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBookService.class);
+    private static final long SNAPSHOT_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_SNAPSHOT_BACKOFF_MILLIS = 30_000;
+    private static final long BPS = 10_000 * FixedDecimal.ONE;
+
+    private final SpotRestApi spotRestApi;
+    private final RestCallScheduler scheduler;
+    private final MarketDataProperties.OrderBook props;
+
+    private final Map<String, BookState> books = new ConcurrentHashMap<>();
+
+    private static final class BookState {
+        final OrderBook book;
+        volatile boolean synced;
+        // Depth thread only
+        int snapshotFailures;
+        long nextSnapshotMillis;
+
+        BookState(OrderBook book) {
+            this.book = book;
+        }
+    }
+
+    public OrderBookService(SpotRestApi spotRestApi, RestCallScheduler scheduler, MarketDataProperties props) {
+        this.spotRestApi = spotRestApi;
+        this.scheduler = scheduler;
+        this.props = props.orderBook() != null ? props.orderBook() : new MarketDataProperties.OrderBook(false, 0, 0);
+    }
+
+    public boolean isEnabled() {
+        return props.enabled();
+    }
+
+    /**
+     * Apply one diff-depth event; called on the symbol's depth-stream thread.
+     * Levels are flat {@code [price, quantity, ...]} fixed-point arrays.
+     */
+    void onDepthUpdate(String symbol, long firstUpdateId, long finalUpdateId, long[] bids, long[] asks) {
+        BookState state = books.computeIfAbsent(symbol,
+                s -> new BookState(new OrderBook(s, Math.max(props.maxLevels(), props.snapshotLimit()))));
+        if (!state.synced && !loadSnapshot(state)) {
+            return;
+        }
+        long last = state.book.getLastUpdateId();
+        if (finalUpdateId <= last) {
+            return;     // already contained in the snapshot
+        }
+        if (firstUpdateId > last + 1) {
+            log.warn("{}: depth events {}..{} do not follow {}, resyncing order book",
+                    symbol, firstUpdateId, finalUpdateId, last);
+            state.synced = false;
+            return;
+        }
+        state.book.apply(finalUpdateId, bids, asks);
+    }
+
+    /**
+     * Continuity of the stream was lost (e.g. it was resubscribed); resync on the next event.
+     */
+    void invalidate(String symbol) {
+        BookState state = books.get(symbol);
+        if (state != null) {
+            state.synced = false;
+        }
+    }
+
+    void remove(String symbol) {
+        books.remove(symbol);
+    }
+
+    private boolean loadSnapshot(BookState state) {
+        long now = System.currentTimeMillis();
+        if (now < state.nextSnapshotMillis) {
+            return false;
+        }
+        String symbol = state.book.getSymbol();
+        try {
+            DepthResponse depth = scheduler.execute(RestPriority.READ, depthWeight(props.snapshotLimit()),
+                    () -> spotRestApi.depth(symbol, props.snapshotLimit())).getData();
+            state.book.load(depth.getLastUpdateId(),
+                    prices(depth.getBids()), quantities(depth.getBids()),
+                    prices(depth.getAsks()), quantities(depth.getAsks()));
+            state.synced = true;
+            state.snapshotFailures = 0;
+            log.info("{}: order book synced at update {}", symbol, depth.getLastUpdateId());
+            return true;
+        } catch (ApiException e) {
+            log.warn("{}: depth snapshot failed: {} (code={})", symbol, e.getMessage(), e.getCode());
+        } catch (Exception e) {
+            log.warn("{}: depth snapshot failed: {}", symbol, e.getMessage());
+        }
+        state.snapshotFailures++;
+        state.nextSnapshotMillis = now + Math.min(MAX_SNAPSHOT_BACKOFF_MILLIS,
+                SNAPSHOT_BACKOFF_MILLIS << Math.min(state.snapshotFailures, 5));
+        return false;
+    }
+
+    // Request weight of GET /api/v3/depth by limit
+    private static int depthWeight(int limit) {
+        if (limit <= 100) {
+            return 5;
+        }
+        if (limit <= 500) {
+            return 25;
+        }
+        return limit <= 1000 ? 50 : 250;
+    }
+
+    private static long[] prices(List<List<String>> levels) {
+        long[] result = new long[levels.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = FixedDecimal.parse(levels.get(i).get(0));
+        }
+        return result;
+    }
+
+    private static long[] quantities(List<List<String>> levels) {
+        long[] result = new long[levels.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = FixedDecimal.parseSaturated(levels.get(i).get(1));
+        }
+        return result;
+    }
+
+    /**
+     * The symbol's book, or {@code null} while it is not in sync.
+     */
+    public OrderBook getBook(String symbol) {
+        BookState state = books.get(symbol.toUpperCase());
+        return state != null && state.synced ? state.book : null;
+    }
+
+    public OrderBookResponse getSnapshot(String symbol, int levels) {
+        OrderBook book = getBook(symbol);
+        if (book == null) {
+            return null;
+        }
+        long bestBid = book.bestBid();
+        long bestAsk = book.bestAsk();
+        return new OrderBookResponse(
+                book.getSymbol(),
+                book.getLastUpdateId(),
+                FixedDecimal.toBigDecimal(bestBid),
+                FixedDecimal.toBigDecimal(bestAsk),
+                bestBid > 0 && bestAsk > 0 ? FixedDecimal.toBigDecimal(bestAsk - bestBid) : null,
+                toLevels(book.topLevels(OrderSide.BUY, levels)),
+                toLevels(book.topLevels(OrderSide.SELL, levels))
+        );
+    }
+
+    private static List<PriceLevel> toLevels(long[] flat) {
+        List<PriceLevel> levels = new ArrayList<>(flat.length / 2);
+        for (int i = 0; i + 1 < flat.length; i += 2) {
+            levels.add(new PriceLevel(FixedDecimal.toBigDecimal(flat[i]), FixedDecimal.toBigDecimal(flat[i + 1])));
+        }
+        return levels;
+    }
+
+    /**
+     * Expected fill of a market order of {@code quantity} against the current book.
+     */
+    public SlippageEstimate estimateSlippage(String symbol, OrderSide side, BigDecimal quantity) {
+        OrderBook book = getBook(symbol);
+        if (book == null) {
+            return null;
+        }
+        long qty = FixedDecimal.fromBigDecimal(quantity);
+        long best = side == OrderSide.BUY ? book.bestAsk() : book.bestBid();
+        long average = book.averageFillPrice(side, qty);
+        BigDecimal slippageBps = null;
+        if (best > 0 && average > 0) {
+            long diff = side == OrderSide.BUY ? average - best : best - average;
+            slippageBps = FixedDecimal.toBigDecimal(
+                    FixedDecimal.divide(FixedDecimal.multiply(diff, BPS, RoundingMode.HALF_EVEN), best,
+                            RoundingMode.HALF_EVEN));
+        }
+        return new SlippageEstimate(book.getSymbol(), side, quantity, FixedDecimal.toBigDecimal(best),
+                average > 0 ? FixedDecimal.toBigDecimal(average) : null, slippageBps, average > 0);
+    }
+}
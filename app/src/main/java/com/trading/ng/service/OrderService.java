@@ -1,173 +1,222 @@
 package com.trading.ng.service;
 
-import com.binance.connector.client.common.ApiException;
-import com.binance.connector.client.common.ApiResponse;
-import com.binance.connector.client.spot.rest.api.SpotRestApi;
-import com.binance.connector.client.spot.rest.model.NewOrderRequest;
-import com.binance.connector.client.spot.rest.model.NewOrderResponse;
-import com.binance.connector.client.spot.rest.model.GetOrderResponse;
-import com.binance.connector.client.spot.rest.model.GetOpenOrdersResponse;
-import com.binance.connector.client.spot.rest.model.DeleteOrderResponse;
-import com.binance.connector.client.spot.rest.model.Side;
-import com.binance.connector.client.spot.rest.model.TimeInForce;
-import com.trading.ng.domain.OrderSide;
 import com.trading.ng.domain.OrderStatus;
-import com.trading.ng.domain.OrderType;
 import com.trading.ng.domain.TradingOrder;
+import com.trading.ng.dto.OrderHistoryPage;
 import com.trading.ng.dto.OrderResponse;
 import com.trading.ng.dto.PlaceOrderRequest;
 import com.trading.ng.repository.TradingOrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Instant OPEN_RANGE_END = Instant.parse("9999-12-31T23:59:59Z");
 
-    private final SpotRestApi spotRestApi;
+    private final ExchangeClient exchangeClient;
     private final TradingOrderRepository orderRepo;
-
-    public OrderService(SpotRestApi spotRestApi, TradingOrderRepository orderRepo) {
-        this.spotRestApi = spotRestApi;
+    private final RiskEngine riskEngine;
+    private final SymbolFilterCache filterCache;
+    private final OrderStateService orderState;
+
+    public OrderService(
+            ExchangeClient exchangeClient,
+            TradingOrderRepository orderRepo,
+            RiskEngine riskEngine,
+            SymbolFilterCache filterCache,
+            OrderStateService orderState) {
+        this.exchangeClient = exchangeClient;
         this.orderRepo = orderRepo;
+        this.riskEngine = riskEngine;
+        this.filterCache = filterCache;
+        this.orderState = orderState;
     }
 
     @Transactional
     public OrderResponse placeOrder(PlaceOrderRequest req) {
+        return placeOrder(req, null);
+    }
+
+    /**
+     * Place an order as a child slice of a parent order.
+     *
+     * @param parentOrderId local id of the parent order, or {@code null} for a standalone order
+     */
+    @Transactional
+    public OrderResponse placeOrder(PlaceOrderRequest req, Long parentOrderId) {
+        req = filterCache.normalize(req);
         log.info("Placing order: {} {} {} qty={} price={}",
                 req.symbol(), req.side(), req.type(), req.quantity(), req.price());
 
+        long reserved = riskEngine.check(req);
+        ExchangeOrder placed;
         try {
-            NewOrderRequest binanceReq = new NewOrderRequest();
-            binanceReq.setSymbol(req.symbol());
-            binanceReq.setSide(toSide(req.side()));
-            binanceReq.setType(toType(req.type()));
-            binanceReq.setQuantity(req.quantity().doubleValue());
-            if (req.price() != null) {
-                binanceReq.setPrice(req.price().doubleValue());
-            }
-            if (req.timeInForce() != null) {
-                binanceReq.setTimeInForce(TimeInForce.fromValue(req.timeInForce()));
-            }
-            if (req.stopPrice() != null) {
-                binanceReq.setStopPrice(req.stopPrice().doubleValue());
-            }
-
-            ApiResponse<NewOrderResponse> response = spotRestApi.newOrder(binanceReq);
-            NewOrderResponse data = response.getData();
-
-            TradingOrder order = new TradingOrder();
-            order.setSymbol(req.symbol());
-            order.setBinanceOrderId(data.getOrderId());
-            order.setClientOrderId(data.getClientOrderId());
-            order.setSide(req.side());
-            order.setType(req.type());
-            order.setStatus(OrderStatus.valueOf(data.getStatus()));
-            order.setPrice(req.price());
-            order.setQuantity(req.quantity());
-            order.setExecutedQty(new BigDecimal(data.getExecutedQty()));
+            placed = exchangeClient.placeOrder(req);
+        } catch (RuntimeException e) {
+            riskEngine.release(req.symbol(), reserved);
+            throw e;
+        }
 
+        TradingOrder order = new TradingOrder();
+        order.setSymbol(req.symbol());
+        order.setBinanceOrderId(placed.orderId());
+        order.setClientOrderId(placed.clientOrderId());
+        order.setSide(req.side());
+        order.setType(req.type());
+        order.setStatus(placed.status());
+        order.setPrice(req.price());
+        order.setQuantity(req.quantity());
+        order.setExecutedQty(placed.executedQty());
+        order.setParentOrderId(parentOrderId);
+
+        order = orderRepo.save(order);
+        riskEngine.bind(placed.orderId(), req.symbol(), reserved, req.quantity());
+        // Update events may have overtaken the REST response
+        OrderResponse current = orderState.track(toResponse(order));
+        if (current.status() != order.getStatus()) {
+            order.setStatus(current.status());
+            order.setExecutedQty(current.executedQty());
             order = orderRepo.save(order);
-            log.info("Order placed: binanceOrderId={}, status={}",
-                    data.getOrderId(), data.getStatus());
-            return toResponse(order);
-
-        } catch (ApiException e) {
-            log.error("Binance API error placing order: {} (code={})", e.getMessage(), e.getCode());
-            throw new RuntimeException("Failed to place order: " + e.getMessage(), e);
+            current = toResponse(order);
         }
+        // An order already done when bound never sees another update to settle it
+        riskEngine.settle(placed.orderId(), current.status(), current.executedQty());
+        log.info("Order placed: binanceOrderId={}, status={}",
+                placed.orderId(), current.status());
+        return current;
     }
 
     @Transactional
     public OrderResponse cancelOrder(String symbol, Long binanceOrderId) {
         log.info("Cancelling order: symbol={}, orderId={}", symbol, binanceOrderId);
 
-        try {
-            ApiResponse<DeleteOrderResponse> response =
-                    spotRestApi.deleteOrder(symbol, binanceOrderId, null, null, null, null);
-
-            orderRepo.findByBinanceOrderId(binanceOrderId).ifPresent(order -> {
-                order.setStatus(OrderStatus.CANCELED);
-                orderRepo.save(order);
-            });
-
-            TradingOrder order = orderRepo.findByBinanceOrderId(binanceOrderId).orElse(null);
-            return order != null ? toResponse(order) : null;
+        exchangeClient.cancelOrder(symbol, binanceOrderId);
 
-        } catch (ApiException e) {
-            log.error("Binance API error cancelling order: {}", e.getMessage());
-            throw new RuntimeException("Failed to cancel order: " + e.getMessage(), e);
+        TradingOrder order = orderRepo.findByBinanceOrderId(binanceOrderId).orElse(null);
+        if (order == null) {
+            return null;
         }
+        order.setStatus(OrderStatus.CANCELED);
+        order = orderRepo.save(order);
+        OrderResponse current = orderState.track(toResponse(order));
+        riskEngine.settle(binanceOrderId, current.status(), current.executedQty());
+        return current;
     }
 
+    /**
+     * Answered from the order state cache when the order is tracked; falls
+     * back to the exchange and the database otherwise.
+     */
     public OrderResponse getOrder(String symbol, Long binanceOrderId) {
-        try {
-            ApiResponse<GetOrderResponse> response =
-                    spotRestApi.getOrder(symbol, binanceOrderId, null, null);
-            GetOrderResponse data = response.getData();
-
-            return orderRepo.findByBinanceOrderId(binanceOrderId)
-                    .map(this::toResponse)
-                    .orElseGet(() -> new OrderResponse(
-                            null,
-                            data.getOrderId(),
-                            data.getSymbol(),
-                            OrderSide.valueOf(data.getSide()),
-                            OrderType.valueOf(data.getType()),
-                            OrderStatus.valueOf(data.getStatus()),
-                            new BigDecimal(data.getPrice()),
-                            new BigDecimal(data.getOrigQty()),
-                            new BigDecimal(data.getExecutedQty()),
-                            null, null
-                    ));
-        } catch (ApiException e) {
-            log.error("Binance API error getting order: {}", e.getMessage());
-            throw new RuntimeException("Failed to get order: " + e.getMessage(), e);
+        OrderResponse cached = orderState.get(binanceOrderId);
+        if (cached != null && cached.symbol().equalsIgnoreCase(symbol)) {
+            return cached;
         }
+        ExchangeOrder data = exchangeClient.getOrder(symbol, binanceOrderId);
+
+        return orderRepo.findByBinanceOrderId(binanceOrderId)
+                .map(OrderService::toResponse)
+                .orElseGet(() -> new OrderResponse(
+                        null,
+                        data.orderId(),
+                        data.symbol(),
+                        data.side(),
+                        data.type(),
+                        data.status(),
+                        data.price(),
+                        data.origQty(),
+                        data.executedQty(),
+                        null, null, null
+                ));
     }
 
     public List<OrderResponse> getOpenOrders(String symbol) {
-        try {
-            ApiResponse<GetOpenOrdersResponse> response =
-                    spotRestApi.getOpenOrders(symbol, null);
-            // Sync with local DB
-            return orderRepo.findBySymbolAndStatusOrderByCreatedAtDesc(symbol, OrderStatus.NEW)
-                    .stream()
-                    .map(this::toResponse)
-                    .toList();
-        } catch (ApiException e) {
-            log.error("Binance API error getting open orders: {}", e.getMessage());
-            throw new RuntimeException("Failed to get open orders: " + e.getMessage(), e);
+        return orderState.getOpenOrders(symbol);
+    }
+
+    /**
+     * One page of order history, newest first, using keyset pagination on
+     * {@code (createdAt, id)} so deep pages cost the same as the first one.
+     *
+     * @param from   inclusive lower bound on {@code createdAt}, or {@code null}
+     * @param to     exclusive upper bound on {@code createdAt}, or {@code null}
+     * @param cursor {@link OrderHistoryPage#nextCursor()} of the previous page, or {@code null}
+     */
+    public OrderHistoryPage getOrderHistory(String symbol, Instant from, Instant to, String cursor, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Instant rangeFrom = from != null ? from : Instant.EPOCH;
+        Instant rangeTo = to != null ? to : OPEN_RANGE_END;
+        // Fetch one extra row to learn whether another page exists
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<OrderResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderRepo.findHistoryPage(symbol, rangeFrom, rangeTo, fetch);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = orderRepo.findHistoryPageAfter(symbol, rangeFrom, rangeTo, after.createdAt(), after.id(), fetch);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new OrderHistoryPage(rows, null);
         }
+        List<OrderResponse> page = List.copyOf(rows.subList(0, pageSize));
+        OrderResponse last = page.getLast();
+        return new OrderHistoryPage(page, new HistoryCursor(last.createdAt(), last.id()).encode());
     }
 
-    public List<OrderResponse> getOrderHistory(String symbol) {
-        return orderRepo.findBySymbolOrderByCreatedAtDesc(symbol)
-                .stream()
-                .map(this::toResponse)
-                .toList();
+    /**
+     * Feed every order in the range to {@code sink}, newest first, straight
+     * from a database cursor so memory stays flat regardless of history size.
+     */
+    @Transactional(readOnly = true)
+    public void streamOrderHistory(String symbol, Instant from, Instant to, Consumer<OrderResponse> sink) {
+        try (Stream<OrderResponse> rows = orderRepo.streamHistory(
+                symbol, from != null ? from : Instant.EPOCH, to != null ? to : OPEN_RANGE_END)) {
+            rows.forEach(sink);
+        }
+    }
+
+    /**
+     * Position after the last row of a history page, encoded as an opaque URL-safe token.
+     */
+    private record HistoryCursor(Instant createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new HistoryCursor(Instant.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid history cursor: " + token, e);
+            }
+        }
     }
 
-    private OrderResponse toResponse(TradingOrder o) {
+    static OrderResponse toResponse(TradingOrder o) {
         return new OrderResponse(
                 o.getId(), o.getBinanceOrderId(), o.getSymbol(),
                 o.getSide(), o.getType(), o.getStatus(),
                 o.getPrice(), o.getQuantity(), o.getExecutedQty(),
-                o.getCreatedAt(), o.getUpdatedAt()
+                o.getCreatedAt(), o.getUpdatedAt(), o.getParentOrderId()
         );
     }
-
-    private static Side toSide(OrderSide side) {
-        return Side.fromValue(side.name());
-    }
-
-    private static com.binance.connector.client.spot.rest.model.OrderType toType(OrderType type) {
-        return com.binance.connector.client.spot.rest.model.OrderType.fromValue(type.name());
-    }
 }
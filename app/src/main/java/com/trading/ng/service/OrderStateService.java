@@ -0,0 +1,210 @@
+package com.trading.ng.service;
+
+import com.trading.ng.domain.OrderStatus;
+import com.trading.ng.domain.TradingOrder;
+import com.trading.ng.dto.OrderResponse;
+import com.trading.ng.repository.TradingOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory order state, kept current by the exchange's order update events
+ * (the user data stream's executionReports in LIVE mode) and written through
+ * to {@link TradingOrder}. A periodic reconcile against the exchange's open
+ * orders repairs anything missed while the stream was down.
+ * <p>
+ * Updates go through a small state machine: terminal states absorb, and
+ * events that would move an order backwards (fewer executed, earlier status)
+ * are dropped, so late or duplicated events cannot regress an order.
+ */
+@Service
+public class OrderStateService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStateService.class);
+    private static final Set<OrderStatus> OPEN =
+            EnumSet.of(OrderStatus.NEW, OrderStatus.PARTIALLY_FILLED, OrderStatus.PENDING_CANCEL);
+    // Closed orders stay queryable from memory this long after their last update
+    private static final Duration CLOSED_RETENTION = Duration.ofHours(1);
+
+    private final ExchangeClient exchangeClient;
+    private final TradingOrderRepository orderRepo;
+    private final RiskEngine riskEngine;
+
+    private final Map<Long, OrderResponse> orders = new ConcurrentHashMap<>();
+
+    public OrderStateService(ExchangeClient exchangeClient, TradingOrderRepository orderRepo, RiskEngine riskEngine) {
+        this.exchangeClient = exchangeClient;
+        this.orderRepo = orderRepo;
+        this.riskEngine = riskEngine;
+        exchangeClient.addOrderUpdateListener(this::onOrderUpdate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenOrders() {
+        for (TradingOrder order : orderRepo.findByStatusInAndBinanceOrderIdIsNotNull(OPEN)) {
+            orders.putIfAbsent(order.getBinanceOrderId(), toResponse(order));
+        }
+        log.info("Order state cache loaded with {} open orders", orders.size());
+        reconcile();
+    }
+
+    public static boolean isOpen(OrderStatus status) {
+        return OPEN.contains(status);
+    }
+
+    /**
+     * Start tracking an order that was just placed and saved. If its update
+     * events overtook the REST response, the returned state is the newer one.
+     */
+    public OrderResponse track(OrderResponse placed) {
+        return orders.merge(placed.binanceOrderId(), placed, (seen, p) -> newer(p, seen) == p
+                ? p
+                : withState(p, seen.status(), seen.executedQty(), seen.updatedAt()));
+    }
+
+    public OrderResponse get(long binanceOrderId) {
+        return orders.get(binanceOrderId);
+    }
+
+    /**
+     * Open orders for a symbol (all symbols if {@code null}), newest first.
+     */
+    public List<OrderResponse> getOpenOrders(String symbol) {
+        return orders.values().stream()
+                .filter(o -> isOpen(o.status()))
+                .filter(o -> symbol == null || symbol.equalsIgnoreCase(o.symbol()))
+                .sorted(Comparator.comparing(OrderResponse::createdAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+    }
+
+    /**
+     * Apply an exchange-reported state; persisted only if it moved the order forward.
+     */
+    public void onOrderUpdate(ExchangeOrder update) {
+        Instant now = Instant.now();
+        OrderResponse[] applied = new OrderResponse[1];
+        orders.compute(update.orderId(), (id, current) -> {
+            OrderResponse next = current != null
+                    ? withState(current, update.status(), update.executedQty(), now)
+                    : fromExchange(update, now);
+            if (current != null && newer(current, next) == current) {
+                return current;
+            }
+            applied[0] = next;
+            return next;
+        });
+        if (applied[0] == null) {
+            return;
+        }
+        riskEngine.settle(update.orderId(), applied[0].status(), applied[0].executedQty());
+        try {
+            orderRepo.updateState(update.orderId(), update.status(), update.executedQty(), now);
+        } catch (Exception e) {
+            log.error("Failed to persist state of order {}: {}", update.orderId(), e.getMessage());
+        }
+        log.debug("Order {} {} → {} (executed {})", update.orderId(), update.symbol(),
+                update.status(), update.executedQty());
+    }
+
+    /**
+     * Bring cached open orders in line with the exchange: apply the state of
+     * every order it still reports open, and look up the final state of
+     * orders that closed without us seeing the event.
+     */
+    @Scheduled(fixedDelayString = "${orders.reconcile-seconds:60}000")
+    public void reconcile() {
+        try {
+            Set<Long> stillOpen = new HashSet<>();
+            for (ExchangeOrder open : exchangeClient.getOpenOrders(null)) {
+                stillOpen.add(open.orderId());
+                onOrderUpdate(open);
+            }
+            int closed = 0;
+            for (OrderResponse cached : getOpenOrders(null)) {
+                if (!stillOpen.contains(cached.binanceOrderId())) {
+                    onOrderUpdate(exchangeClient.getOrder(cached.symbol(), cached.binanceOrderId()));
+                    closed++;
+                }
+            }
+            if (closed > 0) {
+                log.info("Reconciled {} orders closed while updates were missed", closed);
+            }
+        } catch (Exception e) {
+            log.warn("Order reconcile failed: {}", e.getMessage());
+        }
+        evictClosed();
+    }
+
+    private void evictClosed() {
+        Instant cutoff = Instant.now().minus(CLOSED_RETENTION);
+        orders.values().removeIf(o -> !isOpen(o.status()) && o.updatedAt() != null && o.updatedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Whichever of two states of the same order is further along.
+     */
+    private static OrderResponse newer(OrderResponse current, OrderResponse next) {
+        if (!isOpen(current.status())) {
+            return current;
+        }
+        int executed = compareQty(next, current);
+        if (executed < 0) {
+            return current;
+        }
+        if (executed == 0 && rank(next.status()) <= rank(current.status())) {
+            return current;
+        }
+        return next;
+    }
+
+    private static int compareQty(OrderResponse a, OrderResponse b) {
+        if (a.executedQty() == null || b.executedQty() == null) {
+            return 0;
+        }
+        return a.executedQty().compareTo(b.executedQty());
+    }
+
+    private static int rank(OrderStatus status) {
+        return switch (status) {
+            case NEW -> 0;
+            case PARTIALLY_FILLED -> 1;
+            case PENDING_CANCEL -> 2;
+            case FILLED, CANCELED, REJECTED, EXPIRED -> 3;
+        };
+    }
+
+    private static OrderResponse withState(OrderResponse o, OrderStatus status, BigDecimal executedQty,
+                                           Instant updatedAt) {
+        return new OrderResponse(o.id(), o.binanceOrderId(), o.symbol(), o.side(), o.type(), status,
+                o.price(), o.quantity(), executedQty != null ? executedQty : o.executedQty(), o.createdAt(), updatedAt,
+                o.parentOrderId());
+    }
+
+    // Orders placed outside this app have no local row
+    private static OrderResponse fromExchange(ExchangeOrder o, Instant updatedAt) {
+        return new OrderResponse(null, o.orderId(), o.symbol(), o.side(), o.type(), o.status(),
+                o.price(), o.origQty(), o.executedQty(), null, updatedAt, null);
+    }
+
+    private static OrderResponse toResponse(TradingOrder o) {
+        return new OrderResponse(o.getId(), o.getBinanceOrderId(), o.getSymbol(), o.getSide(), o.getType(),
+                o.getStatus(), o.getPrice(), o.getQuantity(), o.getExecutedQty(), o.getCreatedAt(), o.getUpdatedAt(),
+                o.getParentOrderId());
+    }
+}
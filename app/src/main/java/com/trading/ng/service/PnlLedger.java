@@ -0,0 +1,248 @@
+package com.trading.ng.service;
+
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.util.FixedDecimal;
+
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * Position, cost basis and PnL of one symbol, in scale-8 fixed point of the
+ * symbol's quote asset. Fills are applied one at a time; the mark price is
+ * written on every tick and read without locking.
+ * <p>
+ * Fills may arrive late and out of trade id order (recovered by a catch-up,
+ * or replayed from the trade table), so duplicates are told apart by the ids
+ * of the last {@value #TRACKED_TRADE_IDS} applied fills rather than by the
+ * highest one. Anything at or below the oldest of them counts as applied.
+ * <p>
+ * Fees are kept apart from realized PnL: a commission taken in the base
+ * asset shrinks the bought lot (or grows the quantity sold) and its value is
+ * booked as a fee, so the cost basis only ever covers what is still held.
+ */
+public class PnlLedger {
+
+    static final int TRACKED_TRADE_IDS = 1024;
+
+    private record Lot(long quantity, long price) {
+    }
+
+    private final String symbol;
+    private final CostMethod method;
+    // Oldest first; AVERAGE keeps a single lot at the average price
+    private final Deque<Lot> lots = new ArrayDeque<>();
+    private long position;
+    private long costBasis;
+    private long realized;
+    private long fees;
+    private long lastTradeId = -1;
+    // Applied trade ids above tradeIdFloor
+    private final TreeSet<Long> recentTradeIds = new TreeSet<>();
+    private long tradeIdFloor = -1;
+    private boolean dirty;
+    private volatile long markPrice;
+
+    public PnlLedger(String symbol, CostMethod method) {
+        this.symbol = symbol;
+        this.method = method;
+    }
+
+    /**
+     * Apply one fill; fills already applied, or older than every tracked one, are ignored.
+     *
+     * @param fee      commission valued in the quote asset
+     * @param baseFee  commission charged in the base asset, 0 otherwise
+     * @return quantity sold that had no recorded lot to close (bought outside the ledger)
+     */
+    public synchronized long apply(long tradeId, OrderSide side, long price, long quantity, long fee, long baseFee) {
+        if (tradeId <= tradeIdFloor || !recentTradeIds.add(tradeId)) {
+            return 0;
+        }
+        if (recentTradeIds.size() > TRACKED_TRADE_IDS) {
+            tradeIdFloor = recentTradeIds.pollFirst();
+        }
+        lastTradeId = Math.max(lastTradeId, tradeId);
+        fees = FixedDecimal.add(fees, fee);
+        dirty = true;
+        if (side == OrderSide.BUY) {
+            buy(price, FixedDecimal.subtract(quantity, baseFee));
+            return 0;
+        }
+        long sold = FixedDecimal.add(quantity, baseFee);
+        long matched = Math.max(0, Math.min(sold, position));
+        if (matched > 0) {
+            long cost = method == CostMethod.FIFO ? closeFifo(matched) : closeAverage(matched);
+            long proceeds = FixedDecimal.multiply(matched, price, RoundingMode.HALF_EVEN);
+            realized = FixedDecimal.add(realized, FixedDecimal.subtract(proceeds, cost));
+            position = FixedDecimal.subtract(position, matched);
+            costBasis = position == 0 ? 0 : FixedDecimal.subtract(costBasis, cost);
+        }
+        return FixedDecimal.subtract(sold, matched);
+    }
+
+    private void buy(long price, long quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        costBasis = FixedDecimal.add(costBasis, FixedDecimal.multiply(quantity, price, RoundingMode.HALF_EVEN));
+        position = FixedDecimal.add(position, quantity);
+        if (method == CostMethod.FIFO) {
+            lots.addLast(new Lot(quantity, price));
+        } else {
+            lots.clear();
+            lots.addLast(new Lot(position, FixedDecimal.divide(costBasis, position, RoundingMode.HALF_EVEN)));
+        }
+    }
+
+    private long closeFifo(long quantity) {
+        long cost = 0;
+        long remaining = quantity;
+        while (remaining > 0 && !lots.isEmpty()) {
+            Lot lot = lots.pollFirst();
+            long taken = Math.min(remaining, lot.quantity());
+            cost = FixedDecimal.add(cost, FixedDecimal.multiply(taken, lot.price(), RoundingMode.HALF_EVEN));
+            if (taken < lot.quantity()) {
+                lots.addFirst(new Lot(lot.quantity() - taken, lot.price()));
+            }
+            remaining -= taken;
+        }
+        return cost;
+    }
+
+    private long closeAverage(long quantity) {
+        if (quantity == position) {
+            lots.clear();
+            return costBasis;
+        }
+        Lot lot = lots.pollFirst();
+        lots.addFirst(new Lot(lot.quantity() - quantity, lot.price()));
+        return FixedDecimal.multiply(quantity, lot.price(), RoundingMode.HALF_EVEN);
+    }
+
+    public void mark(long price) {
+        markPrice = price;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public CostMethod getMethod() {
+        return method;
+    }
+
+    public long getMarkPrice() {
+        return markPrice;
+    }
+
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    public synchronized long getCostBasis() {
+        return costBasis;
+    }
+
+    public synchronized long getRealized() {
+        return realized;
+    }
+
+    public synchronized long getFees() {
+        return fees;
+    }
+
+    /**
+     * Highest trade id applied.
+     */
+    public synchronized long getLastTradeId() {
+        return lastTradeId;
+    }
+
+    /**
+     * Every trade at or below this id counts as applied; a replay starts after it.
+     */
+    public synchronized long getTradeIdFloor() {
+        return tradeIdFloor;
+    }
+
+    /**
+     * Value of the position at the mark price minus its cost, 0 before the first tick.
+     */
+    public synchronized long getUnrealized() {
+        long mark = markPrice;
+        if (mark <= 0 || position == 0) {
+            return 0;
+        }
+        return FixedDecimal.subtract(FixedDecimal.multiply(position, mark, RoundingMode.HALF_EVEN), costBasis);
+    }
+
+    /**
+     * Whether fills were applied since the last call; clears the flag.
+     */
+    public synchronized boolean takeDirty() {
+        boolean wasDirty = dirty;
+        dirty = false;
+        return wasDirty;
+    }
+
+    /**
+     * Open lots as {@code quantity:price;...}, oldest first.
+     */
+    public synchronized String encodeLots() {
+        StringJoiner joiner = new StringJoiner(";");
+        for (Lot lot : lots) {
+            joiner.add(lot.quantity() + ":" + lot.price());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Applied trade ids above {@link #getTradeIdFloor} as {@code id,id,...}, ascending.
+     */
+    public synchronized String encodeRecentTradeIds() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (long id : recentTradeIds) {
+            joiner.add(Long.toString(id));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Restore state saved from {@link #encodeLots}, {@link #encodeRecentTradeIds}
+     * and the totals next to them. Lots saved under FIFO are merged into one when
+     * restored as AVERAGE.
+     */
+    public synchronized void restore(long position, long costBasis, long realized, long fees,
+                                     long lastTradeId, long tradeIdFloor, String encodedTradeIds,
+                                     String encodedLots) {
+        this.position = position;
+        this.costBasis = costBasis;
+        this.realized = realized;
+        this.fees = fees;
+        this.lastTradeId = lastTradeId;
+        this.tradeIdFloor = tradeIdFloor;
+        recentTradeIds.clear();
+        if (encodedTradeIds != null && !encodedTradeIds.isEmpty()) {
+            for (String id : encodedTradeIds.split(",")) {
+                recentTradeIds.add(Long.parseLong(id));
+            }
+        }
+        lots.clear();
+        if (method == CostMethod.AVERAGE) {
+            if (position > 0) {
+                lots.addLast(new Lot(position, FixedDecimal.divide(costBasis, position, RoundingMode.HALF_EVEN)));
+            }
+            return;
+        }
+        if (encodedLots != null && !encodedLots.isEmpty()) {
+            for (String lot : encodedLots.split(";")) {
+                int colon = lot.indexOf(':');
+                lots.addLast(new Lot(Long.parseLong(lot, 0, colon, 10),
+                        Long.parseLong(lot, colon + 1, lot.length(), 10)));
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.BotProperties;
+import com.trading.ng.config.PnlProperties;
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.domain.PnlSnapshot;
+import com.trading.ng.domain.Trade;
+import com.trading.ng.dto.PnlResponse;
+import com.trading.ng.repository.PnlSnapshotRepository;
+import com.trading.ng.repository.TradeRepository;
+import com.trading.ng.util.FixedDecimal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-symbol PnL ledgers, updated incrementally from the exchange's fills and
+ * the trade catch-up, and marked to market on every price tick, so PnL is
+ * never computed by scanning the trade table.
+ * <p>
+ * Ledgers are snapshotted periodically; on startup each one is restored from
+ * its snapshot and the trades stored above its trade id floor are replayed,
+ * which picks up trades stored late with lower ids. Fills that arrive while
+ * that is running are held back and applied afterwards, so they cannot
+ * overtake the replay. The ledger drops the ones it has already seen.
+ */
+@Service
+public class PnlService {
+
+    private static final Logger log = LoggerFactory.getLogger(PnlService.class);
+    private static final String MARKET_DATA_CONSUMER = "pnl";
+
+    private final TradeRepository tradeRepo;
+    private final PnlSnapshotRepository snapshotRepo;
+    private final MarketDataStreamService marketDataService;
+    private final CostMethod costMethod;
+    private final String quoteAsset;
+
+    private final Map<String, PnlLedger> ledgers = new ConcurrentHashMap<>();
+    // Fills received before the ledgers are loaded, guarded by itself
+    private final List<ExchangeFill> heldBack = new ArrayList<>();
+    // Symbols whose stream is kept for marking an open position, guarded by itself
+    private final Set<String> marked = new HashSet<>();
+    private volatile boolean loaded;
+
+    public PnlService(
+            ExchangeClient exchangeClient,
+            TradeIngestionService tradeIngestionService,
+            TradeRepository tradeRepo,
+            PnlSnapshotRepository snapshotRepo,
+            MarketDataStreamService marketDataService,
+            PnlProperties props,
+            BotProperties botProperties) {
+        this.tradeRepo = tradeRepo;
+        this.snapshotRepo = snapshotRepo;
+        this.marketDataService = marketDataService;
+        this.costMethod = props.costMethod();
+        this.quoteAsset = botProperties.quoteAsset();
+        exchangeClient.addFillListener(this::onFill);
+        tradeIngestionService.addCatchUpListener(this::onFill);
+        marketDataService.addPriceListener(this::onTick);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (PnlSnapshot snapshot : snapshotRepo.findAll()) {
+            PnlLedger ledger = ledger(snapshot.getSymbol());
+            ledger.restore(
+                    FixedDecimal.fromBigDecimal(snapshot.getPosition()),
+                    FixedDecimal.fromBigDecimal(snapshot.getCostBasis()),
+                    FixedDecimal.fromBigDecimal(snapshot.getRealizedPnl()),
+                    FixedDecimal.fromBigDecimal(snapshot.getFees()),
+                    snapshot.getLastTradeId(),
+                    snapshot.getTradeIdFloor() != null ? snapshot.getTradeIdFloor() : snapshot.getLastTradeId(),
+                    snapshot.getRecentTradeIds(),
+                    snapshot.getLots());
+        }
+        int replayed = 0;
+        for (String symbol : tradeRepo.findDistinctSymbols()) {
+            replayed += replay(ledger(symbol));
+        }
+        List<ExchangeFill> pending;
+        synchronized (heldBack) {
+            loaded = true;
+            pending = new ArrayList<>(heldBack);
+            heldBack.clear();
+        }
+        pending.stream().sorted(Comparator.comparingLong(ExchangeFill::tradeId)).forEach(this::apply);
+        ledgers.values().forEach(this::updateMarkInterest);
+        log.info("PnL ledgers loaded for {} symbols ({} trades replayed since last snapshot)",
+                ledgers.size(), replayed);
+    }
+
+    private int replay(PnlLedger ledger) {
+        int replayed = 0;
+        long after = ledger.getTradeIdFloor();
+        while (true) {
+            List<Trade> page = tradeRepo.findTop1000BySymbolAndBinanceTradeIdGreaterThanOrderByBinanceTradeIdAsc(
+                    ledger.getSymbol(), after);
+            for (Trade trade : page) {
+                apply(new ExchangeFill(trade.getBinanceTradeId(), trade.getBinanceOrderId(), trade.getSymbol(),
+                        trade.getSide(), trade.getPrice(), trade.getQuantity(), trade.getCommission(),
+                        trade.getCommissionAsset(), trade.isMaker(), trade.getTradeTime()));
+            }
+            replayed += page.size();
+            if (page.size() < 1000) {
+                return replayed;
+            }
+            after = page.getLast().getBinanceTradeId();
+        }
+    }
+
+    private void onFill(ExchangeFill fill) {
+        if (!loaded) {
+            synchronized (heldBack) {
+                if (!loaded) {
+                    heldBack.add(fill);
+                    return;
+                }
+            }
+        }
+        apply(fill);
+    }
+
+    private void apply(ExchangeFill fill) {
+        PnlLedger ledger = ledger(fill.symbol());
+        long price = FixedDecimal.fromBigDecimal(fill.price());
+        long commission = fill.commission() != null ? FixedDecimal.fromBigDecimal(fill.commission()) : 0;
+        long baseFee = 0;
+        long fee = 0;
+        if (commission > 0) {
+            String asset = fill.commissionAsset();
+            if (asset == null || asset.equalsIgnoreCase(quoteAsset)) {
+                fee = commission;
+            } else if (asset.equalsIgnoreCase(baseAssetOf(fill.symbol()))) {
+                baseFee = commission;
+                fee = FixedDecimal.multiply(commission, price, RoundingMode.HALF_EVEN);
+            } else {
+                fee = convert(commission, asset);
+            }
+        }
+        long unmatched = ledger.apply(fill.tradeId(), fill.side(), price,
+                FixedDecimal.fromBigDecimal(fill.quantity()), fee, baseFee);
+        if (loaded) {
+            updateMarkInterest(ledger);
+        }
+        if (unmatched > 0) {
+            log.warn("{}: sold {} more than the ledger holds (bought outside this account's history?)",
+                    fill.symbol(), FixedDecimal.toString(unmatched));
+        }
+    }
+
+    /**
+     * Value a commission paid in a third asset (e.g. BNB) at its latest streamed price.
+     */
+    private long convert(long commission, String asset) {
+        MarketTick tick = marketDataService.getLatestTick(asset.toUpperCase() + quoteAsset);
+        if (tick == null || tick.price() <= 0) {
+            log.warn("No {}{} price to value a {} commission; booked as 0", asset, quoteAsset, asset);
+            return 0;
+        }
+        return FixedDecimal.multiply(commission, tick.price(), RoundingMode.HALF_EVEN);
+    }
+
+    private String baseAssetOf(String symbol) {
+        return symbol.endsWith(quoteAsset) ? symbol.substring(0, symbol.length() - quoteAsset.length()) : symbol;
+    }
+
+    /**
+     * Keep the symbol streamed while the ledger holds a position to mark.
+     */
+    private void updateMarkInterest(PnlLedger ledger) {
+        String symbol = ledger.getSymbol();
+        synchronized (marked) {
+            if (ledger.getPosition() != 0) {
+                if (marked.add(symbol)) {
+                    marketDataService.subscribeSymbols(MARKET_DATA_CONSUMER, List.of(symbol));
+                }
+            } else if (marked.remove(symbol)) {
+                marketDataService.unsubscribeSymbols(MARKET_DATA_CONSUMER, List.of(symbol));
+            }
+        }
+    }
+
+    private void onTick(MarketTick tick) {
+        PnlLedger ledger = ledgers.get(tick.symbol());
+        if (ledger != null) {
+            ledger.mark(tick.price());
+        }
+    }
+
+    private PnlLedger ledger(String symbol) {
+        return ledgers.computeIfAbsent(symbol.toUpperCase(), s -> {
+            PnlLedger ledger = new PnlLedger(s, costMethod);
+            MarketTick tick = marketDataService.getLatestTick(s);
+            if (tick != null) {
+                ledger.mark(tick.price());
+            }
+            return ledger;
+        });
+    }
+
+    @Scheduled(initialDelayString = "${pnl.snapshot-seconds:60}000",
+            fixedDelayString = "${pnl.snapshot-seconds:60}000")
+    public void snapshot() {
+        if (!loaded) {
+            return;
+        }
+        List<PnlSnapshot> changed = new ArrayList<>();
+        for (PnlLedger ledger : ledgers.values()) {
+            if (ledger.takeDirty()) {
+                changed.add(toSnapshot(ledger));
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            snapshotRepo.saveAll(changed);
+            log.debug("Saved PnL snapshots for {} symbols", changed.size());
+        } catch (Exception e) {
+            log.error("Failed to save PnL snapshots: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private static PnlSnapshot toSnapshot(PnlLedger ledger) {
+        PnlSnapshot snapshot = new PnlSnapshot();
+        synchronized (ledger) {
+            snapshot.setSymbol(ledger.getSymbol());
+            snapshot.setPosition(FixedDecimal.toBigDecimal(ledger.getPosition()));
+            snapshot.setCostBasis(FixedDecimal.toBigDecimal(ledger.getCostBasis()));
+            snapshot.setRealizedPnl(FixedDecimal.toBigDecimal(ledger.getRealized()));
+            snapshot.setFees(FixedDecimal.toBigDecimal(ledger.getFees()));
+            snapshot.setLots(ledger.encodeLots());
+            snapshot.setLastTradeId(ledger.getLastTradeId());
+            snapshot.setTradeIdFloor(ledger.getTradeIdFloor());
+            snapshot.setRecentTradeIds(ledger.encodeRecentTradeIds());
+        }
+        snapshot.setUpdatedAt(Instant.now());
+        return snapshot;
+    }
+
+    public PnlResponse get(String symbol) {
+        PnlLedger ledger = ledgers.get(symbol.toUpperCase());
+        return ledger != null ? toResponse(ledger) : null;
+    }
+
+    public List<PnlResponse> getAll() {
+        return ledgers.values().stream()
+                .sorted(Comparator.comparing(PnlLedger::getSymbol))
+                .map(PnlService::toResponse)
+                .toList();
+    }
+
+    private static PnlResponse toResponse(PnlLedger ledger) {
+        synchronized (ledger) {
+            long position = ledger.getPosition();
+            long costBasis = ledger.getCostBasis();
+            long realized = ledger.getRealized();
+            long unrealized = ledger.getUnrealized();
+            long fees = ledger.getFees();
+            BigDecimal averageCost = position > 0
+                    ? FixedDecimal.toBigDecimal(FixedDecimal.divide(costBasis, position, RoundingMode.HALF_EVEN))
+                    : BigDecimal.ZERO;
+            long net = FixedDecimal.subtract(FixedDecimal.add(realized, unrealized), fees);
+            return new PnlResponse(
+                    ledger.getSymbol(),
+                    ledger.getMethod(),
+                    FixedDecimal.toBigDecimal(position),
+                    averageCost,
+                    FixedDecimal.toBigDecimal(costBasis),
+                    FixedDecimal.toBigDecimal(ledger.getMarkPrice()),
+                    FixedDecimal.toBigDecimal(realized),
+                    FixedDecimal.toBigDecimal(unrealized),
+                    FixedDecimal.toBigDecimal(fees),
+                    FixedDecimal.toBigDecimal(net),
+                    ledger.getLastTradeId()
+            );
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.BotProperties;
+import com.trading.ng.config.PortfolioProperties;
+import com.trading.ng.dto.AccountBalance;
+import com.trading.ng.dto.AssetValuation;
+import com.trading.ng.dto.PortfolioValuationResponse;
+import com.trading.ng.util.FixedDecimal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account value in the quote asset, kept current from pushed balance changes
+ * and streamed prices so it can be read at any rate without exchange traffic.
+ * <p>
+ * Each asset is priced along a route of at most two listed pairs: directly
+ * against the quote asset, or through one of {@code portfolio.bridge-assets}
+ * (e.g. ADA → USDT → EUR). Route symbols are added to the market data
+ * subscriptions. A tick only revalues the assets whose route contains its
+ * symbol and adds the difference to the running total. Balances are
+ * re-read from the exchange every {@code portfolio.balance-refresh-seconds}
+ * in case a push was missed.
+ */
+@Service
+public class PortfolioValuationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioValuationService.class);
+    private static final String MARKET_DATA_CONSUMER = "portfolio";
+
+    /**
+     * One conversion step; {@code inverse} when the pair quotes the asset we convert into.
+     */
+    private record Leg(String symbol, boolean inverse) {
+    }
+
+    private static final class AssetState {
+        final String asset;
+        // Guarded by this
+        long quantity;
+        List<Leg> route;    // null until a route is found; empty for the quote asset
+        long price;         // quote asset per unit, 0 while unpriced
+        long value;
+
+        AssetState(String asset) {
+            this.asset = asset;
+        }
+    }
+
+    private final ExchangeClient exchangeClient;
+    private final MarketDataStreamService marketDataService;
+    private final SymbolFilterCache filterCache;
+    private final List<String> bridgeAssets;
+    private final String quoteAsset;
+
+    private final Map<String, AssetState> assets = new ConcurrentHashMap<>();
+    // Route symbol -> assets priced through it
+    private final Map<String, List<AssetState>> dependents = new ConcurrentHashMap<>();
+    private final AtomicLong totalValue = new AtomicLong();
+    private volatile Instant balancesAsOf;
+
+    public PortfolioValuationService(
+            ExchangeClient exchangeClient,
+            MarketDataStreamService marketDataService,
+            SymbolFilterCache filterCache,
+            PortfolioProperties props,
+            BotProperties botProperties) {
+        this.exchangeClient = exchangeClient;
+        this.marketDataService = marketDataService;
+        this.filterCache = filterCache;
+        this.bridgeAssets = props.bridgeAssets() != null
+                ? props.bridgeAssets().stream().map(String::toUpperCase).toList()
+                : List.of();
+        this.quoteAsset = botProperties.quoteAsset().toUpperCase();
+        exchangeClient.addBalanceListener(this::onBalance);
+        marketDataService.addPriceListener(this::onTick);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refreshBalances();
+    }
+
+    /**
+     * Re-read all balances, and retry routes that could not be found before
+     * (e.g. because the exchange filters were not loaded yet).
+     */
+    @Scheduled(initialDelayString = "${portfolio.balance-refresh-seconds:300}000",
+            fixedDelayString = "${portfolio.balance-refresh-seconds:300}000")
+    public void refreshBalances() {
+        try {
+            for (AccountBalance balance : exchangeClient.getBalances()) {
+                onBalance(balance);
+            }
+            balancesAsOf = Instant.now();
+        } catch (Exception e) {
+            log.warn("Failed to refresh balances for valuation: {}", e.getMessage());
+        }
+        for (AssetState state : assets.values()) {
+            boolean unresolved;
+            synchronized (state) {
+                unresolved = state.route == null;
+            }
+            if (unresolved) {
+                resolve(state);
+            }
+        }
+    }
+
+    private void onBalance(AccountBalance balance) {
+        long quantity = FixedDecimal.fromBigDecimal(balance.free().add(balance.locked()));
+        String asset = balance.asset().toUpperCase();
+        if (quantity == 0 && !assets.containsKey(asset)) {
+            return;
+        }
+        AssetState state = assets.computeIfAbsent(asset, AssetState::new);
+        boolean unresolved;
+        synchronized (state) {
+            state.quantity = quantity;
+            unresolved = state.route == null;
+            revalue(state);
+        }
+        if (unresolved && quantity != 0) {
+            resolve(state);
+        }
+    }
+
+    private void onTick(MarketTick tick) {
+        List<AssetState> affected = dependents.get(tick.symbol());
+        if (affected == null) {
+            return;
+        }
+        for (AssetState state : affected) {
+            synchronized (state) {
+                revalue(state);
+            }
+        }
+    }
+
+    private void resolve(AssetState state) {
+        List<Leg> route = findRoute(state.asset);
+        if (route == null) {
+            log.debug("{}: no route to {} yet", state.asset, quoteAsset);
+            return;
+        }
+        synchronized (state) {
+            if (state.route != null) {
+                return;
+            }
+            state.route = route;
+            for (Leg leg : route) {
+                dependents.computeIfAbsent(leg.symbol(), s -> new CopyOnWriteArrayList<>()).add(state);
+            }
+            revalue(state);
+        }
+        // Outside the asset lock: subscribing takes the market data lock
+        List<String> symbols = route.stream().map(Leg::symbol).toList();
+        if (!symbols.isEmpty()) {
+            marketDataService.subscribeSymbols(MARKET_DATA_CONSUMER, symbols);
+            log.info("{}: valued in {} via {}", state.asset, quoteAsset, symbols);
+        }
+    }
+
+    private List<Leg> findRoute(String asset) {
+        if (asset.equals(quoteAsset)) {
+            return List.of();
+        }
+        Leg direct = leg(asset, quoteAsset);
+        if (direct != null) {
+            return List.of(direct);
+        }
+        for (String bridge : bridgeAssets) {
+            if (bridge.equals(asset) || bridge.equals(quoteAsset)) {
+                continue;
+            }
+            Leg first = leg(asset, bridge);
+            Leg second = first != null ? leg(bridge, quoteAsset) : null;
+            if (second != null) {
+                return List.of(first, second);
+            }
+        }
+        return null;
+    }
+
+    private Leg leg(String from, String to) {
+        if (filterCache.isListed(from + to)) {
+            return new Leg(from + to, false);
+        }
+        if (filterCache.isListed(to + from)) {
+            return new Leg(to + from, true);
+        }
+        return null;
+    }
+
+    /**
+     * Reprice an asset along its route and move the total by the change. Caller holds the asset lock.
+     */
+    private void revalue(AssetState state) {
+        long price = state.route != null ? routePrice(state.route) : 0;
+        long value = price > 0 ? FixedDecimal.multiply(state.quantity, price, RoundingMode.HALF_EVEN) : 0;
+        totalValue.addAndGet(value - state.value);
+        state.price = price;
+        state.value = value;
+    }
+
+    private long routePrice(List<Leg> route) {
+        long price = FixedDecimal.ONE;
+        for (Leg leg : route) {
+            MarketTick tick = marketDataService.getLatestTick(leg.symbol());
+            if (tick == null || tick.price() <= 0) {
+                return 0;
+            }
+            price = leg.inverse()
+                    ? FixedDecimal.divide(price, tick.price(), RoundingMode.HALF_EVEN)
+                    : FixedDecimal.multiply(price, tick.price(), RoundingMode.HALF_EVEN);
+        }
+        return price;
+    }
+
+    public PortfolioValuationResponse getValuation() {
+        List<AssetValuation> valuations = new ArrayList<>();
+        for (AssetState state : assets.values()) {
+            synchronized (state) {
+                if (state.quantity == 0) {
+                    continue;
+                }
+                valuations.add(new AssetValuation(
+                        state.asset,
+                        FixedDecimal.toBigDecimal(state.quantity),
+                        FixedDecimal.toBigDecimal(state.price),
+                        FixedDecimal.toBigDecimal(state.value),
+                        state.route != null ? state.route.stream().map(Leg::symbol).toList() : List.of(),
+                        state.price > 0
+                ));
+            }
+        }
+        valuations.sort(Comparator.comparing(AssetValuation::asset));
+        return new PortfolioValuationResponse(quoteAsset, FixedDecimal.toBigDecimal(totalValue.get()),
+                valuations, balancesAsOf);
+    }
+}
@@ -0,0 +1,82 @@
+package com.trading.ng.service;
+
+import java.util.Arrays;
+
+/**
+ * Bounded ring buffer of fixed-point close prices for one symbol.
+ * <p>
+ * Written by its sampling timer only; readers on other threads should take
+ * a {@link #snapshot()} instead of reading the live buffer.
+ */
+public class PriceHistory implements PriceSeries {
+
+    private final long[] buffer;
+    private int start;
+    private int size;
+    // Wall-clock time of the most recent sample, 0 before the first one
+    private volatile long lastSampleMillis;
+
+    public PriceHistory(int capacity) {
+        this.buffer = new long[capacity];
+    }
+
+    private PriceHistory(long[] values) {
+        this.buffer = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Append a sample taken at {@code sampleMillis}.
+     */
+    public synchronized void add(long price, long sampleMillis) {
+        add(price);
+        lastSampleMillis = sampleMillis;
+    }
+
+    public synchronized void add(long price) {
+        if (size < buffer.length) {
+            buffer[(start + size) % buffer.length] = price;
+            size++;
+        } else {
+            buffer[start] = price;
+            start = (start + 1) % buffer.length;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return buffer[(start + index) % buffer.length];
+    }
+
+    public long getLastSampleMillis() {
+        return lastSampleMillis;
+    }
+
+    public synchronized long[] toArray() {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = buffer[(start + i) % buffer.length];
+        }
+        return values;
+    }
+
+    /**
+     * Immutable copy that is safe to read from any thread.
+     */
+    public PriceHistory snapshot() {
+        return new PriceHistory(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,71 @@
+package com.trading.ng.service;
+
+import java.util.List;
+
+/**
+ * Closes of many symbols in struct-of-arrays layout for batch indicator work.
+ * <p>
+ * Row {@code t} holds sample {@code t} of every symbol side by side, so a single
+ * vector load covers consecutive symbols at one time step. Rows run oldest first;
+ * the last row is each symbol's latest sample. A symbol whose series is shorter
+ * than the matrix depth is marked incomplete and its column left at zero.
+ */
+public final class PriceMatrix {
+
+    private final int symbols;
+    private final int depth;
+    private final long[] closes;
+    private final boolean[] complete;
+
+    public PriceMatrix(int symbols, int depth) {
+        this.symbols = symbols;
+        this.depth = depth;
+        this.closes = new long[symbols * depth];
+        this.complete = new boolean[symbols];
+    }
+
+    /**
+     * Matrix of the last {@code depth} samples of each series, one column per series.
+     */
+    public static PriceMatrix of(List<? extends PriceSeries> series, int depth) {
+        PriceMatrix matrix = new PriceMatrix(series.size(), depth);
+        for (int i = 0; i < series.size(); i++) {
+            matrix.load(i, series.get(i));
+        }
+        return matrix;
+    }
+
+    /**
+     * Copy the last {@code depth} samples of {@code series} into column {@code symbol}.
+     */
+    public void load(int symbol, PriceSeries series) {
+        int size = series.size();
+        if (size < depth) {
+            complete[symbol] = false;
+            return;
+        }
+        for (int t = 0, i = size - depth; t < depth; t++, i++) {
+            closes[t * symbols + symbol] = series.get(i);
+        }
+        complete[symbol] = true;
+    }
+
+    public int symbols() {
+        return symbols;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public boolean isComplete(int symbol) {
+        return complete[symbol];
+    }
+
+    /**
+     * Backing array, row-major: sample {@code t} of symbol {@code s} is at {@code t * symbols() + s}.
+     */
+    long[] closes() {
+        return closes;
+    }
+}
@@ -0,0 +1,21 @@
+package com.trading.ng.service;
+
+/**
+ * Read-only sequence of scale-8 fixed-point prices, oldest first.
+ *
+ * @see com.trading.ng.util.FixedDecimal
+ */
+public interface PriceSeries {
+
+    int size();
+
+    /**
+     * @param index position in the series, {@code 0} being the oldest sample
+     * @return the raw scale-8 value at {@code index}
+     */
+    long get(int index);
+
+    default long getLast() {
+        return get(size() - 1);
+    }
+}
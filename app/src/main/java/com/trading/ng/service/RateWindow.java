@@ -0,0 +1,39 @@
+package com.trading.ng.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free fixed window rate limit: at most {@code limit} permits per wall-clock
+ * second. The window is packed into one long, the epoch second in the high bits and
+ * the count in the low 24, so taking a permit is a single compare-and-set.
+ */
+public class RateWindow {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLong window = new AtomicLong();
+
+    /**
+     * Take one permit from the current second.
+     *
+     * @return {@code false} if {@code limit} permits were already taken in it
+     */
+    public boolean tryAcquire(int limit) {
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long current = window.get();
+            long next;
+            if (current >>> COUNT_BITS != second) {
+                next = (second << COUNT_BITS) | 1;
+            } else if ((current & COUNT_MASK) >= limit) {
+                return false;
+            } else {
+                next = current + 1;
+            }
+            if (window.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
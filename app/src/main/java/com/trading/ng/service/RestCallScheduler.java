@@ -0,0 +1,202 @@
+package com.trading.ng.service;
+
+import com.binance.connector.client.common.ApiException;
+import com.binance.connector.client.common.ApiResponse;
+import com.trading.ng.config.RestSchedulerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Gatekeeper for every Binance REST call. Tracks request weight per minute
+ * and orders per 10 seconds, both from local accounting and from the
+ * {@code X-MBX-USED-WEIGHT-1M} / {@code X-MBX-ORDER-COUNT-10S} response headers,
+ * and only lets a call through when it fits its priority's share of the limit:
+ * <ul>
+ *     <li>{@link RestPriority#ORDER} may use the whole budget,</li>
+ *     <li>{@link RestPriority#READ} waits (up to {@code max-queue-millis}) for its share,</li>
+ *     <li>{@link RestPriority#BACKGROUND} is shed once its smaller share is used.</li>
+ * </ul>
+ * A 429 or 418 response blocks all calls for the {@code Retry-After} period
+ * instead of retrying into a ban. Identical concurrent reads can be coalesced
+ * into a single request with {@link #executeCoalesced}.
+ */
+@Service
+public class RestCallScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RestCallScheduler.class);
+    private static final long WEIGHT_WINDOW_MILLIS = 60_000;
+    private static final long ORDER_WINDOW_MILLIS = 10_000;
+    private static final long DEFAULT_BACKOFF_MILLIS = 60_000;
+
+    private final RestSchedulerProperties props;
+
+    // Window state, guarded by this
+    private long weightWindow;
+    private int usedWeight;
+    private long orderWindow;
+    private int orderCount;
+
+    private volatile long blockedUntilMillis;
+    private final Map<String, CompletableFuture<ApiResponse<?>>> inFlight = new ConcurrentHashMap<>();
+
+    public RestCallScheduler(RestSchedulerProperties props) {
+        this.props = props;
+    }
+
+    /**
+     * Run a REST call once it fits the rate budget for its priority.
+     *
+     * @param weight request weight as documented by Binance for the endpoint
+     * @throws RestThrottledException if the call was shed or could not be scheduled in time
+     */
+    public <T> ApiResponse<T> execute(RestPriority priority, int weight, Supplier<ApiResponse<T>> call) {
+        reserve(priority, weight);
+        try {
+            ApiResponse<T> response = call.get();
+            observe(response.getHeaders());
+            return response;
+        } catch (ApiException e) {
+            if (e.getCode() == 429 || e.getCode() == 418) {
+                backOff(e.getCode(), e.getResponseHeaders());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #execute}, but concurrent calls with the same {@code key}
+     * share one request and its result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ApiResponse<T> executeCoalesced(String key, RestPriority priority, int weight,
+                                               Supplier<ApiResponse<T>> call) {
+        CompletableFuture<ApiResponse<?>> mine = new CompletableFuture<>();
+        CompletableFuture<ApiResponse<?>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return (ApiResponse<T>) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            ApiResponse<T> response = execute(priority, weight, call);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void reserve(RestPriority priority, int weight) {
+        long deadline = System.currentTimeMillis() + props.maxQueueMillis();
+        while (true) {
+            long now = System.currentTimeMillis();
+            long blockedUntil = blockedUntilMillis;
+            long waitUntil;
+            if (now < blockedUntil) {
+                waitUntil = blockedUntil;
+            } else {
+                synchronized (this) {
+                    rollWindows(now);
+                    boolean weightFits = usedWeight + weight <= budget(priority);
+                    boolean orderFits = priority != RestPriority.ORDER || orderCount < props.orderLimitPerTenSeconds();
+                    if (weightFits && orderFits) {
+                        usedWeight += weight;
+                        if (priority == RestPriority.ORDER) {
+                            orderCount++;
+                        }
+                        return;
+                    }
+                    waitUntil = weightFits
+                            ? (orderWindow + 1) * ORDER_WINDOW_MILLIS
+                            : (weightWindow + 1) * WEIGHT_WINDOW_MILLIS;
+                }
+            }
+            if (priority == RestPriority.BACKGROUND || waitUntil > deadline) {
+                throw new RestThrottledException("REST call (" + priority + ", weight " + weight
+                        + ") throttled until " + waitUntil);
+            }
+            try {
+                Thread.sleep(Math.max(1, waitUntil - now));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RestThrottledException("Interrupted while waiting for REST budget");
+            }
+        }
+    }
+
+    private int budget(RestPriority priority) {
+        int limit = props.weightLimitPerMinute();
+        return switch (priority) {
+            case ORDER -> limit;
+            case READ -> limit * props.readBudgetPercent() / 100;
+            case BACKGROUND -> limit * props.backgroundBudgetPercent() / 100;
+        };
+    }
+
+    // Binance counts both limits in fixed windows aligned to the epoch
+    private void rollWindows(long now) {
+        long minute = now / WEIGHT_WINDOW_MILLIS;
+        if (minute != weightWindow) {
+            weightWindow = minute;
+            usedWeight = 0;
+        }
+        long tenSeconds = now / ORDER_WINDOW_MILLIS;
+        if (tenSeconds != orderWindow) {
+            orderWindow = tenSeconds;
+            orderCount = 0;
+        }
+    }
+
+    /**
+     * Adopt the exchange's own counters when they are ahead of ours, e.g.
+     * because another process shares the API key or IP.
+     */
+    private void observe(Map<String, List<String>> headers) {
+        if (headers == null) {
+            return;
+        }
+        int weight = headerInt(headers, "x-mbx-used-weight-1m");
+        int orders = headerInt(headers, "x-mbx-order-count-10s");
+        synchronized (this) {
+            rollWindows(System.currentTimeMillis());
+            usedWeight = Math.max(usedWeight, weight);
+            orderCount = Math.max(orderCount, orders);
+        }
+    }
+
+    private void backOff(int status, Map<String, List<String>> headers) {
+        int retryAfterSeconds = headers != null ? headerInt(headers, "retry-after") : 0;
+        long backoff = retryAfterSeconds > 0 ? retryAfterSeconds * 1000L : DEFAULT_BACKOFF_MILLIS;
+        blockedUntilMillis = Math.max(blockedUntilMillis, System.currentTimeMillis() + backoff);
+        log.warn("Binance returned {}; all REST calls paused for {}ms", status, backoff);
+    }
+
+    private static int headerInt(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+                try {
+                    return Integer.parseInt(header.getValue().getFirst().trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
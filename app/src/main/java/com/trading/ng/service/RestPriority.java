@@ -0,0 +1,13 @@
+package com.trading.ng.service;
+
+/**
+ * Priority of a Binance REST call in the {@link RestCallScheduler}.
+ */
+public enum RestPriority {
+    /** Order placement and cancellation; may use the full weight budget. */
+    ORDER,
+    /** Reads the trading path depends on; queued until budget frees up. */
+    READ,
+    /** Refreshes and backfills; shed as soon as their share of the budget is used. */
+    BACKGROUND
+}
@@ -0,0 +1,16 @@
+package com.trading.ng.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A REST call that was not sent because it would have exceeded the exchange's
+ * rate limits, or because the exchange asked us to back off.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RestThrottledException extends RuntimeException {
+
+    public RestThrottledException(String message) {
+        super(message);
+    }
+}
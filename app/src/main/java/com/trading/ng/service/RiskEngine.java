@@ -0,0 +1,214 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.RiskProperties;
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.domain.OrderStatus;
+import com.trading.ng.dto.PlaceOrderRequest;
+import com.trading.ng.dto.RiskStatusResponse;
+import com.trading.ng.util.FixedDecimal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-trade checks in front of every order: price deviation from the latest
+ * streamed price, orders per second, notional per symbol and total exposure.
+ * <p>
+ * All state lives in atomics updated with CAS, so checks never block and cost
+ * a few hundred nanoseconds. Exposure is reserved at check time (buys add
+ * notional at the order or reference price, sells give it back) and released
+ * again if the exchange call fails. A placed order's reservation is bound to it,
+ * and once the order is done, the part for its unfilled quantity is released, so
+ * cancelled, expired and partly filled orders do not hold on to exposure.
+ */
+@Service
+public class RiskEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskEngine.class);
+    private static final long HUNDRED = 100 * FixedDecimal.ONE;
+
+    private final MarketDataStreamService marketDataService;
+    private final boolean enabled;
+    private final int maxOrdersPerSecond;
+
+    // Limits in scale-8 fixed point
+    private final long maxNotionalPerSymbol;
+    private final long maxTotalExposure;
+    private final long maxPriceDeviationPercent;
+
+    private final Map<String, AtomicLong> symbolExposure = new ConcurrentHashMap<>();
+    private final AtomicLong totalExposure = new AtomicLong();
+    private final RateWindow rateWindow = new RateWindow();
+    private final LongAdder rejected = new LongAdder();
+    // Reservations of placed orders that are still open, by exchange order id
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+
+    private record Reservation(String symbol, long reserved, long quantity) {
+    }
+
+    public RiskEngine(MarketDataStreamService marketDataService, RiskProperties props) {
+        this.marketDataService = marketDataService;
+        this.enabled = props.enabled();
+        this.maxOrdersPerSecond = props.maxOrdersPerSecond();
+        this.maxNotionalPerSymbol = FixedDecimal.fromBigDecimal(props.maxNotionalPerSymbol());
+        this.maxTotalExposure = FixedDecimal.fromBigDecimal(props.maxTotalExposure());
+        this.maxPriceDeviationPercent = FixedDecimal.fromBigDecimal(props.maxPriceDeviationPercent());
+    }
+
+    /**
+     * Run all checks and reserve the order's exposure.
+     *
+     * @return exposure change applied, to be handed to {@link #release} if the order does not go through
+     * @throws RiskRejectedException if any check fails; nothing is reserved in that case
+     */
+    public long check(PlaceOrderRequest req) {
+        if (!enabled) {
+            return 0;
+        }
+        String symbol = req.symbol().toUpperCase();
+        MarketTick tick = marketDataService.getLatestTick(symbol);
+        long reference = tick != null ? tick.price() : 0;
+        long limitPrice = req.price() != null ? FixedDecimal.fromBigDecimal(req.price()) : 0;
+
+        if (limitPrice > 0 && reference > 0) {
+            // |limit - ref| / ref > max% without dividing
+            long deviation = FixedDecimal.multiply(
+                    FixedDecimal.abs(FixedDecimal.subtract(limitPrice, reference)), HUNDRED, RoundingMode.UP);
+            if (deviation > FixedDecimal.multiply(maxPriceDeviationPercent, reference, RoundingMode.DOWN)) {
+                throw reject(symbol, "price " + req.price() + " deviates more than "
+                        + FixedDecimal.toString(maxPriceDeviationPercent) + "% from " + FixedDecimal.toString(reference));
+            }
+        }
+
+        long price = limitPrice > 0 ? limitPrice : reference;
+        if (price <= 0) {
+            throw reject(symbol, "no reference price to assess notional");
+        }
+        long notional = FixedDecimal.multiply(FixedDecimal.fromBigDecimal(req.quantity()), price, RoundingMode.UP);
+
+        acquireRate(symbol);
+
+        AtomicLong exposure = symbolExposure.computeIfAbsent(symbol, k -> new AtomicLong());
+        return req.side() == OrderSide.BUY ? reserveBuy(symbol, exposure, notional) : reserveSell(exposure, notional);
+    }
+
+    /**
+     * Undo the reservation made by {@link #check} for an order that was not placed.
+     */
+    public void release(String symbol, long reserved) {
+        if (reserved == 0) {
+            return;
+        }
+        AtomicLong exposure = symbolExposure.get(symbol.toUpperCase());
+        if (exposure != null) {
+            exposure.addAndGet(-reserved);
+        }
+        totalExposure.addAndGet(-reserved);
+    }
+
+    /**
+     * Bind the reservation {@link #check} made to the order placed with it, to be
+     * settled by {@link #settle} once the order is done.
+     */
+    public void bind(long orderId, String symbol, long reserved, BigDecimal quantity) {
+        if (reserved != 0) {
+            reservations.put(orderId, new Reservation(symbol, reserved, FixedDecimal.fromBigDecimal(quantity)));
+        }
+    }
+
+    /**
+     * Release the unfilled part of an order's reservation once the order reaches a
+     * final state; open states and orders without a reservation are ignored.
+     */
+    public void settle(long orderId, OrderStatus status, BigDecimal executedQty) {
+        if (OrderStateService.isOpen(status)) {
+            return;
+        }
+        Reservation reservation = reservations.remove(orderId);
+        if (reservation == null) {
+            return;
+        }
+        long executed = executedQty != null ? FixedDecimal.fromBigDecimal(executedQty) : 0;
+        long unfilled = FixedDecimal.subtract(reservation.quantity(), Math.min(executed, reservation.quantity()));
+        if (unfilled <= 0 || reservation.quantity() <= 0) {
+            return;
+        }
+        long share = FixedDecimal.divide(unfilled, reservation.quantity(), RoundingMode.HALF_UP);
+        release(reservation.symbol(), FixedDecimal.multiply(reservation.reserved(), share, RoundingMode.HALF_UP));
+    }
+
+    private void acquireRate(String symbol) {
+        if (!rateWindow.tryAcquire(maxOrdersPerSecond)) {
+            throw reject(symbol, "more than " + maxOrdersPerSecond + " orders per second");
+        }
+    }
+
+    private long reserveBuy(String symbol, AtomicLong exposure, long notional) {
+        while (true) {
+            long current = exposure.get();
+            long next = FixedDecimal.add(current, notional);
+            if (next > maxNotionalPerSymbol) {
+                throw reject(symbol, "notional " + FixedDecimal.toString(next)
+                        + " would exceed per-symbol limit " + FixedDecimal.toString(maxNotionalPerSymbol));
+            }
+            if (exposure.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        while (true) {
+            long current = totalExposure.get();
+            long next = FixedDecimal.add(current, notional);
+            if (next > maxTotalExposure) {
+                exposure.addAndGet(-notional);
+                throw reject(symbol, "total exposure " + FixedDecimal.toString(next)
+                        + " would exceed limit " + FixedDecimal.toString(maxTotalExposure));
+            }
+            if (totalExposure.compareAndSet(current, next)) {
+                return notional;
+            }
+        }
+    }
+
+    /**
+     * Sells always pass; they reduce exposure by at most what is held.
+     */
+    private long reserveSell(AtomicLong exposure, long notional) {
+        while (true) {
+            long current = exposure.get();
+            long reduction = Math.min(notional, Math.max(current, 0));
+            if (exposure.compareAndSet(current, current - reduction)) {
+                totalExposure.addAndGet(-reduction);
+                return -reduction;
+            }
+        }
+    }
+
+    private RiskRejectedException reject(String symbol, String reason) {
+        rejected.increment();
+        log.warn("{}: order rejected by risk check — {}", symbol, reason);
+        return new RiskRejectedException("Order rejected: " + reason);
+    }
+
+    public RiskStatusResponse getStatus() {
+        Map<String, BigDecimal> exposures = new TreeMap<>();
+        symbolExposure.forEach((symbol, exposure) -> exposures.put(symbol, FixedDecimal.toBigDecimal(exposure.get())));
+        return new RiskStatusResponse(
+                enabled,
+                FixedDecimal.toBigDecimal(maxNotionalPerSymbol),
+                FixedDecimal.toBigDecimal(maxTotalExposure),
+                maxOrdersPerSecond,
+                FixedDecimal.toBigDecimal(maxPriceDeviationPercent),
+                FixedDecimal.toBigDecimal(totalExposure.get()),
+                exposures,
+                rejected.sum()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.trading.ng.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An order refused by the pre-trade risk checks or the exchange's symbol
+ * filters; it never reached the exchange.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class RiskRejectedException extends RuntimeException {
+
+    public RiskRejectedException(String message) {
+        super(message);
+    }
+}
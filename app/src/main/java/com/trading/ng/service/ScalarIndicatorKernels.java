@@ -0,0 +1,74 @@
+package com.trading.ng.service;
+
+/**
+ * Plain-Java {@link IndicatorKernels}, used when the Vector API is not available and
+ * for the tail of each array that does not fill a whole vector.
+ */
+final class ScalarIndicatorKernels implements IndicatorKernels {
+
+    @Override
+    public void sums(PriceMatrix closes, int period, long[] out) {
+        sums(closes, period, out, 0, closes.symbols());
+    }
+
+    void sums(PriceMatrix closes, int period, long[] out, int from, int to) {
+        long[] c = closes.closes();
+        int n = closes.symbols();
+        for (int s = from; s < to; s++) {
+            long sum = 0;
+            for (int t = closes.depth() - period; t < closes.depth(); t++) {
+                sum += c[t * n + s];
+            }
+            out[s] = sum;
+        }
+    }
+
+    @Override
+    public void vortexSums(PriceMatrix closes, int period, long[] vmPlus, long[] vmMinus, long[] trueRange) {
+        vortexSums(closes, period, vmPlus, vmMinus, trueRange, 0, closes.symbols());
+    }
+
+    void vortexSums(PriceMatrix closes, int period, long[] vmPlus, long[] vmMinus, long[] trueRange,
+                    int from, int to) {
+        long[] c = closes.closes();
+        int n = closes.symbols();
+        for (int s = from; s < to; s++) {
+            long sumPlus = 0;
+            long sumMinus = 0;
+            long sumTr = 0;
+            for (int t = closes.depth() - period; t < closes.depth(); t++) {
+                long curr = c[t * n + s];
+                long prev = c[(t - 1) * n + s];
+                long prev2 = c[(t - 2) * n + s];
+                long high = Math.max(curr, prev);
+                long low = Math.min(curr, prev);
+                long prevHigh = Math.max(prev, prev2);
+                long prevLow = Math.min(prev, prev2);
+                sumPlus += Math.abs(high - prevLow);
+                sumMinus += Math.abs(low - prevHigh);
+                sumTr += Math.max(high - low, Math.max(Math.abs(high - prev), Math.abs(low - prev)));
+            }
+            vmPlus[s] = sumPlus;
+            vmMinus[s] = sumMinus;
+            trueRange[s] = sumTr;
+        }
+    }
+
+    @Override
+    public void crossovers(long[] prevFast, long[] prevSlow, long[] currFast, long[] currSlow, int count, long[] out) {
+        crossovers(prevFast, prevSlow, currFast, currSlow, out, 0, count);
+    }
+
+    void crossovers(long[] prevFast, long[] prevSlow, long[] currFast, long[] currSlow, long[] out,
+                    int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (prevFast[i] <= prevSlow[i] && currFast[i] > currSlow[i]) {
+                out[i] = 1;
+            } else if (prevFast[i] >= prevSlow[i] && currFast[i] < currSlow[i]) {
+                out[i] = -1;
+            } else {
+                out[i] = 0;
+            }
+        }
+    }
+}
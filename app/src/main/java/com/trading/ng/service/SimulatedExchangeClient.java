@@ -0,0 +1,524 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.ExchangeProperties;
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.domain.OrderStatus;
+import com.trading.ng.domain.OrderType;
+import com.trading.ng.dto.AccountBalance;
+import com.trading.ng.dto.PlaceOrderRequest;
+import com.trading.ng.util.FixedDecimal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-process paper-trading exchange ({@code exchange.mode=PAPER}).
+ * <p>
+ * MARKET orders fill immediately against the latest streamed price with the
+ * configured slippage. LIMIT and LIMIT_MAKER orders that do not cross rest in a
+ * per-symbol book and fill at their limit price once a price update reaches
+ * them. Balances are simulated in memory, with funds for resting orders moved
+ * to {@code locked}. Orders always fill in full; stop orders are not supported.
+ * <p>
+ * State is in memory only; {@link OrderService} persists orders through the
+ * same repositories as in live mode.
+ */
+@Service
+@ConditionalOnProperty(prefix = "exchange", name = "mode", havingValue = "PAPER")
+public class SimulatedExchangeClient implements ExchangeClient {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedExchangeClient.class);
+
+    private static final List<String> QUOTE_ASSETS = List.of("EUR", "USDT", "USDC", "FDUSD", "BTC", "ETH", "BNB");
+    private static final long BPS = 10_000;
+    private static final int MAX_RETAINED_CLOSED_ORDERS = 100_000;
+    private static final int MAX_RETAINED_FILLS = 100_000;
+    private static final String MARKET_DATA_CONSUMER = "paper-exchange";
+
+    private final MarketDataStreamService marketDataService;
+    private final long latencyMillis;
+    private final long slippageBps;
+    private final long feeBps;
+
+    // Seeded from the clock so ids stay unique in trading_orders across restarts
+    private final AtomicLong nextOrderId = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final Map<String, SimBalance> balances = new ConcurrentHashMap<>();
+    private final Map<Long, SimOrder> orders = new ConcurrentHashMap<>();
+    private final Queue<Long> closedOrderIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger closedOrderCount = new AtomicInteger();
+    private final Map<String, SimBook> books = new ConcurrentHashMap<>();
+    private final List<Consumer<ExchangeOrder>> orderListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<ExchangeFill>> fillListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<AccountBalance>> balanceListeners = new CopyOnWriteArrayList<>();
+    // Likewise for binance_trade_id in trades
+    private final AtomicLong nextTradeId = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Deque<ExchangeFill> fills = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger fillCount = new AtomicInteger();
+
+    public SimulatedExchangeClient(MarketDataStreamService marketDataService, ExchangeProperties props) {
+        this.marketDataService = marketDataService;
+        ExchangeProperties.Paper paper = props.paper();
+        this.latencyMillis = paper != null ? paper.latencyMillis() : 0;
+        this.slippageBps = paper != null ? paper.slippageBps() : 0;
+        this.feeBps = paper != null ? paper.feeBps() : 0;
+
+        if (paper != null && paper.initialBalances() != null) {
+            paper.initialBalances().forEach((asset, amount) ->
+                    balance(asset).free = FixedDecimal.fromBigDecimal(amount));
+        }
+        marketDataService.addPriceListener(this::onTick);
+        log.info("PAPER exchange active — latency={}ms, slippage={}bps, fee={}bps, balances={}",
+                latencyMillis, slippageBps, feeBps, getBalances());
+    }
+
+    @Override
+    public ExchangeOrder placeOrder(PlaceOrderRequest req) {
+        simulateLatency();
+
+        String symbol = req.symbol().toUpperCase();
+        String quote = quoteAssetOf(symbol);
+        String base = symbol.substring(0, symbol.length() - quote.length());
+        long quantity = FixedDecimal.fromBigDecimal(req.quantity());
+
+        MarketTick tick = marketDataService.getLatestTick(symbol);
+        if (tick == null) {
+            throw new RuntimeException("Failed to place order: no market price for " + symbol);
+        }
+        long last = tick.price();
+
+        SimOrder order = new SimOrder(nextOrderId.getAndIncrement(), symbol, base, quote,
+                req.side(), req.type(), quantity);
+
+        switch (req.type()) {
+            case MARKET -> {
+                long slip = FixedDecimal.divideByCount(
+                        FixedDecimal.multiply(last, slippageBps * FixedDecimal.ONE, RoundingMode.HALF_UP),
+                        (int) BPS, RoundingMode.HALF_UP);
+                long fillPrice = req.side() == OrderSide.BUY ? last + slip : last - slip;
+                fillImmediately(order, fillPrice);
+            }
+            case LIMIT, LIMIT_MAKER -> {
+                if (req.price() == null) {
+                    throw new RuntimeException("Failed to place order: price is required for " + req.type());
+                }
+                order.price = FixedDecimal.fromBigDecimal(req.price());
+                boolean crosses = req.side() == OrderSide.BUY ? order.price >= last : order.price <= last;
+                if (crosses && req.type() == OrderType.LIMIT_MAKER) {
+                    throw new RuntimeException("Failed to place order: Order would immediately match and take.");
+                }
+                if (crosses) {
+                    fillImmediately(order, req.side() == OrderSide.BUY ? Math.min(order.price, last)
+                            : Math.max(order.price, last));
+                } else if ("IOC".equals(req.timeInForce()) || "FOK".equals(req.timeInForce())) {
+                    order.status = OrderStatus.EXPIRED;
+                } else {
+                    rest(order);
+                }
+            }
+            default -> throw new RuntimeException(
+                    "Failed to place order: " + req.type() + " orders are not supported in PAPER mode");
+        }
+
+        orders.put(order.id, order);
+        if (order.status != OrderStatus.NEW) {
+            retireClosed(order.id);
+        }
+        ExchangeOrder placed = order.toExchangeOrder();
+        publish(placed);
+        return placed;
+    }
+
+    @Override
+    public void cancelOrder(String symbol, long orderId) {
+        simulateLatency();
+        SimOrder order = orders.get(orderId);
+        if (order == null || !order.symbol.equalsIgnoreCase(symbol)) {
+            throw new RuntimeException("Failed to cancel order: Unknown order sent.");
+        }
+        SimBook book = books.get(order.symbol);
+        boolean removed = book != null && book.remove(order);
+        if (!removed) {
+            throw new RuntimeException("Failed to cancel order: Unknown order sent.");
+        }
+        if (order.side == OrderSide.BUY) {
+            unlock(order.quote, FixedDecimal.multiply(order.quantity, order.price, RoundingMode.UP));
+        } else {
+            unlock(order.base, order.quantity);
+        }
+        order.status = OrderStatus.CANCELED;
+        retireClosed(order.id);
+        publish(order.toExchangeOrder());
+    }
+
+    @Override
+    public void addOrderUpdateListener(Consumer<ExchangeOrder> listener) {
+        orderListeners.add(listener);
+    }
+
+    @Override
+    public void addFillListener(Consumer<ExchangeFill> listener) {
+        fillListeners.add(listener);
+    }
+
+    @Override
+    public void addBalanceListener(Consumer<AccountBalance> listener) {
+        balanceListeners.add(listener);
+    }
+
+    @Override
+    public List<ExchangeFill> getMyTrades(String symbol, long fromTradeId, int limit) {
+        List<ExchangeFill> result = new ArrayList<>();
+        for (ExchangeFill fill : fills) {
+            if (fill.tradeId() >= fromTradeId && fill.symbol().equalsIgnoreCase(symbol)) {
+                result.add(fill);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void publish(ExchangeOrder order) {
+        for (Consumer<ExchangeOrder> listener : orderListeners) {
+            try {
+                listener.accept(order);
+            } catch (Exception e) {
+                log.error("Order update listener error: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public ExchangeOrder getOrder(String symbol, long orderId) {
+        SimOrder order = orders.get(orderId);
+        if (order == null || !order.symbol.equalsIgnoreCase(symbol)) {
+            throw new RuntimeException("Failed to get order: Order does not exist.");
+        }
+        return order.toExchangeOrder();
+    }
+
+    @Override
+    public List<ExchangeOrder> getOpenOrders(String symbol) {
+        if (symbol == null) {
+            return books.values().stream()
+                    .flatMap(book -> book.openOrders().stream())
+                    .map(SimOrder::toExchangeOrder)
+                    .toList();
+        }
+        SimBook book = books.get(symbol.toUpperCase());
+        return book != null ? book.openOrders().stream().map(SimOrder::toExchangeOrder).toList() : List.of();
+    }
+
+    @Override
+    public List<AccountBalance> getBalances() {
+        List<AccountBalance> result = new ArrayList<>();
+        for (Map.Entry<String, SimBalance> entry : balances.entrySet()) {
+            SimBalance b = entry.getValue();
+            synchronized (b) {
+                result.add(new AccountBalance(entry.getKey(),
+                        FixedDecimal.toBigDecimal(b.free), FixedDecimal.toBigDecimal(b.locked)));
+            }
+        }
+        result.sort(Comparator.comparing(AccountBalance::asset));
+        return result;
+    }
+
+    // --- Matching ---
+
+    private void fillImmediately(SimOrder order, long fillPrice) {
+        settle(order, fillPrice, false, false);
+    }
+
+    /**
+     * Move funds for a full fill, charging the fee on what is received, and record the fill.
+     */
+    private void settle(SimOrder order, long fillPrice, boolean fromLocked, boolean maker) {
+        long notional = FixedDecimal.multiply(order.quantity, fillPrice, RoundingMode.UP);
+        long commission;
+        String commissionAsset;
+        if (order.side == OrderSide.BUY) {
+            long received = afterFee(order.quantity);
+            transfer(order.quote, notional, fromLocked, order.base, received);
+            commission = order.quantity - received;
+            commissionAsset = order.base;
+        } else {
+            long received = afterFee(notional);
+            transfer(order.base, order.quantity, fromLocked, order.quote, received);
+            commission = notional - received;
+            commissionAsset = order.quote;
+        }
+        order.fill(fillPrice);
+
+        ExchangeFill fill = new ExchangeFill(nextTradeId.getAndIncrement(), order.id, order.symbol, order.side,
+                FixedDecimal.toBigDecimal(fillPrice), FixedDecimal.toBigDecimal(order.quantity),
+                FixedDecimal.toBigDecimal(commission), commissionAsset, maker, Instant.now());
+        fills.addLast(fill);
+        if (fillCount.incrementAndGet() > MAX_RETAINED_FILLS && fills.pollFirst() != null) {
+            fillCount.decrementAndGet();
+        }
+        for (Consumer<ExchangeFill> listener : fillListeners) {
+            try {
+                listener.accept(fill);
+            } catch (Exception e) {
+                log.error("Fill listener error: {}", e.getMessage());
+            }
+        }
+        publishBalance(order.base);
+        publishBalance(order.quote);
+    }
+
+    private void publishBalance(String asset) {
+        SimBalance b = balance(asset);
+        AccountBalance balance;
+        synchronized (b) {
+            balance = new AccountBalance(asset, FixedDecimal.toBigDecimal(b.free), FixedDecimal.toBigDecimal(b.locked));
+        }
+        for (Consumer<AccountBalance> listener : balanceListeners) {
+            try {
+                listener.accept(balance);
+            } catch (Exception e) {
+                log.error("Balance listener error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void rest(SimOrder order) {
+        if (order.side == OrderSide.BUY) {
+            lock(order.quote, FixedDecimal.multiply(order.quantity, order.price, RoundingMode.UP));
+        } else {
+            lock(order.base, order.quantity);
+        }
+        SimBook book = books.get(order.symbol);
+        if (book == null) {
+            // Resting orders fill on ticks, so the symbol must stay streamed
+            marketDataService.subscribeSymbols(MARKET_DATA_CONSUMER, List.of(order.symbol));
+            book = books.computeIfAbsent(order.symbol, s -> new SimBook());
+        }
+        book.add(order);
+    }
+
+    private void onTick(MarketTick tick) {
+        SimBook book = books.get(tick.symbol());
+        if (book == null || book.isEmpty()) {
+            return;
+        }
+        for (SimOrder order : book.takeCrossed(tick.price())) {
+            settle(order, order.price, true, true);
+            retireClosed(order.id);
+            publish(order.toExchangeOrder());
+            log.debug("PAPER fill: {} {} {} @ {}", order.symbol, order.side, FixedDecimal.toString(order.quantity),
+                    FixedDecimal.toString(order.price));
+        }
+    }
+
+    private long afterFee(long amount) {
+        if (feeBps == 0) {
+            return amount;
+        }
+        long fee = FixedDecimal.divideByCount(
+                FixedDecimal.multiply(amount, feeBps * FixedDecimal.ONE, RoundingMode.UP), (int) BPS, RoundingMode.UP);
+        return amount - fee;
+    }
+
+    // --- Balances ---
+
+    private SimBalance balance(String asset) {
+        return balances.computeIfAbsent(asset.toUpperCase(), a -> new SimBalance());
+    }
+
+    /**
+     * Atomically debit one asset (from free or locked funds) and credit another.
+     * Both balances are locked in asset-name order so concurrent transfers cannot deadlock.
+     */
+    private void transfer(String debitAsset, long debit, boolean fromLocked, String creditAsset, long credit) {
+        SimBalance from = balance(debitAsset);
+        SimBalance to = balance(creditAsset);
+        SimBalance first = debitAsset.compareTo(creditAsset) < 0 ? from : to;
+        SimBalance second = first == from ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                if (fromLocked) {
+                    from.locked = FixedDecimal.subtract(from.locked, debit);
+                } else {
+                    if (from.free < debit) {
+                        throw new RuntimeException(
+                                "Failed to place order: Account has insufficient balance for requested action.");
+                    }
+                    from.free = FixedDecimal.subtract(from.free, debit);
+                }
+                to.free = FixedDecimal.add(to.free, credit);
+            }
+        }
+    }
+
+    private void lock(String asset, long amount) {
+        SimBalance b = balance(asset);
+        synchronized (b) {
+            if (b.free < amount) {
+                throw new RuntimeException(
+                        "Failed to place order: Account has insufficient balance for requested action.");
+            }
+            b.free = FixedDecimal.subtract(b.free, amount);
+            b.locked = FixedDecimal.add(b.locked, amount);
+        }
+    }
+
+    private void unlock(String asset, long amount) {
+        SimBalance b = balance(asset);
+        synchronized (b) {
+            b.locked = FixedDecimal.subtract(b.locked, amount);
+            b.free = FixedDecimal.add(b.free, amount);
+        }
+    }
+
+    // --- Helpers ---
+
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while simulating exchange latency", e);
+        }
+    }
+
+    /**
+     * Keep closed orders queryable for a while, but bound memory under sustained load.
+     */
+    private void retireClosed(long orderId) {
+        closedOrderIds.add(orderId);
+        if (closedOrderCount.incrementAndGet() > MAX_RETAINED_CLOSED_ORDERS) {
+            Long oldest = closedOrderIds.poll();
+            if (oldest != null) {
+                orders.remove(oldest);
+                closedOrderCount.decrementAndGet();
+            }
+        }
+    }
+
+    private static String quoteAssetOf(String symbol) {
+        for (String quote : QUOTE_ASSETS) {
+            if (symbol.endsWith(quote) && symbol.length() > quote.length()) {
+                return quote;
+            }
+        }
+        throw new RuntimeException("Failed to place order: unknown quote asset for " + symbol);
+    }
+
+    private static final class SimBalance {
+        long free;
+        long locked;
+    }
+
+    private static final class SimOrder {
+        final long id;
+        final String symbol;
+        final String base;
+        final String quote;
+        final OrderSide side;
+        final OrderType type;
+        final long quantity;
+        long price;
+        volatile long executed;
+        volatile OrderStatus status = OrderStatus.NEW;
+
+        SimOrder(long id, String symbol, String base, String quote, OrderSide side, OrderType type, long quantity) {
+            this.id = id;
+            this.symbol = symbol;
+            this.base = base;
+            this.quote = quote;
+            this.side = side;
+            this.type = type;
+            this.quantity = quantity;
+        }
+
+        void fill(long fillPrice) {
+            if (type == OrderType.MARKET) {
+                price = fillPrice;
+            }
+            executed = quantity;
+            status = OrderStatus.FILLED;
+        }
+
+        ExchangeOrder toExchangeOrder() {
+            return new ExchangeOrder(id, "paper-" + id, symbol, side, type, status,
+                    FixedDecimal.toBigDecimal(price), FixedDecimal.toBigDecimal(quantity),
+                    FixedDecimal.toBigDecimal(executed));
+        }
+    }
+
+    /**
+     * Resting orders for one symbol: bids best (highest) first, asks best (lowest) first.
+     */
+    private static final class SimBook {
+        private final TreeMap<Long, ArrayDeque<SimOrder>> bids = new TreeMap<>(Comparator.reverseOrder());
+        private final TreeMap<Long, ArrayDeque<SimOrder>> asks = new TreeMap<>();
+        private volatile int size;
+
+        synchronized void add(SimOrder order) {
+            side(order.side).computeIfAbsent(order.price, p -> new ArrayDeque<>()).add(order);
+            size++;
+        }
+
+        synchronized boolean remove(SimOrder order) {
+            TreeMap<Long, ArrayDeque<SimOrder>> levels = side(order.side);
+            ArrayDeque<SimOrder> level = levels.get(order.price);
+            if (level == null || !level.remove(order)) {
+                return false;
+            }
+            if (level.isEmpty()) {
+                levels.remove(order.price);
+            }
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Remove and return every order the given trade price reaches.
+         */
+        synchronized List<SimOrder> takeCrossed(long price) {
+            List<SimOrder> crossed = new ArrayList<>();
+            while (!bids.isEmpty() && bids.firstKey() >= price) {
+                crossed.addAll(bids.pollFirstEntry().getValue());
+            }
+            while (!asks.isEmpty() && asks.firstKey() <= price) {
+                crossed.addAll(asks.pollFirstEntry().getValue());
+            }
+            size -= crossed.size();
+            return crossed;
+        }
+
+        synchronized List<SimOrder> openOrders() {
+            List<SimOrder> open = new ArrayList<>();
+            bids.values().forEach(open::addAll);
+            asks.values().forEach(open::addAll);
+            return open;
+        }
+
+        private TreeMap<Long, ArrayDeque<SimOrder>> side(OrderSide side) {
+            return side == OrderSide.BUY ? bids : asks;
+        }
+    }
+}
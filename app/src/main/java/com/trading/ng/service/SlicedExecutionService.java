@@ -0,0 +1,428 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.ExecutionProperties;
+import com.trading.ng.domain.ExecutionAlgo;
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.domain.OrderStatus;
+import com.trading.ng.domain.OrderType;
+import com.trading.ng.domain.TradingOrder;
+import com.trading.ng.dto.OrderResponse;
+import com.trading.ng.dto.PlaceOrderRequest;
+import com.trading.ng.repository.TradingOrderRepository;
+import com.trading.ng.util.FixedDecimal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Works large orders as a parent order sliced into child orders, each parent
+ * on its own virtual thread so that many can run side by side cheaply.
+ * <ul>
+ *     <li>{@link ExecutionAlgo#TWAP}: {@code execution.twap-slices} MARKET
+ *     children, one every {@code execution.twap-interval-seconds}, each sized
+ *     from what is still unfilled.</li>
+ *     <li>{@link ExecutionAlgo#ICEBERG}: one LIMIT child at a time at the last
+ *     price, showing {@code execution.iceberg-visible-percent} of the total;
+ *     a child not filled within {@code execution.iceberg-reprice-seconds} is
+ *     cancelled and replaced at the new price.</li>
+ *     <li>{@link ExecutionAlgo#MAKER}: the whole remainder as a LIMIT_MAKER
+ *     child at the best bid (buys) or ask (sells) of the local order book,
+ *     posted only while the book is synced, and cancelled and reposted whenever
+ *     the touch moves. Reprices and reposts after a reject share a budget of
+ *     {@code execution.maker-max-reprices-per-second} across all parents. Whatever is unfilled after {@code execution.maker-timeout-seconds}
+ *     is sent as a MARKET order.</li>
+ * </ul>
+ * Children are watched through {@link OrderStateService}, so waiting for
+ * fills and following the book cost no REST calls.
+ * The parent is a {@code trading_orders} row without an exchange order id;
+ * children reference it through {@code parentOrderId}. Parents left open by
+ * a restart are not resumed: they are marked cancelled at startup.
+ */
+@Service
+public class SlicedExecutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlicedExecutionService.class);
+    // Granularity of waits, and so how quickly a cancel takes effect
+    private static final long POLL_MILLIS = 200;
+    // Cap on the backoff between maker children rejected in a row
+    private static final long MAX_REPOST_BACKOFF_MILLIS = 5_000;
+
+    private final OrderService orderService;
+    private final OrderStateService orderState;
+    private final TradingOrderRepository orderRepo;
+    private final MarketDataStreamService marketDataService;
+    private final SymbolFilterCache filterCache;
+    private final OrderBookService orderBooks;
+    private final ExecutionProperties props;
+
+    private final Map<Long, ParentExecution> active = new ConcurrentHashMap<>();
+    private final RateWindow repriceWindow = new RateWindow();
+
+    /**
+     * Progress of one parent order; quantities in scale-8 fixed point.
+     */
+    private static final class ParentExecution {
+        final long id;
+        final String symbol;
+        final OrderSide side;
+        final ExecutionAlgo algo;
+        final long total;
+        final LongConsumer onFill;
+        volatile long executed;
+        volatile boolean cancelled;
+
+        ParentExecution(long id, String symbol, OrderSide side, ExecutionAlgo algo, long total, LongConsumer onFill) {
+            this.id = id;
+            this.symbol = symbol;
+            this.side = side;
+            this.algo = algo;
+            this.total = total;
+            this.onFill = onFill;
+        }
+
+        long remaining() {
+            return FixedDecimal.subtract(total, executed);
+        }
+    }
+
+    public SlicedExecutionService(
+            OrderService orderService,
+            OrderStateService orderState,
+            TradingOrderRepository orderRepo,
+            MarketDataStreamService marketDataService,
+            SymbolFilterCache filterCache,
+            OrderBookService orderBooks,
+            ExecutionProperties props) {
+        this.orderService = orderService;
+        this.orderState = orderState;
+        this.orderRepo = orderRepo;
+        this.marketDataService = marketDataService;
+        this.filterCache = filterCache;
+        this.orderBooks = orderBooks;
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void abandonOrphans() {
+        for (TradingOrder parent : orderRepo.findByAlgoIsNotNullAndStatusIn(
+                List.of(OrderStatus.NEW, OrderStatus.PARTIALLY_FILLED))) {
+            parent.setStatus(OrderStatus.CANCELED);
+            orderRepo.save(parent);
+            log.warn("{}: {} parent order {} was interrupted by a restart — marked CANCELED at {}/{}",
+                    parent.getSymbol(), parent.getAlgo(), parent.getId(), parent.getExecutedQty(), parent.getQuantity());
+        }
+    }
+
+    /**
+     * Start working a parent order.
+     *
+     * @param onFill called with each child's executed quantity (fixed point) as it completes
+     */
+    public OrderResponse submit(String symbol, OrderSide side, BigDecimal quantity, ExecutionAlgo algo,
+                                LongConsumer onFill) {
+        TradingOrder parent = new TradingOrder();
+        parent.setSymbol(symbol.toUpperCase());
+        parent.setSide(side);
+        parent.setType(switch (algo) {
+            case TWAP -> OrderType.MARKET;
+            case ICEBERG -> OrderType.LIMIT;
+            case MAKER -> OrderType.LIMIT_MAKER;
+        });
+        parent.setStatus(OrderStatus.NEW);
+        parent.setQuantity(quantity);
+        parent.setExecutedQty(BigDecimal.ZERO);
+        parent.setAlgo(algo);
+        parent = orderRepo.save(parent);
+
+        ParentExecution execution = new ParentExecution(parent.getId(), parent.getSymbol(), side, algo,
+                FixedDecimal.fromBigDecimal(quantity), onFill != null ? onFill : q -> { });
+        active.put(execution.id, execution);
+        Thread.ofVirtual().name("exec-" + execution.id).start(() -> run(execution));
+        log.info("{}: {} {} parent order {} started for {}", execution.symbol, algo, side, execution.id, quantity);
+        return OrderService.toResponse(parent);
+    }
+
+    /**
+     * Stop a parent order; its working child, if any, is cancelled and the
+     * parent keeps what was filled so far.
+     *
+     * @return {@code false} if the order is not being worked
+     */
+    public boolean cancel(long parentOrderId) {
+        ParentExecution execution = active.get(parentOrderId);
+        if (execution == null) {
+            return false;
+        }
+        execution.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Cancel every parent order on the symbol working the other side,
+     * e.g. a half-done buy when a sell signal arrives.
+     */
+    public void cancelOpposite(String symbol, OrderSide side) {
+        for (ParentExecution execution : active.values()) {
+            if (execution.side != side && execution.symbol.equalsIgnoreCase(symbol)) {
+                log.info("{}: cancelling {} parent order {} on opposite {} signal",
+                        execution.symbol, execution.side, execution.id, side);
+                execution.cancelled = true;
+            }
+        }
+    }
+
+    public List<OrderResponse> getActive() {
+        return active.values().stream()
+                .sorted(Comparator.comparingLong((ParentExecution e) -> e.id))
+                .map(e -> orderRepo.findById(e.id).map(OrderService::toResponse).orElse(null))
+                .filter(response -> response != null)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        active.values().forEach(execution -> execution.cancelled = true);
+    }
+
+    private void run(ParentExecution execution) {
+        try {
+            switch (execution.algo) {
+                case TWAP -> runTwap(execution);
+                case ICEBERG -> runIceberg(execution);
+                case MAKER -> runMaker(execution);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            execution.cancelled = true;
+        } catch (RiskRejectedException e) {
+            log.warn("{}: parent order {} stopped — {}", execution.symbol, execution.id, e.getMessage());
+        } catch (Exception e) {
+            log.error("{}: parent order {} failed — {}", execution.symbol, execution.id, e.getMessage(), e);
+        } finally {
+            active.remove(execution.id);
+            OrderStatus status = execution.remaining() <= 0 ? OrderStatus.FILLED
+                    : execution.cancelled ? OrderStatus.CANCELED
+                    : OrderStatus.EXPIRED;
+            saveProgress(execution, status);
+            log.info("{}: parent order {} {} — executed {} of {}", execution.symbol, execution.id, status,
+                    FixedDecimal.toString(execution.executed), FixedDecimal.toString(execution.total));
+        }
+    }
+
+    private void runTwap(ParentExecution execution) throws InterruptedException {
+        int slices = Math.max(props.twapSlices(), 1);
+        for (int i = 0; i < slices && !execution.cancelled && execution.remaining() > 0; i++) {
+            if (i > 0) {
+                sleep(execution, props.twapIntervalSeconds() * 1000L);
+                if (execution.cancelled) {
+                    return;
+                }
+            }
+            // Sized from what is left, so short fills are made up by later slices
+            long quantity = i == slices - 1
+                    ? execution.remaining()
+                    : FixedDecimal.divideByCount(execution.remaining(), slices - i, RoundingMode.DOWN);
+            long feasible = feasible(execution, quantity, OrderType.MARKET);
+            if (feasible <= 0) {
+                // Slice below exchange minimums: send the rest in one go instead
+                feasible = feasible(execution, execution.remaining(), OrderType.MARKET);
+                if (feasible <= 0) {
+                    return;
+                }
+                i = slices - 1;
+            }
+            OrderResponse child = orderService.placeOrder(new PlaceOrderRequest(execution.symbol, execution.side,
+                    OrderType.MARKET, FixedDecimal.toBigDecimal(feasible), null, null, null), execution.id);
+            recordFill(execution, executedOf(child));
+        }
+    }
+
+    private void runIceberg(ParentExecution execution) throws InterruptedException {
+        long visible = FixedDecimal.divideByCount(FixedDecimal.multiply(execution.total,
+                FixedDecimal.fromBigDecimal(props.icebergVisiblePercent()), RoundingMode.DOWN), 100, RoundingMode.DOWN);
+        while (!execution.cancelled && execution.remaining() > 0) {
+            long feasible = feasible(execution, Math.min(visible, execution.remaining()), OrderType.LIMIT);
+            if (feasible <= 0) {
+                feasible = feasible(execution, execution.remaining(), OrderType.LIMIT);
+                if (feasible <= 0) {
+                    return;
+                }
+            }
+            MarketTick tick = marketDataService.getLatestTick(execution.symbol);
+            if (tick == null) {
+                sleep(execution, POLL_MILLIS);
+                continue;
+            }
+            OrderResponse child = orderService.placeOrder(new PlaceOrderRequest(execution.symbol, execution.side,
+                    OrderType.LIMIT, FixedDecimal.toBigDecimal(feasible), FixedDecimal.toBigDecimal(tick.price()),
+                    null, "GTC"), execution.id);
+            long deadline = System.currentTimeMillis() + props.icebergRepriceSeconds() * 1000L;
+            recordFill(execution, awaitChild(execution, child, deadline, () -> false));
+        }
+    }
+
+    private void runMaker(ParentExecution execution) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + props.makerTimeoutSeconds() * 1000L;
+        long backoff = POLL_MILLIS;
+        while (!execution.cancelled && execution.remaining() > 0 && System.currentTimeMillis() < deadline) {
+            long price = touch(execution);
+            long quantity = feasible(execution, execution.remaining(), OrderType.LIMIT_MAKER);
+            if (quantity <= 0) {
+                return;
+            }
+            if (price <= 0) {
+                sleep(execution, POLL_MILLIS);
+                continue;
+            }
+            OrderResponse child;
+            try {
+                child = orderService.placeOrder(new PlaceOrderRequest(execution.symbol, execution.side,
+                        OrderType.LIMIT_MAKER, FixedDecimal.toBigDecimal(quantity), FixedDecimal.toBigDecimal(price),
+                        null, null), execution.id);
+            } catch (RiskRejectedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // Typically rejected for crossing because the touch moved; try again at the new one,
+                // backing off while rejects repeat and spending the reprice budget like a reprice
+                log.debug("{}: maker child at {} not posted, retrying in {}ms: {}", execution.symbol,
+                        FixedDecimal.toString(price), backoff, e.getMessage());
+                sleep(execution, backoff);
+                backoff = Math.min(backoff * 2, MAX_REPOST_BACKOFF_MILLIS);
+                awaitReprice(execution, deadline);
+                continue;
+            }
+            backoff = POLL_MILLIS;
+            recordFill(execution, awaitChild(execution, child, deadline, () -> {
+                long touch = touch(execution);
+                return touch > 0 && touch != price && tryAcquireReprice();
+            }));
+        }
+        if (execution.cancelled || execution.remaining() <= 0) {
+            return;
+        }
+        long rest = feasible(execution, execution.remaining(), OrderType.MARKET);
+        if (rest > 0) {
+            log.info("{}: parent order {} not filled as maker in {}s, sending {} at market", execution.symbol,
+                    execution.id, props.makerTimeoutSeconds(), FixedDecimal.toString(rest));
+            OrderResponse child = orderService.placeOrder(new PlaceOrderRequest(execution.symbol, execution.side,
+                    OrderType.MARKET, FixedDecimal.toBigDecimal(rest), null, null, null), execution.id);
+            recordFill(execution, executedOf(child));
+        }
+    }
+
+    /**
+     * Best bid for buys, best ask for sells; 0 while the book is not synced, as the
+     * last trade price says nothing about where a maker order would rest.
+     */
+    private long touch(ParentExecution execution) {
+        OrderBook book = orderBooks.getBook(execution.symbol);
+        if (book == null) {
+            return 0;
+        }
+        return execution.side == OrderSide.BUY ? book.bestBid() : book.bestAsk();
+    }
+
+    /**
+     * Wait until a reprice can be taken from the shared budget, the parent is
+     * cancelled or {@code deadline} passes.
+     */
+    private void awaitReprice(ParentExecution execution, long deadline) throws InterruptedException {
+        while (!execution.cancelled && System.currentTimeMillis() < deadline && !tryAcquireReprice()) {
+            sleep(execution, POLL_MILLIS);
+        }
+    }
+
+    /**
+     * Take one reprice from the shared per-second budget.
+     */
+    private boolean tryAcquireReprice() {
+        return repriceWindow.tryAcquire(props.makerMaxRepricesPerSecond());
+    }
+
+    /**
+     * Wait for a resting child to close. It is cancelled at {@code deadline},
+     * when the parent is cancelled, or as soon as {@code reprice} says so.
+     *
+     * @return the child's final executed quantity
+     */
+    private long awaitChild(ParentExecution execution, OrderResponse child, long deadline, BooleanSupplier reprice)
+            throws InterruptedException {
+        OrderResponse current = child;
+        while (OrderStateService.isOpen(current.status())) {
+            if (execution.cancelled || System.currentTimeMillis() >= deadline || reprice.getAsBoolean()) {
+                try {
+                    orderService.cancelOrder(execution.symbol, child.binanceOrderId());
+                } catch (Exception e) {
+                    // Most likely filled in the meantime; the exchange state below tells
+                    log.debug("{}: cancel of child {} failed: {}", execution.symbol, child.binanceOrderId(),
+                            e.getMessage());
+                }
+                return executedOf(orderService.getOrder(execution.symbol, child.binanceOrderId()));
+            }
+            Thread.sleep(POLL_MILLIS);
+            OrderResponse tracked = orderState.get(child.binanceOrderId());
+            if (tracked != null) {
+                current = tracked;
+            }
+        }
+        return executedOf(current);
+    }
+
+    private void recordFill(ParentExecution execution, long executed) {
+        if (executed <= 0) {
+            return;
+        }
+        execution.executed = FixedDecimal.add(execution.executed, executed);
+        try {
+            execution.onFill.accept(executed);
+        } catch (Exception e) {
+            log.error("Parent order fill listener error: {}", e.getMessage());
+        }
+        saveProgress(execution, execution.remaining() <= 0 ? OrderStatus.FILLED : OrderStatus.PARTIALLY_FILLED);
+    }
+
+    private void saveProgress(ParentExecution execution, OrderStatus status) {
+        try {
+            orderRepo.findById(execution.id).ifPresent(parent -> {
+                parent.setStatus(status);
+                parent.setExecutedQty(FixedDecimal.toBigDecimal(execution.executed));
+                orderRepo.save(parent);
+            });
+        } catch (Exception e) {
+            log.error("Failed to save parent order {}: {}", execution.id, e.getMessage());
+        }
+    }
+
+    private long feasible(ParentExecution execution, long quantity, OrderType type) {
+        MarketTick tick = marketDataService.getLatestTick(execution.symbol);
+        return filterCache.feasibleQuantity(execution.symbol, quantity, tick != null ? tick.price() : 0, type);
+    }
+
+    private static long executedOf(OrderResponse order) {
+        return order.executedQty() != null ? FixedDecimal.fromBigDecimal(order.executedQty()) : 0;
+    }
+
+    // Sleeps in short steps so a cancel is noticed promptly
+    private static void sleep(ParentExecution execution, long millis) throws InterruptedException {
+        long until = System.currentTimeMillis() + millis;
+        while (!execution.cancelled) {
+            long left = until - System.currentTimeMillis();
+            if (left <= 0) {
+                return;
+            }
+            Thread.sleep(Math.min(left, POLL_MILLIS));
+        }
+    }
+}
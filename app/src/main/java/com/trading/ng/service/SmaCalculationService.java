@@ -1,59 +1,43 @@
 package com.trading.ng.service;
 
-import com.trading.ng.config.BotProperties;
+import com.trading.ng.util.FixedDecimal;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.util.List;
-
 @Service
 public class SmaCalculationService extends AbstractSignalCalculationService {
 
-    private volatile int shortPeriod;
-    private volatile int longPeriod;
-
-    public SmaCalculationService(BotProperties botProperties) {
-        this.shortPeriod = botProperties.shortSmaPeriod();
-        this.longPeriod = botProperties.longSmaPeriod();
-    }
-
-    public void setPeriods(int shortPeriod, int longPeriod) {
-        this.shortPeriod = shortPeriod;
-        this.longPeriod = longPeriod;
-    }
-
-    public int getShortPeriod() {
-        return shortPeriod;
-    }
-
-    public int getLongPeriod() {
-        return longPeriod;
-    }
-
     @Override
-    public BigDecimal[] computeIndicators(List<BigDecimal> prices) {
-        BigDecimal shortSma = calculateSma(prices, shortPeriod);
-        BigDecimal longSma = calculateSma(prices, longPeriod);
-        if (shortSma == null || longSma == null) {
-            return null;
+    public boolean computeIndicators(PriceSeries prices, BotConfig config, long[] out) {
+        int shortP = config.shortSmaPeriod();
+        int longP = config.longSmaPeriod();
+        if (prices == null || prices.size() < Math.max(shortP, longP)) {
+            return false;
         }
-        return new BigDecimal[]{shortSma, longSma};
+        out[0] = calculateSma(prices, shortP);
+        out[1] = calculateSma(prices, longP);
+        return true;
     }
 
     @Override
-    public int getRequiredDataPoints() {
-        return longPeriod;
+    public int getRequiredDataPoints(BotConfig config) {
+        return config.longSmaPeriod();
     }
 
-    public BigDecimal calculateSma(List<BigDecimal> prices, int period) {
-        if (prices == null || prices.size() < period) {
-            return null;
+    /**
+     * Simple moving average of the last {@code period} samples.
+     *
+     * @throws IllegalArgumentException if the series holds fewer than {@code period} samples
+     */
+    public long calculateSma(PriceSeries prices, int period) {
+        if (prices.size() < period) {
+            throw new IllegalArgumentException(
+                    "SMA(" + period + ") needs " + period + " samples, got " + prices.size());
         }
-        BigDecimal sum = BigDecimal.ZERO;
+        long sum = 0;
         int startIndex = prices.size() - period;
         for (int i = startIndex; i < prices.size(); i++) {
-            sum = sum.add(prices.get(i));
+            sum = FixedDecimal.add(sum, prices.get(i));
         }
-        return sum.divide(BigDecimal.valueOf(period), SCALE, ROUNDING);
+        return FixedDecimal.divideByCount(sum, period, ROUNDING);
     }
 }
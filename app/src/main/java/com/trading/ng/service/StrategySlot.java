@@ -0,0 +1,80 @@
+package com.trading.ng.service;
+
+import java.time.Instant;
+
+/**
+ * Runtime state of one strategy running on one symbol.
+ * <p>
+ * Slots sampled at the same interval share a price history, but each keeps its own
+ * previous indicator values, cooldown clock and attributed position, so
+ * strategies can run side by side on the same feed without interfering.
+ * <p>
+ * Indicator values and the position are scale-8 fixed-point longs. The two
+ * indicator buffers are swapped on every evaluation so ticks do not allocate.
+ */
+public class StrategySlot {
+
+    private final String symbol;
+    private final StrategyType strategyType;
+
+    private long[] prevIndicators = new long[2];
+    private long[] currIndicators = new long[2];
+    private boolean hasPrevIndicators;
+
+    private volatile long position;
+    private volatile Instant lastTradeTime;
+
+    public StrategySlot(String symbol, StrategyType strategyType) {
+        this.symbol = symbol;
+        this.strategyType = strategyType;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public StrategyType getStrategyType() {
+        return strategyType;
+    }
+
+    /**
+     * Buffer to compute the current indicator values into.
+     */
+    long[] currIndicators() {
+        return currIndicators;
+    }
+
+    /**
+     * Previous indicator values, or {@code null} before the first calculation.
+     */
+    long[] prevIndicators() {
+        return hasPrevIndicators ? prevIndicators : null;
+    }
+
+    /**
+     * Make the current indicator values the previous ones for the next tick.
+     */
+    void rollIndicators() {
+        long[] tmp = prevIndicators;
+        prevIndicators = currIndicators;
+        currIndicators = tmp;
+        hasPrevIndicators = true;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    // Also called from parent order threads as sliced children fill
+    public synchronized void addPosition(long delta) {
+        this.position = Math.addExact(position, delta);
+    }
+
+    public Instant getLastTradeTime() {
+        return lastTradeTime;
+    }
+
+    public void setLastTradeTime(Instant lastTradeTime) {
+        this.lastTradeTime = lastTradeTime;
+    }
+}
@@ -0,0 +1,84 @@
+package com.trading.ng.service;
+
+import com.trading.ng.domain.OrderType;
+import com.trading.ng.util.FixedDecimal;
+
+import java.math.RoundingMode;
+
+/**
+ * Exchange trading rules for one symbol, from its LOT_SIZE, MARKET_LOT_SIZE,
+ * PRICE_FILTER and MIN_NOTIONAL / NOTIONAL filters. All values are scale-8
+ * fixed point; zero means the exchange does not enforce that bound.
+ * <p>
+ * MARKET orders must pass MARKET_LOT_SIZE on top of LOT_SIZE; its maximum is
+ * often far below the LOT_SIZE one.
+ */
+public record SymbolFilter(
+        String symbol,
+        long stepSize,
+        long minQty,
+        long maxQty,
+        long marketStepSize,
+        long marketMinQty,
+        long marketMaxQty,
+        long tickSize,
+        long minPrice,
+        long maxPrice,
+        long minNotional
+) {
+
+    /**
+     * Quantity rounded down to the step size (and the market step size for
+     * MARKET orders), so it never exceeds what was asked for.
+     */
+    public long roundQuantity(long quantity, OrderType type) {
+        long rounded = FixedDecimal.roundToIncrement(quantity, stepSize, RoundingMode.DOWN);
+        if (type == OrderType.MARKET) {
+            rounded = FixedDecimal.roundToIncrement(rounded, marketStepSize, RoundingMode.DOWN);
+        }
+        return rounded;
+    }
+
+    /**
+     * Price rounded to the tick size in the given direction.
+     */
+    public long roundPrice(long price, RoundingMode mode) {
+        return FixedDecimal.roundToIncrement(price, tickSize, mode);
+    }
+
+    /**
+     * Why the exchange would reject an order of this (already rounded) size,
+     * or {@code null} if it passes every filter.
+     *
+     * @param price limit price or reference price for market orders; {@code 0} skips the price checks
+     */
+    public String violation(long quantity, long price, OrderType type) {
+        if (quantity <= 0 || quantity < minQty) {
+            return "quantity " + FixedDecimal.toString(quantity) + " below LOT_SIZE minimum " + FixedDecimal.toString(minQty);
+        }
+        if (maxQty > 0 && quantity > maxQty) {
+            return "quantity " + FixedDecimal.toString(quantity) + " above LOT_SIZE maximum " + FixedDecimal.toString(maxQty);
+        }
+        if (type == OrderType.MARKET) {
+            if (quantity < marketMinQty) {
+                return "quantity " + FixedDecimal.toString(quantity) + " below MARKET_LOT_SIZE minimum "
+                        + FixedDecimal.toString(marketMinQty);
+            }
+            if (marketMaxQty > 0 && quantity > marketMaxQty) {
+                return "quantity " + FixedDecimal.toString(quantity) + " above MARKET_LOT_SIZE maximum "
+                        + FixedDecimal.toString(marketMaxQty);
+            }
+        }
+        if (price <= 0) {
+            return null;
+        }
+        if (price < minPrice || (maxPrice > 0 && price > maxPrice)) {
+            return "price " + FixedDecimal.toString(price) + " outside PRICE_FILTER range";
+        }
+        long notional = FixedDecimal.multiply(quantity, price, RoundingMode.DOWN);
+        if (notional < minNotional) {
+            return "notional " + FixedDecimal.toString(notional) + " below minimum " + FixedDecimal.toString(minNotional);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,178 @@
+package com.trading.ng.service;
+
+import com.binance.connector.client.common.ApiException;
+import com.binance.connector.client.spot.rest.api.SpotRestApi;
+import com.binance.connector.client.spot.rest.model.ExchangeInfoResponse;
+import com.binance.connector.client.spot.rest.model.ExchangeInfoResponseSymbolsInner;
+import com.binance.connector.client.spot.rest.model.LotSizeFilter;
+import com.binance.connector.client.spot.rest.model.MarketLotSizeFilter;
+import com.binance.connector.client.spot.rest.model.MinNotionalFilter;
+import com.binance.connector.client.spot.rest.model.NotionalFilter;
+import com.binance.connector.client.spot.rest.model.PriceFilter;
+import com.binance.connector.client.spot.rest.model.SymbolFilters;
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.domain.OrderType;
+import com.trading.ng.dto.PlaceOrderRequest;
+import com.trading.ng.util.FixedDecimal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exchange trading rules for every symbol, loaded from {@code exchangeInfo}
+ * once at startup and refreshed in the background. Orders are rounded and
+ * checked against them locally, so requests the exchange would reject never
+ * cost a round trip.
+ * <p>
+ * Until the first load succeeds (or for symbols the exchange does not list)
+ * orders pass through unchanged.
+ */
+@Service
+public class SymbolFilterCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SymbolFilterCache.class);
+
+    private final SpotRestApi spotRestApi;
+    private final RestCallScheduler scheduler;
+    private final MarketDataStreamService marketDataService;
+
+    // Replaced wholesale on refresh; readers never see a partial load
+    private volatile Map<String, SymbolFilter> filters = Map.of();
+
+    public SymbolFilterCache(
+            SpotRestApi spotRestApi,
+            RestCallScheduler scheduler,
+            MarketDataStreamService marketDataService) {
+        this.spotRestApi = spotRestApi;
+        this.scheduler = scheduler;
+        this.marketDataService = marketDataService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    @Scheduled(initialDelayString = "${exchange.filter-refresh-seconds:3600}000",
+            fixedDelayString = "${exchange.filter-refresh-seconds:3600}000")
+    public void refresh() {
+        try {
+            ExchangeInfoResponse info = scheduler.execute(RestPriority.BACKGROUND, 20,
+                    () -> spotRestApi.exchangeInfo(null, null, null, null, null)).getData();
+            Map<String, SymbolFilter> loaded = new HashMap<>();
+            for (ExchangeInfoResponseSymbolsInner symbolInfo : info.getSymbols()) {
+                loaded.put(symbolInfo.getSymbol(), toFilter(symbolInfo));
+            }
+            filters = Map.copyOf(loaded);
+            log.info("Loaded exchange filters for {} symbols", loaded.size());
+        } catch (ApiException e) {
+            log.warn("Failed to load exchange filters: {} (code={})", e.getMessage(), e.getCode());
+        } catch (Exception e) {
+            log.warn("Failed to load exchange filters: {}", e.getMessage());
+        }
+    }
+
+    private static SymbolFilter toFilter(ExchangeInfoResponseSymbolsInner symbolInfo) {
+        long stepSize = 0, minQty = 0, maxQty = 0, tickSize = 0, minPrice = 0, maxPrice = 0, minNotional = 0;
+        long marketStepSize = 0, marketMinQty = 0, marketMaxQty = 0;
+        if (symbolInfo.getFilters() != null) {
+            for (SymbolFilters wrapper : symbolInfo.getFilters()) {
+                switch (wrapper.getActualInstance()) {
+                    case LotSizeFilter lot -> {
+                        stepSize = fixed(lot.getStepSize());
+                        minQty = fixed(lot.getMinQty());
+                        maxQty = fixed(lot.getMaxQty());
+                    }
+                    case MarketLotSizeFilter lot -> {
+                        marketStepSize = fixed(lot.getStepSize());
+                        marketMinQty = fixed(lot.getMinQty());
+                        marketMaxQty = fixed(lot.getMaxQty());
+                    }
+                    case PriceFilter price -> {
+                        tickSize = fixed(price.getTickSize());
+                        minPrice = fixed(price.getMinPrice());
+                        maxPrice = fixed(price.getMaxPrice());
+                    }
+                    case MinNotionalFilter notional -> minNotional = fixed(notional.getMinNotional());
+                    case NotionalFilter notional -> minNotional = fixed(notional.getMinNotional());
+                    case null, default -> {
+                    }
+                }
+            }
+        }
+        return new SymbolFilter(symbolInfo.getSymbol(), stepSize, minQty, maxQty,
+                marketStepSize, marketMinQty, marketMaxQty, tickSize, minPrice, maxPrice, minNotional);
+    }
+
+    private static long fixed(Object value) {
+        return value == null ? 0 : FixedDecimal.fromBigDecimal(new BigDecimal(String.valueOf(value)));
+    }
+
+    /**
+     * Rules for a symbol, or {@code null} if none are known.
+     */
+    public SymbolFilter get(String symbol) {
+        return filters.get(symbol.toUpperCase());
+    }
+
+    /**
+     * Whether the exchange lists the symbol; {@code false} until the first load.
+     */
+    public boolean isListed(String symbol) {
+        return filters.containsKey(symbol.toUpperCase());
+    }
+
+    /**
+     * Round a fixed-point quantity down to the symbol's step size and return
+     * {@code 0} if an order of {@code type} would be rejected at {@code price}.
+     */
+    public long feasibleQuantity(String symbol, long quantity, long price, OrderType type) {
+        SymbolFilter filter = get(symbol);
+        if (filter == null) {
+            return quantity;
+        }
+        long rounded = filter.roundQuantity(quantity, type);
+        return filter.violation(rounded, price, type) == null ? rounded : 0;
+    }
+
+    /**
+     * Round an order to step and tick size, buy limits down and sell limits
+     * up so rounding never makes the price worse for us.
+     *
+     * @throws RiskRejectedException if the rounded order would still be rejected by the exchange
+     */
+    public PlaceOrderRequest normalize(PlaceOrderRequest req) {
+        SymbolFilter filter = get(req.symbol());
+        if (filter == null) {
+            return req;
+        }
+        long quantity = filter.roundQuantity(FixedDecimal.fromBigDecimal(req.quantity()), req.type());
+        BigDecimal price = req.price();
+        long checkPrice;
+        if (price != null) {
+            RoundingMode mode = req.side() == OrderSide.BUY ? RoundingMode.DOWN : RoundingMode.UP;
+            long rounded = filter.roundPrice(FixedDecimal.fromBigDecimal(price), mode);
+            price = FixedDecimal.toBigDecimal(rounded).stripTrailingZeros();
+            checkPrice = rounded;
+        } else {
+            MarketTick tick = marketDataService.getLatestTick(filter.symbol());
+            checkPrice = tick != null ? tick.price() : 0;
+        }
+
+        String violation = filter.violation(quantity, checkPrice, req.type());
+        if (violation != null) {
+            log.warn("{}: order rejected by exchange filters — {}", req.symbol(), violation);
+            throw new RiskRejectedException("Order rejected: " + violation);
+        }
+        return new PlaceOrderRequest(req.symbol(), req.side(), req.type(),
+                FixedDecimal.toBigDecimal(quantity).stripTrailingZeros(), price, req.stopPrice(), req.timeInForce());
+    }
+}
@@ -0,0 +1,357 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.BinanceProperties;
+import com.trading.ng.config.BotProperties;
+import com.trading.ng.config.ClusterProperties;
+import com.trading.ng.domain.ClusterNode;
+import com.trading.ng.domain.ClusterSymbol;
+import com.trading.ng.repository.ClusterNodeRepository;
+import com.trading.ng.repository.ClusterSymbolRepository;
+import com.trading.ng.repository.SymbolLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Partitions symbol ownership across bot instances sharing one database.
+ * <p>
+ * Every node heartbeats into {@code cluster_nodes}. Live nodes are placed on a
+ * {@link ConsistentHashRing}; a node only trades and streams the symbols the
+ * ring assigns to it, and only while it holds the matching row in
+ * {@code symbol_leases}. A node releases a symbol before the new owner can
+ * acquire it, and a dead node's leases simply expire, so at most one node owns
+ * a symbol at any time.
+ * <p>
+ * The set of symbols being partitioned lives in {@code cluster_symbols}, so a
+ * symbol registered at runtime on one node is picked up by whichever node the
+ * ring assigns it to.
+ * <p>
+ * With {@code cluster.enabled=false} this node owns every symbol.
+ */
+@Service
+public class SymbolOwnershipService {
+
+    private static final Logger log = LoggerFactory.getLogger(SymbolOwnershipService.class);
+
+    /**
+     * Callbacks fired on the heartbeat thread when this node gains or loses a symbol.
+     */
+    public interface OwnershipListener {
+        void onAcquired(String symbol);
+
+        void onReleased(String symbol);
+    }
+
+    private final ClusterProperties props;
+    private final ClusterNodeRepository nodeRepo;
+    private final SymbolLeaseRepository leaseRepo;
+    private final ClusterSymbolRepository symbolRepo;
+
+    private final String nodeId;
+    private final Instant startedAt = Instant.now();
+    private final Duration leaseDuration;
+    private final Duration heartbeatInterval;
+
+    // Every symbol when clustering is off; otherwise this node's own registrations
+    private final Set<String> universe = ConcurrentHashMap.newKeySet();
+    // Registrations not yet written to cluster_symbols
+    private final Set<String> pendingRegistrations = ConcurrentHashMap.newKeySet();
+    // symbol -> epoch millis until which this node may act on it
+    private final Map<String, Long> ownedUntil = new ConcurrentHashMap<>();
+    private final List<OwnershipListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile List<String> liveNodes = List.of();
+
+    public SymbolOwnershipService(
+            ClusterProperties props,
+            ClusterNodeRepository nodeRepo,
+            SymbolLeaseRepository leaseRepo,
+            ClusterSymbolRepository symbolRepo,
+            BinanceProperties binanceProperties,
+            BotProperties botProperties) {
+        this.props = props;
+        this.nodeRepo = nodeRepo;
+        this.leaseRepo = leaseRepo;
+        this.symbolRepo = symbolRepo;
+        this.nodeId = props.nodeId() != null && !props.nodeId().isBlank()
+                ? props.nodeId()
+                : ManagementFactory.getRuntimeMXBean().getName();
+        this.leaseDuration = Duration.ofSeconds(props.leaseSeconds());
+        this.heartbeatInterval = Duration.ofSeconds(props.heartbeatSeconds());
+
+        if (binanceProperties.symbols() != null) {
+            registerSymbols(binanceProperties.symbols());
+        }
+        if (botProperties.symbols() != null) {
+            registerSymbols(botProperties.symbols());
+        }
+        if (props.enabled()) {
+            log.info("Cluster mode enabled — nodeId={}, lease={}s, heartbeat={}s",
+                    nodeId, props.leaseSeconds(), props.heartbeatSeconds());
+        }
+    }
+
+    public boolean isClusterEnabled() {
+        return props.enabled();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<String> getLiveNodes() {
+        return props.enabled() ? liveNodes : List.of(nodeId);
+    }
+
+    /**
+     * Add symbols to the set partitioned across the cluster. They are written
+     * to the shared table and assigned an owner on the next heartbeat.
+     */
+    public void registerSymbols(Collection<String> symbols) {
+        for (String symbol : symbols) {
+            String upper = symbol.toUpperCase();
+            universe.add(upper);
+            if (props.enabled()) {
+                pendingRegistrations.add(upper);
+            }
+        }
+    }
+
+    /**
+     * Remove symbols from the partitioned set, giving up their leases at once
+     * rather than letting them run out. Whichever node owns them elsewhere
+     * releases them on its next heartbeat.
+     */
+    public void unregisterSymbols(Collection<String> symbols) {
+        Instant now = Instant.now();
+        for (String symbol : symbols) {
+            String upper = symbol.toUpperCase();
+            universe.remove(upper);
+            pendingRegistrations.remove(upper);
+            if (props.enabled()) {
+                try {
+                    symbolRepo.deleteById(upper);
+                } catch (Exception e) {
+                    log.warn("{}: failed to unregister symbol: {}", upper, e.getMessage());
+                }
+            }
+            if (ownedUntil.containsKey(upper)) {
+                markReleased(upper);
+                releaseLease(upper, now);
+            }
+        }
+    }
+
+    public boolean isOwned(String symbol) {
+        if (!props.enabled()) {
+            return true;
+        }
+        Long until = ownedUntil.get(symbol);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public Set<String> getOwnedSymbols() {
+        if (!props.enabled()) {
+            return Set.copyOf(universe);
+        }
+        Set<String> owned = new TreeSet<>();
+        for (String symbol : ownedUntil.keySet()) {
+            if (isOwned(symbol)) {
+                owned.add(symbol);
+            }
+        }
+        return owned;
+    }
+
+    public void addOwnershipListener(OwnershipListener listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.heartbeat-seconds:5}000")
+    public void heartbeat() {
+        if (!props.enabled()) {
+            return;
+        }
+        try {
+            rebalance();
+        } catch (Exception e) {
+            log.error("Cluster heartbeat failed: {}", e.getMessage(), e);
+        }
+        expireLocalLeases();
+    }
+
+    void rebalance() {
+        Instant now = Instant.now();
+
+        ClusterNode self = nodeRepo.findById(nodeId).orElseGet(() -> {
+            ClusterNode node = new ClusterNode();
+            node.setNodeId(nodeId);
+            node.setStartedAt(startedAt);
+            return node;
+        });
+        self.setHeartbeatAt(now);
+        nodeRepo.save(self);
+
+        List<String> nodes = new ArrayList<>(nodeRepo.findByHeartbeatAtAfter(now.minus(leaseDuration)).stream()
+                .map(ClusterNode::getNodeId)
+                .toList());
+        if (!nodes.contains(nodeId)) {
+            nodes.add(nodeId);
+        }
+        Collections.sort(nodes);
+        if (!nodes.equals(liveNodes)) {
+            log.info("Cluster membership changed: {}", nodes);
+        }
+        liveNodes = List.copyOf(nodes);
+
+        writeRegistrations(now);
+        Set<String> symbols = new HashSet<>(symbolRepo.findAllSymbols());
+
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, props.virtualNodes());
+        Instant expiresAt = now.plus(leaseDuration);
+
+        for (String symbol : symbols) {
+            try {
+                if (nodeId.equals(ring.ownerOf(symbol))) {
+                    if (acquire(symbol, now, expiresAt)) {
+                        // Stop acting one heartbeat before the lease runs out in case renewals stall
+                        markOwned(symbol, expiresAt.minus(heartbeatInterval).toEpochMilli());
+                    } else {
+                        markReleased(symbol);
+                    }
+                } else if (ownedUntil.containsKey(symbol)) {
+                    // Stop locally first so the next owner never overlaps with us
+                    markReleased(symbol);
+                    leaseRepo.release(symbol, nodeId, now);
+                }
+            } catch (Exception e) {
+                // Leave the rest of the pass to renew; a lease missed here lapses locally
+                log.warn("{}: lease update failed: {}", symbol, e.getMessage());
+            }
+        }
+        // Unregistered on another node
+        for (String symbol : List.copyOf(ownedUntil.keySet())) {
+            if (!symbols.contains(symbol)) {
+                markReleased(symbol);
+                releaseLease(symbol, now);
+            }
+        }
+    }
+
+    private void writeRegistrations(Instant now) {
+        for (String symbol : List.copyOf(pendingRegistrations)) {
+            try {
+                if (!symbolRepo.existsById(symbol)) {
+                    ClusterSymbol row = new ClusterSymbol();
+                    row.setSymbol(symbol);
+                    row.setRegisteredBy(nodeId);
+                    row.setRegisteredAt(now);
+                    symbolRepo.save(row);
+                }
+                pendingRegistrations.remove(symbol);
+            } catch (DataIntegrityViolationException e) {
+                // Registered concurrently by another node
+                pendingRegistrations.remove(symbol);
+            } catch (Exception e) {
+                log.warn("{}: failed to register symbol, retrying on the next heartbeat: {}",
+                        symbol, e.getMessage());
+            }
+        }
+    }
+
+    private void releaseLease(String symbol, Instant now) {
+        try {
+            leaseRepo.release(symbol, nodeId, now);
+        } catch (Exception e) {
+            log.warn("{}: failed to release lease: {}", symbol, e.getMessage());
+        }
+    }
+
+    private boolean acquire(String symbol, Instant now, Instant expiresAt) {
+        if (leaseRepo.tryAcquire(symbol, nodeId, expiresAt, now) == 1) {
+            return true;
+        }
+        if (leaseRepo.existsById(symbol)) {
+            return false;
+        }
+        try {
+            return leaseRepo.insert(symbol, nodeId, expiresAt) == 1;
+        } catch (DataAccessException e) {
+            log.debug("{}: lease claimed concurrently by another node", symbol);
+            return false;
+        }
+    }
+
+    private void markOwned(String symbol, long validUntil) {
+        Long previous = ownedUntil.put(symbol, validUntil);
+        if (previous == null) {
+            log.info("{}: acquired by node {}", symbol, nodeId);
+            for (OwnershipListener listener : listeners) {
+                try {
+                    listener.onAcquired(symbol);
+                } catch (Exception e) {
+                    log.error("Ownership listener error for {}: {}", symbol, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void markReleased(String symbol) {
+        if (ownedUntil.remove(symbol) != null) {
+            log.info("{}: released by node {}", symbol, nodeId);
+            for (OwnershipListener listener : listeners) {
+                try {
+                    listener.onReleased(symbol);
+                } catch (Exception e) {
+                    log.error("Ownership listener error for {}: {}", symbol, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop symbols whose lease could not be renewed in time, e.g. while the
+     * database is unreachable.
+     */
+    private void expireLocalLeases() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> entry : ownedUntil.entrySet()) {
+            if (entry.getValue() <= now) {
+                log.warn("{}: lease expired locally before renewal", entry.getKey());
+                markReleased(entry.getKey());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!props.enabled()) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (String symbol : List.copyOf(ownedUntil.keySet())) {
+            markReleased(symbol);
+            try {
+                leaseRepo.release(symbol, nodeId, now);
+            } catch (Exception e) {
+                log.warn("{}: failed to release lease on shutdown: {}", symbol, e.getMessage());
+            }
+        }
+        try {
+            nodeRepo.deleteById(nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to deregister node {}: {}", nodeId, e.getMessage());
+        }
+        log.info("Node {} left the cluster", nodeId);
+    }
+}
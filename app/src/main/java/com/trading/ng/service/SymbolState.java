@@ -0,0 +1,75 @@
+package com.trading.ng.service;
+
+/**
+ * Everything the bot keeps for one symbol: its strategy slots, one sampler per
+ * sampling interval in use, the adaptive interval and the latest tick.
+ * <p>
+ * Resolved once when the symbol set changes and then reached by array index or
+ * straight from the sampling timers, so a tick does no map lookups. Each sampler's
+ * history and slots are written only by that sampler's timer and the latest tick
+ * only by the price listener; the slot and sampler arrays are replaced whole
+ * under the bot's lifecycle lock.
+ */
+class SymbolState {
+
+    private static final StrategyType[] TYPES = StrategyType.values();
+
+    final String symbol;
+    // Indexed by StrategyType ordinal, null where the strategy is not assigned
+    volatile StrategySlot[] slots = new StrategySlot[TYPES.length];
+    volatile Sampler[] samplers = new Sampler[0];
+    // Current adaptive rung in seconds, 0 when adaptive sampling is off
+    volatile int adaptiveInterval;
+    volatile MarketTick latestTick;
+
+    SymbolState(String symbol) {
+        this.symbol = symbol;
+    }
+
+    StrategySlot slot(StrategyType type) {
+        return slots[type.ordinal()];
+    }
+
+    /**
+     * @return the sampler at {@code intervalSeconds}, or {@code null} if none
+     */
+    Sampler sampler(int intervalSeconds) {
+        for (Sampler sampler : samplers) {
+            if (sampler.intervalSeconds == intervalSeconds) {
+                return sampler;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the sampler evaluating {@code slot}, or {@code null} if none
+     */
+    Sampler samplerOf(StrategySlot slot) {
+        for (Sampler sampler : samplers) {
+            for (StrategySlot s : sampler.slots) {
+                if (s == slot) {
+                    return sampler;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Price history at one sampling interval and the slots evaluated on it.
+     */
+    static final class Sampler {
+
+        final int intervalSeconds;
+        final PriceHistory history;
+        volatile StrategySlot[] slots = new StrategySlot[0];
+        // Guarded by the bot's lifecycle lock
+        TimerWheel.Timer timer;
+
+        Sampler(int intervalSeconds, PriceHistory history) {
+            this.intervalSeconds = intervalSeconds;
+            this.history = history;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.trading.ng.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel for large numbers of wall-clock timers.
+ * <p>
+ * Four levels of 256 slots; a level-{@code n} slot spans {@code 256^n} ticks. A timer
+ * is put into the lowest level whose current rotation still contains its deadline and
+ * moves down a level when the wheel reaches its slot, so scheduling and cancelling are
+ * O(1) and a tick only touches timers that are due or cascading. Ticks fall on
+ * multiples of {@code tickMillis} since the epoch.
+ * <p>
+ * New timers reach the wheel thread through a queue; tasks run on {@code executor},
+ * never on the wheel thread, and receive the wall-clock time they were scheduled for.
+ */
+public class TimerWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(TimerWheel.class);
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_MASK = (1 << WHEEL_BITS) - 1;
+    private static final int LEVELS = 4;
+
+    private final String name;
+    private final long tickMillis;
+    private final Executor executor;
+    private final Timer[][] wheels = new Timer[LEVELS][1 << WHEEL_BITS];
+    private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+
+    // Last tick processed; wheel thread only
+    private long currentTick;
+    private Thread worker;
+
+    public TimerWheel(String name, long tickMillis, Executor executor) {
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.executor = executor;
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        currentTick = System.currentTimeMillis() / tickMillis;
+        worker = Thread.ofVirtual().name(name).start(this::run);
+    }
+
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * Run {@code task} once at {@code deadlineMillis}, or on the next tick if that is
+     * already past.
+     */
+    public Timer schedule(long deadlineMillis, LongConsumer task) {
+        Timer timer = new Timer(task, 0, deadlineMillis);
+        pending.add(timer);
+        return timer;
+    }
+
+    /**
+     * Run {@code task} at every wall-clock multiple of {@code periodMillis}, starting
+     * with the next one. Deadlines advance by exactly one period so the schedule never
+     * drifts; periods missed entirely (e.g. a clock jump) are skipped, as is a period
+     * whose deadline comes round while the previous run is still going.
+     */
+    public Timer scheduleAtFixedRate(long periodMillis, LongConsumer task) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Timer period must be positive: " + periodMillis);
+        }
+        long now = System.currentTimeMillis();
+        Timer timer = new Timer(task, periodMillis, (now / periodMillis + 1) * periodMillis);
+        pending.add(timer);
+        return timer;
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long target = System.currentTimeMillis() / tickMillis;
+                for (Timer timer; (timer = pending.poll()) != null; ) {
+                    insert(timer);
+                }
+                while (currentTick < target) {
+                    advance(++currentTick);
+                }
+                // Wake on the next tick boundary; a clock stepped back only waits a tick at a time
+                long wait = (currentTick + 1) * tickMillis - System.currentTimeMillis();
+                Thread.sleep(Math.clamp(wait, 1, tickMillis));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cascade the higher-level slots that start at {@code tick} down the wheel, then
+     * fire everything due in the level-0 slot.
+     */
+    private void advance(long tick) {
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            int shift = WHEEL_BITS * level;
+            if ((tick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            int slot = (int) (tick >>> shift) & WHEEL_MASK;
+            Timer timer = wheels[level][slot];
+            wheels[level][slot] = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.next = null;
+                insert(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private void insert(Timer timer) {
+        if (timer.cancelled) {
+            return;
+        }
+        long tick = timer.deadlineTick;
+        if (tick <= currentTick) {
+            fire(timer);
+            return;
+        }
+        // Lowest level whose current rotation contains the deadline
+        int level = 0;
+        while (level < LEVELS - 1
+                && (tick >>> (WHEEL_BITS * (level + 1))) != (currentTick >>> (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) (tick >>> (WHEEL_BITS * level)) & WHEEL_MASK;
+        timer.next = wheels[level][slot];
+        wheels[level][slot] = timer;
+    }
+
+    private void fire(Timer timer) {
+        long scheduledMillis = timer.deadlineMillis;
+        if (timer.periodMillis > 0) {
+            long now = currentTick * tickMillis;
+            long next = scheduledMillis + timer.periodMillis;
+            if (next <= now) {
+                next += ((now - next) / timer.periodMillis + 1) * timer.periodMillis;
+            }
+            timer.setDeadline(next);
+            insert(timer);
+        }
+        if (!timer.running.compareAndSet(false, true)) {
+            log.debug("{}: previous run still going, {} skipped", name, Instant.ofEpochMilli(scheduledMillis));
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!timer.cancelled) {
+                        timer.task.accept(scheduledMillis);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("{} timer error: {}", name, e.getMessage(), e);
+                } finally {
+                    timer.running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            timer.running.set(false);
+            log.warn("{}: task for {} rejected", name, Instant.ofEpochMilli(scheduledMillis));
+        }
+    }
+
+    /**
+     * Handle to a scheduled task. Cancelled timers are unlinked lazily when the
+     * wheel next reaches their slot.
+     */
+    public final class Timer {
+
+        private final LongConsumer task;
+        private final long periodMillis;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile boolean cancelled;
+        // Wheel thread only after the timer has been queued
+        private long deadlineMillis;
+        private long deadlineTick;
+        private Timer next;
+
+        private Timer(LongConsumer task, long periodMillis, long deadlineMillis) {
+            this.task = task;
+            this.periodMillis = periodMillis;
+            setDeadline(deadlineMillis);
+        }
+
+        private void setDeadline(long millis) {
+            deadlineMillis = millis;
+            deadlineTick = Math.ceilDiv(millis, tickMillis);
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public long getPeriodMillis() {
+            return periodMillis;
+        }
+    }
+}
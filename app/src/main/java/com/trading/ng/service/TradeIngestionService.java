@@ -0,0 +1,194 @@
+package com.trading.ng.service;
+
+import com.trading.ng.repository.TradeBatchRepository;
+import com.trading.ng.repository.TradeRepository;
+import com.trading.ng.repository.TradingOrderRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stores every fill in the {@code trades} table. Fills pushed by the exchange
+ * are queued and written by a single background thread in JDBC batches; a
+ * periodic {@code myTrades} catch-up pages forward from the highest stored
+ * trade id per symbol to pick up anything the stream missed (or months of
+ * history on first run). Both paths upsert on the Binance trade id, so a fill
+ * seen twice is stored once.
+ * <p>
+ * A batch that fails to write is retried with backoff rather than dropped. A
+ * fill that never makes it into the queue leaves a per-symbol rescan mark, so
+ * the next catch-up starts from that fill instead of after the newest stored one.
+ */
+@Service
+public class TradeIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeIngestionService.class);
+    private static final int BATCH_SIZE = 500;
+    private static final int QUEUE_CAPACITY = 100_000;
+    // myTrades page size limit
+    private static final int PAGE_SIZE = 1000;
+    private static final long THROTTLED_RETRY_MILLIS = 1000;
+    private static final long WRITE_RETRY_MILLIS = 1000;
+    private static final long MAX_WRITE_RETRY_MILLIS = 30_000;
+
+    private final ExchangeClient exchangeClient;
+    private final TradeBatchRepository batchRepo;
+    private final TradeRepository tradeRepo;
+    private final TradingOrderRepository orderRepo;
+
+    private final BlockingQueue<ExchangeFill> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    // Lowest trade id per symbol that was received but never queued for writing
+    private final Map<String, Long> rescanFrom = new ConcurrentHashMap<>();
+    private final List<Consumer<ExchangeFill>> catchUpListeners = new CopyOnWriteArrayList<>();
+    private volatile Thread writer;
+
+    public TradeIngestionService(
+            ExchangeClient exchangeClient,
+            TradeBatchRepository batchRepo,
+            TradeRepository tradeRepo,
+            TradingOrderRepository orderRepo) {
+        this.exchangeClient = exchangeClient;
+        this.batchRepo = batchRepo;
+        this.tradeRepo = tradeRepo;
+        this.orderRepo = orderRepo;
+        exchangeClient.addFillListener(this::onFill);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWriter() {
+        writer = Thread.ofVirtual().name("trade-writer").start(this::writeLoop);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = writer;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Called with every fill stored by a catch-up, in trade id order per symbol.
+     * These include fills the stream delivered too, so listeners must dedupe.
+     */
+    public void addCatchUpListener(Consumer<ExchangeFill> listener) {
+        catchUpListeners.add(listener);
+    }
+
+    private void onFill(ExchangeFill fill) {
+        if (!pending.offer(fill)) {
+            // The next catch-up will fetch it from the exchange
+            rescanFrom.merge(fill.symbol(), fill.tradeId(), Math::min);
+            log.warn("Trade queue full, dropping fill {} for {}", fill.tradeId(), fill.symbol());
+        }
+    }
+
+    private void writeLoop() {
+        List<ExchangeFill> batch = new ArrayList<>(BATCH_SIZE);
+        long retryMillis = WRITE_RETRY_MILLIS;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (batch.isEmpty()) {
+                    batch.add(pending.take());
+                    pending.drainTo(batch, BATCH_SIZE - 1);
+                }
+                batchRepo.upsertAll(batch);
+                batch.clear();
+                retryMillis = WRITE_RETRY_MILLIS;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Keep the batch for the next attempt; new fills wait in the queue meanwhile
+                log.error("Failed to store {} fills, retrying in {} ms: {}", batch.size(), retryMillis, e.getMessage());
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                retryMillis = Math.min(retryMillis * 2, MAX_WRITE_RETRY_MILLIS);
+            }
+        }
+        // Flush what was already received; anything lost here is recovered by the catch-up
+        pending.drainTo(batch);
+        try {
+            batchRepo.upsertAll(batch);
+        } catch (Exception e) {
+            log.warn("Failed to flush {} fills on shutdown: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Page through {@code myTrades} for every symbol we have ordered, starting
+     * after the newest stored trade, or at the oldest fill that was dropped
+     * before it could be stored.
+     */
+    @Scheduled(fixedDelayString = "${trades.catch-up-seconds:300}000")
+    public void catchUp() {
+        for (String symbol : orderRepo.findDistinctSymbols()) {
+            try {
+                int stored = catchUp(symbol);
+                if (stored > 0) {
+                    log.info("{}: caught up {} fills from the exchange", symbol, stored);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("{}: trade catch-up failed: {}", symbol, e.getMessage());
+            }
+        }
+    }
+
+    private int catchUp(String symbol) throws InterruptedException {
+        Long maxId = tradeRepo.findMaxBinanceTradeId(symbol);
+        long fromId = maxId != null ? maxId + 1 : 0;
+        // Fills dropped from here on set a fresh mark for the next run
+        Long dropped = rescanFrom.remove(symbol);
+        if (dropped != null && dropped < fromId) {
+            fromId = dropped;
+        }
+        int stored = 0;
+        try {
+            while (true) {
+                List<ExchangeFill> page;
+                try {
+                    page = exchangeClient.getMyTrades(symbol, fromId, PAGE_SIZE);
+                } catch (RestThrottledException e) {
+                    Thread.sleep(THROTTLED_RETRY_MILLIS);
+                    continue;
+                }
+                if (page.isEmpty()) {
+                    return stored;
+                }
+                batchRepo.upsertAll(page);
+                for (ExchangeFill fill : page) {
+                    catchUpListeners.forEach(l -> l.accept(fill));
+                }
+                stored += page.size();
+                fromId = page.getLast().tradeId() + 1;
+                if (page.size() < PAGE_SIZE) {
+                    return stored;
+                }
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            if (dropped != null) {
+                // Resume where this run stopped rather than after the newest stored trade
+                rescanFrom.merge(symbol, fromId, Math::min);
+            }
+            throw e;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.trading.ng.service;
 
 import com.trading.ng.config.BotProperties;
+import com.trading.ng.config.ExecutionProperties;
+import com.trading.ng.domain.ExecutionAlgo;
 import com.trading.ng.domain.OrderSide;
 import com.trading.ng.domain.OrderType;
 import com.trading.ng.dto.*;
+import com.trading.ng.util.FixedDecimal;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -16,46 +19,62 @@ import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class TradingBotService {
 
     private static final Logger log = LoggerFactory.getLogger(TradingBotService.class);
-    private static final int PRICE_SCALE = 8;
     private static final int MAX_HISTORY_SIZE = 200;
+    private static final long SAMPLING_TICK_MILLIS = 10;
+    private static final int MAX_CONFIG_HISTORY = 100;
+    // Name of the bot's interest in market data streams
+    private static final String MARKET_DATA_CONSUMER = "bot";
 
     private final MarketDataStreamService marketDataService;
     private final OrderService orderService;
     private final PortfolioService portfolioService;
     private final SmaCalculationService smaService;
     private final VortexCalculationService vortexService;
-
-    // Active strategy
-    private volatile AbstractSignalCalculationService activeStrategy;
-    private volatile StrategyType strategyType;
-
-    // Mutable runtime configuration
-    private volatile BigDecimal orderSizePercent;
-    private volatile int cooldownSeconds;
-    private volatile BigDecimal minOrderSizeEur;
-    private volatile int samplingIntervalSeconds;
-    private volatile String quoteAsset;
-    private volatile List<String> symbols;
+    private final SymbolOwnershipService ownershipService;
+    private final MarketDataBackfillService backfillService;
+    private final BarStoreService barStore;
+    private final SymbolFilterCache filterCache;
+    private final SlicedExecutionService executionService;
+    private final AdaptiveSamplingService adaptiveSampling;
+    private final BatchIndicatorEngine batchEngine;
+
+    // Orders worth more than sliceAboveNotional are worked with botAlgo, when set
+    private final ExecutionAlgo botAlgo;
+    private final long sliceAboveNotional;
+
+    // Runtime configuration: replaced as a whole by updateConfig, read once per sample
+    private final AtomicReference<BotConfig> config;
+    // Newest first, with the settings each version changed; written under lifecycleLock
+    private final Deque<ConfigVersion> configHistory = new ConcurrentLinkedDeque<>();
 
     // Bot lifecycle
     private volatile boolean running = false;
     private volatile Instant startedAt;
 
-    // Per-symbol state
-    private final Map<String, List<BigDecimal>> priceHistory = new ConcurrentHashMap<>();
-    private final Map<String, BigDecimal> positions = new ConcurrentHashMap<>();
-    private final Map<String, Instant> lastTradeTime = new ConcurrentHashMap<>();
-    private final Map<String, BigDecimal[]> prevIndicators = new ConcurrentHashMap<>();
+    // Per-symbol state in config symbol order, and the same states by symbol for resolving
+    // price updates; both replaced whole under lifecycleLock
+    private volatile SymbolState[] states = new SymbolState[0];
+    private volatile Map<String, SymbolState> statesBySymbol = Map.of();
+
+    // Guarded by lifecycleLock
+    private TimerWheel.Timer adaptTimer;
+    // In batch mode one timer per sampling interval in use samples every symbol on it; guarded by lifecycleLock
+    private final Map<Integer, TimerWheel.Timer> batchTimers = new HashMap<>();
+    private final TimerWheel samplingWheel = new TimerWheel("bot-sampling", SAMPLING_TICK_MILLIS,
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bot-sample-", 0).factory()));
 
     private final ReentrantLock lifecycleLock = new ReentrantLock();
     private final boolean autoStart;
+    private final boolean batchEvaluation;
 
     public TradingBotService(
             MarketDataStreamService marketDataService,
@@ -63,24 +82,59 @@ public class TradingBotService {
             PortfolioService portfolioService,
             SmaCalculationService smaService,
             VortexCalculationService vortexService,
-            BotProperties botProperties) {
+            SymbolOwnershipService ownershipService,
+            MarketDataBackfillService backfillService,
+            BarStoreService barStore,
+            SymbolFilterCache filterCache,
+            SlicedExecutionService executionService,
+            AdaptiveSamplingService adaptiveSampling,
+            BatchIndicatorEngine batchEngine,
+            BotProperties botProperties,
+            ExecutionProperties executionProperties) {
 
         this.marketDataService = marketDataService;
         this.orderService = orderService;
         this.portfolioService = portfolioService;
         this.smaService = smaService;
         this.vortexService = vortexService;
+        this.ownershipService = ownershipService;
+        this.backfillService = backfillService;
+        this.barStore = barStore;
+        this.filterCache = filterCache;
+        this.executionService = executionService;
+        this.adaptiveSampling = adaptiveSampling;
+        this.batchEngine = batchEngine;
+        this.botAlgo = executionProperties.botAlgo();
+        this.sliceAboveNotional = executionProperties.sliceAboveNotional() != null
+                ? FixedDecimal.fromBigDecimal(executionProperties.sliceAboveNotional()) : 0;
+
+        BotConfig initial = BotConfig.from(botProperties);
+        this.config = new AtomicReference<>(initial);
+        this.configHistory.addFirst(new ConfigVersion(initial, List.of()));
+        this.autoStart = botProperties.enabled();
+        this.batchEvaluation = botProperties.batchEvaluation();
+        syncSlots();
+        marketDataService.addPriceListener(this::onTick);
+    }
 
-        this.strategyType = botProperties.strategy();
-        this.activeStrategy = selectStrategy(this.strategyType);
+    private void onTick(MarketTick tick) {
+        SymbolState state = statesBySymbol.get(tick.symbol());
+        if (state != null) {
+            state.latestTick = tick;
+        }
+    }
 
-        this.samplingIntervalSeconds = botProperties.samplingIntervalSeconds();
-        this.orderSizePercent = botProperties.orderSizePercent();
-        this.cooldownSeconds = botProperties.cooldownSeconds();
-        this.minOrderSizeEur = botProperties.minOrderSizeEur();
-        this.quoteAsset = botProperties.quoteAsset();
-        this.symbols = new ArrayList<>(botProperties.symbols());
-        this.autoStart = botProperties.enabled();
+    /**
+     * A published config version and the settings it changed from its predecessor.
+     */
+    private record ConfigVersion(BotConfig config, List<String> changedFields) {
+    }
+
+    /**
+     * The configuration snapshot currently in effect.
+     */
+    public BotConfig getConfig() {
+        return config.get();
     }
 
     private AbstractSignalCalculationService selectStrategy(StrategyType type) {
@@ -90,6 +144,194 @@ public class TradingBotService {
         };
     }
 
+    /**
+     * Sampling interval of a strategy on a symbol: the per-symbol override, then the
+     * per-strategy override, then the symbol's adaptive interval when enabled, then the
+     * default. Slots with equal intervals on a symbol share one sampler and history.
+     */
+    int samplingIntervalFor(BotConfig cfg, SymbolState state, StrategyType type) {
+        Integer seconds = cfg.samplingOverrideFor(state.symbol, type);
+        if (seconds != null) {
+            return seconds;
+        }
+        return state.adaptiveInterval > 0 ? state.adaptiveInterval : cfg.samplingIntervalSeconds();
+    }
+
+    /**
+     * Bring per-symbol state in line with the current config: new symbols get a state,
+     * dropped ones lose theirs, slots follow the strategy assignment and samplers the
+     * intervals in use. Slots and histories that stay in use keep their state; a
+     * history whose interval is no longer used is dropped rather than resampled.
+     * Sampling timers run only while the bot does — one per sampler, or one per interval
+     * in batch mode. Called under lifecycleLock, or
+     * from the constructor.
+     */
+    private void syncSlots() {
+        BotConfig cfg = config.get();
+        List<String> symbols = cfg.symbols();
+        for (SymbolState state : states) {
+            if (!symbols.contains(state.symbol)) {
+                for (StrategySlot slot : state.slots) {
+                    if (slot != null && slot.getPosition() != 0) {
+                        log.warn("{} [{}]: evicted with open position {}",
+                                state.symbol, slot.getStrategyType(), FixedDecimal.toString(slot.getPosition()));
+                    }
+                }
+                for (SymbolState.Sampler sampler : state.samplers) {
+                    cancelTimer(sampler);
+                }
+                log.info("{}: bot state evicted", state.symbol);
+            }
+        }
+
+        SymbolState[] next = new SymbolState[symbols.size()];
+        Map<String, SymbolState> bySymbol = new HashMap<>();
+        for (int i = 0; i < next.length; i++) {
+            String symbol = symbols.get(i);
+            SymbolState state = statesBySymbol.get(symbol);
+            if (state == null) {
+                state = new SymbolState(symbol);
+                state.latestTick = marketDataService.getLatestTick(symbol);
+                if (adaptiveSampling.isEnabled()) {
+                    state.adaptiveInterval = adaptiveSampling.initialInterval(cfg.samplingIntervalSeconds());
+                }
+            }
+            syncSymbol(cfg, state);
+            next[i] = state;
+            bySymbol.put(symbol, state);
+        }
+        states = next;
+        statesBySymbol = Map.copyOf(bySymbol);
+        syncBatchTimers();
+        syncAdaptTimer();
+    }
+
+    private void syncSymbol(BotConfig cfg, SymbolState state) {
+        List<StrategyType> assigned = cfg.strategiesFor(state.symbol);
+        StrategySlot[] slots = new StrategySlot[state.slots.length];
+        Map<Integer, List<StrategySlot>> byInterval = new TreeMap<>();
+        for (StrategyType type : assigned) {
+            StrategySlot slot = state.slot(type);
+            slots[type.ordinal()] = slot != null ? slot : new StrategySlot(state.symbol, type);
+            byInterval.computeIfAbsent(samplingIntervalFor(cfg, state, type), k -> new ArrayList<>())
+                    .add(slots[type.ordinal()]);
+        }
+        state.slots = slots;
+
+        SymbolState.Sampler[] samplers = new SymbolState.Sampler[byInterval.size()];
+        int k = 0;
+        for (Map.Entry<Integer, List<StrategySlot>> entry : byInterval.entrySet()) {
+            SymbolState.Sampler sampler = state.sampler(entry.getKey());
+            if (sampler == null) {
+                sampler = new SymbolState.Sampler(entry.getKey(), seededHistory(state.symbol, entry.getKey()));
+            } else if (sampler.history.size() == 0) {
+                // Created before the bar store held this symbol's bars, e.g. at startup
+                PriceHistory seeded = seededHistory(state.symbol, entry.getKey());
+                if (seeded.size() > 0) {
+                    cancelTimer(sampler);
+                    sampler = new SymbolState.Sampler(entry.getKey(), seeded);
+                }
+            }
+            sampler.slots = entry.getValue().toArray(new StrategySlot[0]);
+            samplers[k++] = sampler;
+        }
+        for (SymbolState.Sampler old : state.samplers) {
+            if (!byInterval.containsKey(old.intervalSeconds)) {
+                cancelTimer(old);
+            }
+        }
+        state.samplers = samplers;
+        for (SymbolState.Sampler sampler : samplers) {
+            if (!running || batchEvaluation) {
+                cancelTimer(sampler);
+            } else if (sampler.timer == null) {
+                samplingWheel.start();
+                SymbolState.Sampler target = sampler;
+                sampler.timer = samplingWheel.scheduleAtFixedRate(
+                        sampler.intervalSeconds * 1000L, sampleMillis -> sample(state, target, sampleMillis));
+            }
+        }
+    }
+
+    /**
+     * New history for a sampler, filled from the bar store as far as it holds every
+     * bar on the interval's grid, so the strategies need not warm up from scratch.
+     */
+    private PriceHistory seededHistory(String symbol, int intervalSeconds) {
+        PriceHistory history = new PriceHistory(MAX_HISTORY_SIZE);
+        BarSeries bars = barStore.getSeries(symbol);
+        if (bars == null || bars.size() == 0) {
+            return history;
+        }
+        long step = intervalSeconds * 1000L;
+        long now = System.currentTimeMillis();
+        long last = now - now % step;
+        long firstClose = bars.openTime(0) + bars.barMillis();
+        long first = Math.max(last - (MAX_HISTORY_SIZE - 1) * step, firstClose + Math.floorMod(-firstClose, step));
+        long[] prices = first <= last ? bars.samplePrices(first - step, last + 1, step, MAX_HISTORY_SIZE) : null;
+        if (prices == null || prices.length == 0) {
+            return history;
+        }
+        for (int i = 0; i < prices.length - 1; i++) {
+            history.add(prices[i]);
+        }
+        history.add(prices[prices.length - 1], last);
+        log.info("{}: {}s history seeded with {} samples from the bar store", symbol, intervalSeconds, prices.length);
+        return history;
+    }
+
+    private static void cancelTimer(SymbolState.Sampler sampler) {
+        if (sampler.timer != null) {
+            sampler.timer.cancel();
+            sampler.timer = null;
+        }
+    }
+
+    /**
+     * In batch mode, keep exactly one timer for each sampling interval some sampler uses.
+     */
+    private void syncBatchTimers() {
+        if (!batchEvaluation) {
+            return;
+        }
+        Set<Integer> intervals = new HashSet<>();
+        if (running) {
+            for (SymbolState state : states) {
+                for (SymbolState.Sampler sampler : state.samplers) {
+                    intervals.add(sampler.intervalSeconds);
+                }
+            }
+        }
+        batchTimers.entrySet().removeIf(entry -> {
+            if (intervals.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
+        for (int interval : intervals) {
+            if (!batchTimers.containsKey(interval)) {
+                samplingWheel.start();
+                batchTimers.put(interval, samplingWheel.scheduleAtFixedRate(
+                        interval * 1000L, sampleMillis -> sampleBatch(interval, sampleMillis)));
+            }
+        }
+    }
+
+    /**
+     * Adaptive intervals are revisited on a timer of their own while the bot runs.
+     */
+    private void syncAdaptTimer() {
+        if (running && adaptiveSampling.isEnabled() && adaptTimer == null) {
+            samplingWheel.start();
+            adaptTimer = samplingWheel.scheduleAtFixedRate(
+                    adaptiveSampling.getAdjustSeconds() * 1000L, t -> adaptIntervals());
+        } else if (!running && adaptTimer != null) {
+            adaptTimer.cancel();
+            adaptTimer = null;
+        }
+    }
+
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
         if (autoStart) {
@@ -105,13 +347,13 @@ public class TradingBotService {
                 log.warn("Bot is already running");
                 return;
             }
-            for (String symbol : symbols) {
-                priceHistory.putIfAbsent(symbol, Collections.synchronizedList(new ArrayList<>()));
-                positions.putIfAbsent(symbol, BigDecimal.ZERO);
-            }
+            BotConfig cfg = config.get();
+            marketDataService.subscribeSymbols(MARKET_DATA_CONSUMER, cfg.symbols());
             running = true;
             startedAt = Instant.now();
-            log.info("Trading bot STARTED — strategy={}, symbols={}", strategyType, symbols);
+            syncSlots();
+            log.info("Trading bot STARTED — strategy={}, symbolStrategies={}, symbols={}",
+                    cfg.defaultStrategy(), cfg.symbolStrategies(), cfg.symbols());
         } finally {
             lifecycleLock.unlock();
         }
@@ -126,6 +368,7 @@ public class TradingBotService {
             }
             running = false;
             startedAt = null;
+            syncSlots();
             log.info("Trading bot STOPPED");
         } finally {
             lifecycleLock.unlock();
@@ -136,266 +379,642 @@ public class TradingBotService {
         return running;
     }
 
-    @Scheduled(fixedDelayString = "${bot.sampling-interval-seconds:60}000")
-    public void scheduledTick() {
+    @PreDestroy
+    public void shutdown() {
+        samplingWheel.stop();
+    }
+
+    /**
+     * Take one sample into {@code sampler}'s history and evaluate the slots sampled at
+     * its interval. Runs on the sampling wheel at wall-clock multiples of the interval;
+     * {@code sampleMillis} is that aligned time.
+     */
+    void sample(SymbolState state, SymbolState.Sampler sampler, long sampleMillis) {
         if (!running) {
             return;
         }
+        BotConfig cfg = config.get();
+        if (!takeSample(state, sampler, sampleMillis)) {
+            return;
+        }
         try {
-            tick();
+            for (StrategySlot slot : sampler.slots) {
+                evaluateSlot(slot, sampler.history, cfg);
+            }
         } catch (Exception e) {
-            log.error("Bot tick error: {}", e.getMessage(), e);
+            log.error("Error processing symbol {}: {}", state.symbol, e.getMessage(), e);
         }
     }
 
-    void tick() {
-        for (String symbol : symbols) {
-            try {
-                PriceUpdate priceUpdate = marketDataService.getLatestPrice(symbol);
-                if (priceUpdate == null) {
-                    log.debug("No price data yet for {}", symbol);
-                    continue;
-                }
+    /**
+     * Append the latest price to {@code sampler}'s history at {@code sampleMillis}.
+     *
+     * @return {@code false} if nothing was sampled and the slots should not be evaluated
+     */
+    private boolean takeSample(SymbolState state, SymbolState.Sampler sampler, long sampleMillis) {
+        String symbol = state.symbol;
+        // Another node trades this symbol
+        if (!ownershipService.isOwned(symbol)) {
+            return false;
+        }
+        try {
+            MarketTick marketTick = state.latestTick;
+            if (marketTick == null) {
+                log.debug("No price data yet for {}", symbol);
+                return false;
+            }
+            // Never repeat a frozen price into the indicators; the gap is backfilled on recovery
+            if (marketDataService.isStale(symbol)) {
+                log.debug("{}: market data stale, sample skipped", symbol);
+                return false;
+            }
 
-                List<BigDecimal> history = priceHistory.computeIfAbsent(
-                        symbol, k -> Collections.synchronizedList(new ArrayList<>()));
-                history.add(priceUpdate.price());
+            PriceHistory history = sampler.history;
+            backfillGap(symbol, history, sampler.intervalSeconds, sampleMillis);
+            history.add(marketTick.price(), sampleMillis);
+            return true;
 
-                while (history.size() > MAX_HISTORY_SIZE) {
-                    history.removeFirst();
-                }
+        } catch (Exception e) {
+            log.error("Error processing symbol {}: {}", symbol, e.getMessage(), e);
+            return false;
+        }
+    }
 
-                evaluateSymbol(symbol);
+    /**
+     * Batch-mode counterpart of {@link #sample}: take this instant's sample for every
+     * symbol sampled every {@code intervalSeconds}, then evaluate each strategy across
+     * all of those symbols at once.
+     */
+    void sampleBatch(int intervalSeconds, long sampleMillis) {
+        if (!running) {
+            return;
+        }
+        BotConfig cfg = config.get();
+        StrategyType[] types = StrategyType.values();
+        List<List<StrategySlot>> slotsByType = new ArrayList<>(types.length);
+        List<List<PriceHistory>> historiesByType = new ArrayList<>(types.length);
+        for (int t = 0; t < types.length; t++) {
+            slotsByType.add(new ArrayList<>());
+            historiesByType.add(new ArrayList<>());
+        }
+        for (SymbolState state : states) {
+            SymbolState.Sampler sampler = state.sampler(intervalSeconds);
+            if (sampler == null || !takeSample(state, sampler, sampleMillis)) {
+                continue;
+            }
+            for (StrategySlot slot : sampler.slots) {
+                int t = slot.getStrategyType().ordinal();
+                slotsByType.get(t).add(slot);
+                historiesByType.get(t).add(sampler.history);
+            }
+        }
+        for (StrategyType type : types) {
+            List<StrategySlot> slots = slotsByType.get(type.ordinal());
+            if (slots.isEmpty()) {
+                continue;
+            }
+            try {
+                evaluateBatch(type, slots, historiesByType.get(type.ordinal()), cfg);
+            } catch (Exception e) {
+                log.error("Error evaluating {} batch of {} symbols: {}", type, slots.size(), e.getMessage(), e);
+            }
+        }
+    }
 
+    /**
+     * Evaluate one strategy for several symbols: {@code slots.get(i)} is sampled into
+     * {@code histories.get(i)}. Signals are the same as {@link #evaluateSlot} would give.
+     */
+    private void evaluateBatch(StrategyType type, List<StrategySlot> slots, List<PriceHistory> histories,
+                               BotConfig cfg) {
+        int n = slots.size();
+        PriceMatrix closes = PriceMatrix.of(histories, selectStrategy(type).getRequiredDataPoints(cfg));
+        long[] fast = new long[n];
+        long[] slow = new long[n];
+        boolean[] computed = new boolean[n];
+        batchEngine.computeIndicators(type, cfg, closes, fast, slow, computed);
+
+        // Zeros where there is no previous value; those results are discarded as first calculations
+        long[] prevFast = new long[n];
+        long[] prevSlow = new long[n];
+        for (int i = 0; i < n; i++) {
+            long[] prev = slots.get(i).prevIndicators();
+            if (prev != null) {
+                prevFast[i] = prev[0];
+                prevSlow[i] = prev[1];
+            }
+        }
+        SignalType[] signals = new SignalType[n];
+        batchEngine.detectSignals(prevFast, prevSlow, fast, slow, n, signals);
+
+        for (int i = 0; i < n; i++) {
+            StrategySlot slot = slots.get(i);
+            if (!computed[i]) {
+                log.debug("{} [{}]: insufficient data ({} samples)", slot.getSymbol(), type, histories.get(i).size());
+                continue;
+            }
+            long[] currIndicators = slot.currIndicators();
+            currIndicators[0] = fast[i];
+            currIndicators[1] = slow[i];
+            try {
+                applySignal(slot, signals[i], histories.get(i), cfg);
             } catch (Exception e) {
-                log.error("Error processing symbol {}: {}", symbol, e.getMessage(), e);
+                log.error("Error processing symbol {}: {}", slot.getSymbol(), e.getMessage(), e);
             }
         }
     }
 
-    void evaluateSymbol(String symbol) {
-        List<BigDecimal> history = priceHistory.get(symbol);
-        int requiredDataPoints = activeStrategy.getRequiredDataPoints();
-        if (history == null || history.size() < requiredDataPoints) {
-            log.debug("{}: insufficient data ({}/{} samples)",
-                    symbol, history == null ? 0 : history.size(), requiredDataPoints);
+    /**
+     * Move adaptively sampled symbols one rung along the interval ladder where their
+     * realized volatility calls for it. Each history is carried over to the new grid —
+     * decimated when the interval grows, refilled from the exchange when it shrinks —
+     * so indicators keep seeing evenly spaced samples.
+     */
+    void adaptIntervals() {
+        record Change(SymbolState state, int from, int to, PriceHistory history) {
+        }
+        List<Change> changes = new ArrayList<>();
+        BotConfig cfg = config.get();
+        for (SymbolState state : states) {
+            int current = state.adaptiveInterval;
+            if (current == 0 || cfg.symbolSamplingIntervals().containsKey(state.symbol)) {
+                continue;
+            }
+            int next = adaptiveSampling.nextInterval(state.symbol, current);
+            if (next == current) {
+                continue;
+            }
+            // Resampling may call the exchange, so it happens outside the lifecycle lock
+            SymbolState.Sampler source = state.sampler(current);
+            PriceHistory resampled = state.sampler(next) != null
+                    ? null : resample(state.symbol, source != null ? source.history : null, current, next);
+            changes.add(new Change(state, current, next, resampled));
+        }
+        if (changes.isEmpty()) {
             return;
         }
 
-        BigDecimal[] currIndicators = activeStrategy.computeIndicators(history);
-        if (currIndicators == null) {
+        lifecycleLock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            for (Change change : changes) {
+                SymbolState state = change.state();
+                if (statesBySymbol.get(state.symbol) != state || state.adaptiveInterval != change.from()) {
+                    continue;
+                }
+                if (change.history() != null && state.sampler(change.to()) == null) {
+                    // Adopted by syncSlots as the history for the new interval
+                    SymbolState.Sampler[] samplers = Arrays.copyOf(state.samplers, state.samplers.length + 1);
+                    samplers[samplers.length - 1] = new SymbolState.Sampler(change.to(), change.history());
+                    state.samplers = samplers;
+                }
+                state.adaptiveInterval = change.to();
+                Double volatility = adaptiveSampling.getVolatilityBps(state.symbol);
+                log.info("{}: sampling every {}s (was {}s), volatility {} bps/min", state.symbol, change.to(),
+                        change.from(), volatility != null ? String.format("%.1f", volatility) : "n/a");
+            }
+            syncSlots();
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Copy of {@code source} on the {@code toSeconds} grid. Both grids are wall-clock
+     * multiples on one ladder, so a coarser grid keeps the samples that fall on it and
+     * a finer one is rebuilt from stored bars or exchange prices; an empty history is
+     * returned when that fails, and the indicators warm up again.
+     */
+    private PriceHistory resample(String symbol, PriceHistory source, int fromSeconds, int toSeconds) {
+        PriceHistory target = new PriceHistory(MAX_HISTORY_SIZE);
+        if (source == null) {
+            return target;
+        }
+        long[] values;
+        long last;
+        synchronized (source) {
+            values = source.toArray();
+            last = source.getLastSampleMillis();
+        }
+        if (last == 0 || values.length == 0) {
+            return target;
+        }
+        long fromStep = fromSeconds * 1000L;
+        long toStep = toSeconds * 1000L;
+        long first = last - (values.length - 1) * fromStep;
+        if (toStep > fromStep) {
+            long time = first;
+            for (long price : values) {
+                if (time % toStep == 0) {
+                    target.add(price, time);
+                }
+                time += fromStep;
+            }
+            return target;
+        }
+        long[] prices = samplePrices(symbol, first - toStep, last, toStep);
+        for (long price : prices) {
+            target.add(price);
+        }
+        // The last grid point is our own sample at the end of the source
+        if (prices.length > 0) {
+            target.add(values[values.length - 1], last);
+        }
+        return target;
+    }
+
+    /**
+     * Fill sampling slots missed since the previous sample, e.g. after a
+     * stream outage, so indicator periods keep their meaning in time.
+     */
+    private void backfillGap(String symbol, PriceHistory history, int intervalSeconds, long now) {
+        long lastSample = history.getLastSampleMillis();
+        long step = intervalSeconds * 1000L;
+        if (lastSample == 0 || now - lastSample < 2 * step) {
             return;
         }
+        long[] missed = samplePrices(symbol, lastSample, now, step);
+        for (long price : missed) {
+            history.add(price);
+        }
+        if (missed.length > 0) {
+            log.info("{}: backfilled {} samples over a {}s gap", symbol, missed.length, (now - lastSample) / 1000);
+        }
+    }
 
-        BigDecimal[] prev = prevIndicators.get(symbol);
-        prevIndicators.put(symbol, currIndicators);
+    /**
+     * Prices on a sampling grid, from the bar store when it holds every bar the grid
+     * needs and from the exchange otherwise.
+     */
+    private long[] samplePrices(String symbol, long fromMillis, long toMillis, long stepMillis) {
+        BarSeries bars = barStore.getSeries(symbol);
+        long[] prices = bars != null ? bars.samplePrices(fromMillis, toMillis, stepMillis, MAX_HISTORY_SIZE) : null;
+        return prices != null
+                ? prices : backfillService.samplePrices(symbol, fromMillis, toMillis, stepMillis, MAX_HISTORY_SIZE);
+    }
+
+    void evaluateSlot(StrategySlot slot, PriceSeries history, BotConfig cfg) {
+        String symbol = slot.getSymbol();
+        StrategyType type = slot.getStrategyType();
+        AbstractSignalCalculationService strategy = selectStrategy(type);
+
+        int requiredDataPoints = strategy.getRequiredDataPoints(cfg);
+        if (history.size() < requiredDataPoints) {
+            log.debug("{} [{}]: insufficient data ({}/{} samples)",
+                    symbol, type, history.size(), requiredDataPoints);
+            return;
+        }
 
-        if (prev == null) {
-            log.debug("{}: first {} calculation, waiting for next tick", symbol, strategyType);
+        long[] currIndicators = slot.currIndicators();
+        if (!strategy.computeIndicators(history, cfg, currIndicators)) {
             return;
         }
 
-        SignalType signal = activeStrategy.detectSignal(prev, currIndicators);
+        applySignal(slot, strategy.detectSignal(slot.prevIndicators(), currIndicators), history, cfg);
+    }
+
+    /**
+     * Roll the indicators just written to {@code slot.currIndicators()} and act on
+     * {@code signal}, which is ignored on a slot's first calculation.
+     */
+    private void applySignal(StrategySlot slot, SignalType signal, PriceSeries history, BotConfig cfg) {
+        String symbol = slot.getSymbol();
+        StrategyType type = slot.getStrategyType();
+        boolean first = slot.prevIndicators() == null;
+        slot.rollIndicators();
+
+        if (first) {
+            log.debug("{}: first {} calculation, waiting for next tick", symbol, type);
+            return;
+        }
 
         if (signal == SignalType.NONE) {
             return;
         }
 
+        // slot.rollIndicators() moved the values just computed into the previous buffer
+        long[] latest = slot.prevIndicators();
         log.info("{}: {} signal detected! [{}] fast={}, slow={}",
-                symbol, signal, strategyType, currIndicators[0], currIndicators[1]);
+                symbol, signal, type, FixedDecimal.toString(latest[0]), FixedDecimal.toString(latest[1]));
 
-        Instant lastTrade = lastTradeTime.get(symbol);
-        if (lastTrade != null && Duration.between(lastTrade, Instant.now()).getSeconds() < cooldownSeconds) {
-            log.info("{}: {} signal suppressed — cooldown active (last trade {}s ago)",
-                    symbol, signal, Duration.between(lastTrade, Instant.now()).getSeconds());
+        Instant lastTrade = slot.getLastTradeTime();
+        if (lastTrade != null && Duration.between(lastTrade, Instant.now()).getSeconds() < cfg.cooldownSeconds()) {
+            log.info("{}: {} signal suppressed [{}] — cooldown active (last trade {}s ago)",
+                    symbol, signal, type, Duration.between(lastTrade, Instant.now()).getSeconds());
             return;
         }
 
-        BigDecimal currentPrice = history.getLast();
+        long currentPrice = history.getLast();
 
         if (signal == SignalType.BUY) {
-            executeBuySignal(symbol, currentPrice);
+            executeBuySignal(slot, currentPrice, cfg);
         } else {
-            executeSellSignal(symbol, currentPrice);
+            executeSellSignal(slot, currentPrice, cfg);
         }
     }
 
-    void executeBuySignal(String symbol, BigDecimal currentPrice) {
-        BigDecimal quantity = calculateBuyQuantity(symbol, currentPrice);
-        if (quantity == null) {
+    void executeBuySignal(StrategySlot slot, long currentPrice, BotConfig cfg) {
+        String symbol = slot.getSymbol();
+        executionService.cancelOpposite(symbol, OrderSide.BUY);
+        long quantity = calculateBuyQuantity(symbol, currentPrice, cfg);
+        if (quantity <= 0) {
             log.warn("{}: BUY signal skipped — insufficient balance or below min order size", symbol);
             return;
         }
 
-        log.info("{}: executing BUY — qty={}, approxPrice={}", symbol, quantity, currentPrice);
+        BigDecimal orderQty = FixedDecimal.toBigDecimal(quantity);
+        log.info("{}: executing BUY [{}] — qty={}, approxPrice={}",
+                symbol, slot.getStrategyType(), orderQty, FixedDecimal.toString(currentPrice));
 
         try {
+            if (shouldSlice(quantity, currentPrice)) {
+                executionService.submit(symbol, OrderSide.BUY, orderQty, botAlgo, slot::addPosition);
+                slot.setLastTradeTime(Instant.now());
+                return;
+            }
             PlaceOrderRequest request = new PlaceOrderRequest(
-                    symbol, OrderSide.BUY, OrderType.MARKET, quantity, null, null, null);
+                    symbol, OrderSide.BUY, OrderType.MARKET, orderQty, null, null, null);
             OrderResponse response = orderService.placeOrder(request);
 
-            BigDecimal executedQty = response.executedQty() != null ? response.executedQty() : quantity;
-            positions.merge(symbol, executedQty, BigDecimal::add);
-            lastTradeTime.put(symbol, Instant.now());
+            BigDecimal executedQty = response.executedQty() != null ? response.executedQty() : orderQty;
+            slot.addPosition(FixedDecimal.fromBigDecimal(executedQty));
+            slot.setLastTradeTime(Instant.now());
 
             log.info("{}: BUY order filled — binanceOrderId={}, executedQty={}, status={}",
                     symbol, response.binanceOrderId(), executedQty, response.status());
 
+        } catch (RiskRejectedException e) {
+            log.warn("{}: BUY signal blocked — {}", symbol, e.getMessage());
         } catch (Exception e) {
             log.error("{}: BUY order FAILED — {}", symbol, e.getMessage(), e);
         }
     }
 
-    void executeSellSignal(String symbol, BigDecimal currentPrice) {
-        BigDecimal quantity = calculateSellQuantity(symbol);
-        if (quantity == null || quantity.compareTo(BigDecimal.ZERO) <= 0) {
-            log.warn("{}: SELL signal skipped — no position to sell", symbol);
+    void executeSellSignal(StrategySlot slot, long currentPrice, BotConfig cfg) {
+        String symbol = slot.getSymbol();
+        executionService.cancelOpposite(symbol, OrderSide.SELL);
+        long sellQuantity = calculateSellQuantity(slot, cfg);
+        long quantity = filterCache.feasibleQuantity(symbol, sellQuantity, currentPrice,
+                feasibilityType(sellQuantity, currentPrice));
+        if (quantity <= 0) {
+            log.warn("{}: SELL signal skipped — no position to sell or below exchange minimums", symbol);
             return;
         }
 
-        BigDecimal orderValueEur = quantity.multiply(currentPrice);
-        if (orderValueEur.compareTo(minOrderSizeEur) < 0) {
+        long orderValueEur = FixedDecimal.multiply(quantity, currentPrice, RoundingMode.HALF_UP);
+        if (orderValueEur < cfg.minOrderSizeEur()) {
             log.warn("{}: SELL signal skipped — order value {} EUR below minimum {} EUR",
-                    symbol, orderValueEur, minOrderSizeEur);
+                    symbol, FixedDecimal.toString(orderValueEur), FixedDecimal.toString(cfg.minOrderSizeEur()));
             return;
         }
 
-        log.info("{}: executing SELL — qty={}, approxPrice={}", symbol, quantity, currentPrice);
+        BigDecimal orderQty = FixedDecimal.toBigDecimal(quantity);
+        log.info("{}: executing SELL [{}] — qty={}, approxPrice={}",
+                symbol, slot.getStrategyType(), orderQty, FixedDecimal.toString(currentPrice));
 
         try {
+            if (shouldSlice(quantity, currentPrice)) {
+                executionService.submit(symbol, OrderSide.SELL, orderQty, botAlgo, filled -> slot.addPosition(-filled));
+                slot.setLastTradeTime(Instant.now());
+                return;
+            }
             PlaceOrderRequest request = new PlaceOrderRequest(
-                    symbol, OrderSide.SELL, OrderType.MARKET, quantity, null, null, null);
+                    symbol, OrderSide.SELL, OrderType.MARKET, orderQty, null, null, null);
             OrderResponse response = orderService.placeOrder(request);
 
-            BigDecimal executedQty = response.executedQty() != null ? response.executedQty() : quantity;
-            positions.merge(symbol, executedQty.negate(), BigDecimal::add);
-            lastTradeTime.put(symbol, Instant.now());
+            BigDecimal executedQty = response.executedQty() != null ? response.executedQty() : orderQty;
+            slot.addPosition(-FixedDecimal.fromBigDecimal(executedQty));
+            slot.setLastTradeTime(Instant.now());
 
             log.info("{}: SELL order filled — binanceOrderId={}, executedQty={}, status={}",
                     symbol, response.binanceOrderId(), executedQty, response.status());
 
+        } catch (RiskRejectedException e) {
+            log.warn("{}: SELL signal blocked — {}", symbol, e.getMessage());
         } catch (Exception e) {
             log.error("{}: SELL order FAILED — {}", symbol, e.getMessage(), e);
         }
     }
 
-    BigDecimal calculateBuyQuantity(String symbol, BigDecimal currentPrice) {
-        AccountBalance eurBalance = portfolioService.getBalance(quoteAsset);
-        BigDecimal freeEur = eurBalance.free();
-        BigDecimal eurToSpend = freeEur.multiply(orderSizePercent);
+    /**
+     * Whether an order is large enough to be worked as a sliced parent order
+     * rather than a single MARKET order.
+     */
+    private boolean shouldSlice(long quantity, long price) {
+        return botAlgo != null && FixedDecimal.multiply(quantity, price, RoundingMode.HALF_UP) > sliceAboveNotional;
+    }
+
+    /**
+     * Type whose exchange filters the bot's quantity must pass: MARKET for a single
+     * order. A sliced parent is only held to LOT_SIZE; each child is checked against
+     * the filters of its own type when it is sent.
+     */
+    private OrderType feasibilityType(long quantity, long price) {
+        return shouldSlice(quantity, price) ? OrderType.LIMIT : OrderType.MARKET;
+    }
+
+    /**
+     * @return fixed-point quantity to buy, or {@code 0} if the order would be below the minimum size
+     */
+    long calculateBuyQuantity(String symbol, long currentPrice, BotConfig cfg) {
+        AccountBalance eurBalance = portfolioService.getBalance(cfg.quoteAsset());
+        long freeEur = FixedDecimal.fromBigDecimal(eurBalance.free());
+        long eurToSpend = FixedDecimal.multiply(freeEur, cfg.orderSizePercent(), RoundingMode.DOWN);
 
-        if (eurToSpend.compareTo(minOrderSizeEur) < 0) {
-            return null;
+        if (eurToSpend < cfg.minOrderSizeEur()) {
+            return 0;
         }
 
-        BigDecimal quantity = eurToSpend.divide(currentPrice, PRICE_SCALE, RoundingMode.DOWN);
-        return quantity.compareTo(BigDecimal.ZERO) > 0 ? quantity : null;
+        long quantity = FixedDecimal.divide(eurToSpend, currentPrice, RoundingMode.DOWN);
+        // Round to the lot step now rather than have the exchange reject the order
+        return Math.max(filterCache.feasibleQuantity(symbol, quantity, currentPrice,
+                feasibilityType(quantity, currentPrice)), 0);
     }
 
-    BigDecimal calculateSellQuantity(String symbol) {
-        String cryptoAsset = symbol.replace(quoteAsset, "");
+    /**
+     * @return fixed-point quantity to sell, or {@code 0} if there is nothing to sell
+     */
+    long calculateSellQuantity(StrategySlot slot, BotConfig cfg) {
+        String symbol = slot.getSymbol();
+        String cryptoAsset = symbol.replace(cfg.quoteAsset(), "");
         AccountBalance cryptoBalance = portfolioService.getBalance(cryptoAsset);
-        BigDecimal sellQuantity = cryptoBalance.free().multiply(orderSizePercent)
-                .setScale(PRICE_SCALE, RoundingMode.DOWN);
-        return sellQuantity.compareTo(BigDecimal.ZERO) > 0 ? sellQuantity : null;
+        long sellQuantity = FixedDecimal.multiply(
+                FixedDecimal.fromBigDecimal(cryptoBalance.free()), cfg.orderSizePercent(), RoundingMode.DOWN);
+        // With several strategies on one symbol, a strategy may only sell what it bought
+        if (cfg.strategiesFor(symbol).size() > 1) {
+            sellQuantity = Math.min(sellQuantity, Math.max(slot.getPosition(), 0));
+        }
+        return Math.max(sellQuantity, 0);
     }
 
+    /**
+     * Apply the non-null fields of {@code request} as a new config version. Writers are
+     * serialized; the new snapshot is published in one step, so concurrent samples see
+     * either the old version or the new one in full.
+     */
     public void updateConfig(BotConfigRequest request) {
         lifecycleLock.lock();
         try {
-            if (request.strategy() != null && request.strategy() != this.strategyType) {
-                this.strategyType = request.strategy();
-                this.activeStrategy = selectStrategy(this.strategyType);
-                prevIndicators.clear();
-                log.info("Strategy switched to {}", strategyType);
-            }
-            if (request.shortSmaPeriod() != null || request.longSmaPeriod() != null) {
-                int shortP = request.shortSmaPeriod() != null
-                        ? request.shortSmaPeriod() : smaService.getShortPeriod();
-                int longP = request.longSmaPeriod() != null
-                        ? request.longSmaPeriod() : smaService.getLongPeriod();
-                if (shortP >= longP) {
-                    throw new IllegalArgumentException(
-                            "shortSmaPeriod (" + shortP + ") must be less than longSmaPeriod (" + longP + ")");
-                }
-                smaService.setPeriods(shortP, longP);
-            }
-            if (request.vortexPeriod() != null) {
-                vortexService.setPeriod(request.vortexPeriod());
+            BotConfig previous = config.get();
+            BotConfig next = previous.apply(request);
+            List<String> changed = next.changedFrom(previous);
+            if (changed.isEmpty()) {
+                log.info("Bot config unchanged at version {}", previous.version());
+                return;
             }
-            if (request.orderSizePercent() != null) {
-                this.orderSizePercent = request.orderSizePercent();
+
+            boolean symbolsChanged = changed.contains("symbols");
+            if (symbolsChanged) {
+                marketDataService.subscribeSymbols(MARKET_DATA_CONSUMER, next.symbols());
             }
-            if (request.cooldownSeconds() != null) {
-                this.cooldownSeconds = request.cooldownSeconds();
+            config.set(next);
+            configHistory.addFirst(new ConfigVersion(next, List.copyOf(changed)));
+            while (configHistory.size() > MAX_CONFIG_HISTORY) {
+                configHistory.removeLast();
             }
-            if (request.minOrderSizeEur() != null) {
-                this.minOrderSizeEur = request.minOrderSizeEur();
-            }
-            if (request.symbols() != null && !request.symbols().isEmpty()) {
-                this.symbols = new ArrayList<>(request.symbols());
-                for (String sym : this.symbols) {
-                    priceHistory.putIfAbsent(sym, Collections.synchronizedList(new ArrayList<>()));
-                    positions.putIfAbsent(sym, BigDecimal.ZERO);
-                }
+            syncSlots();
+            if (symbolsChanged) {
+                marketDataService.unsubscribeSymbols(MARKET_DATA_CONSUMER,
+                        previous.symbols().stream().filter(symbol -> !next.symbols().contains(symbol)).toList());
             }
 
-            log.info("Bot config updated: strategy={}, orderSize={}%, cooldown={}s",
-                    strategyType, orderSizePercent, cooldownSeconds);
+            log.info("Bot config version {} applied, changed {}: strategy={}, symbolStrategies={}, orderSize={}%, "
+                            + "cooldown={}s, sampling={}s, symbolSampling={}, strategySampling={}",
+                    next.version(), changed, next.defaultStrategy(), next.symbolStrategies(),
+                    FixedDecimal.toString(next.orderSizePercent()), next.cooldownSeconds(),
+                    next.samplingIntervalSeconds(), next.symbolSamplingIntervals(), next.strategySamplingIntervals());
 
         } finally {
             lifecycleLock.unlock();
         }
     }
 
-    public BotStatusResponse getStatus() {
-        Map<String, SymbolBotStatus> symbolStatuses = new LinkedHashMap<>();
+    /**
+     * Published config versions, newest first, up to the last {@value #MAX_CONFIG_HISTORY}.
+     */
+    public List<BotConfigVersion> getConfigHistory() {
+        return configHistory.stream()
+                .map(version -> toConfigVersion(version.config(), version.changedFields()))
+                .toList();
+    }
 
-        for (String symbol : symbols) {
-            List<BigDecimal> history = priceHistory.getOrDefault(symbol, List.of());
-            BigDecimal[] indicators = activeStrategy.computeIndicators(history);
+    private static BotConfigVersion toConfigVersion(BotConfig cfg, List<String> changedFields) {
+        return new BotConfigVersion(
+                cfg.version(),
+                cfg.updatedAt(),
+                changedFields,
+                cfg.symbols(),
+                cfg.defaultStrategy(),
+                cfg.symbolStrategies(),
+                cfg.shortSmaPeriod(),
+                cfg.longSmaPeriod(),
+                cfg.vortexPeriod(),
+                cfg.samplingIntervalSeconds(),
+                cfg.symbolSamplingIntervals(),
+                cfg.strategySamplingIntervals(),
+                FixedDecimal.toBigDecimal(cfg.orderSizePercent()),
+                cfg.cooldownSeconds(),
+                FixedDecimal.toBigDecimal(cfg.minOrderSizeEur())
+        );
+    }
 
-            PriceUpdate latestPrice = marketDataService.getLatestPrice(symbol);
+    public BotStatusResponse getStatus() {
+        BotConfig cfg = config.get();
+        Map<String, SymbolBotStatus> symbolStatuses = new LinkedHashMap<>();
 
-            String signalStr;
-            int requiredDataPoints = activeStrategy.getRequiredDataPoints();
-            if (history.size() < requiredDataPoints) {
-                signalStr = "INSUFFICIENT_DATA";
-            } else if (indicators != null && indicators[0] != null && indicators[1] != null) {
-                signalStr = indicators[0].compareTo(indicators[1]) > 0 ? "BULLISH" : "BEARISH";
-            } else {
-                signalStr = "NONE";
+        for (SymbolState state : states) {
+            String symbol = state.symbol;
+            Map<SymbolState.Sampler, PriceHistory> histories = new HashMap<>();
+            MarketTick latestTick = state.latestTick;
+
+            List<StrategySlotStatus> strategyStatuses = new ArrayList<>();
+            List<PriceHistory> slotHistories = new ArrayList<>();
+            BigDecimal totalPosition = BigDecimal.ZERO;
+            Instant lastTradeTime = null;
+            for (StrategyType type : cfg.strategiesFor(symbol)) {
+                StrategySlot slot = state.slot(type);
+                SymbolState.Sampler sampler = slot != null ? state.samplerOf(slot) : null;
+                PriceHistory history = sampler != null
+                        ? histories.computeIfAbsent(sampler, s -> s.history.snapshot()) : new PriceHistory(1);
+                int interval = sampler != null ? sampler.intervalSeconds : samplingIntervalFor(cfg, state, type);
+                StrategySlotStatus slotStatus = slotStatus(type, slot, history, cfg, interval);
+                strategyStatuses.add(slotStatus);
+                slotHistories.add(history);
+                totalPosition = totalPosition.add(slotStatus.positionQuantity());
+                if (slotStatus.lastTradeTime() != null
+                        && (lastTradeTime == null || slotStatus.lastTradeTime().isAfter(lastTradeTime))) {
+                    lastTradeTime = slotStatus.lastTradeTime();
+                }
             }
+            StrategySlotStatus primary = strategyStatuses.getFirst();
+            PriceHistory history = slotHistories.getFirst();
 
-            List<BigDecimal> recentPrices = history.size() <= 10
-                    ? List.copyOf(history)
-                    : List.copyOf(history.subList(history.size() - 10, history.size()));
+            List<BigDecimal> recentPrices = new ArrayList<>();
+            for (int i = Math.max(0, history.size() - 10); i < history.size(); i++) {
+                recentPrices.add(FixedDecimal.toBigDecimal(history.get(i)));
+            }
 
             symbolStatuses.put(symbol, new SymbolBotStatus(
                     symbol,
-                    latestPrice != null ? latestPrice.price() : null,
-                    indicators != null ? indicators[0] : null,
-                    indicators != null ? indicators[1] : null,
-                    signalStr,
+                    latestTick != null ? FixedDecimal.toBigDecimal(latestTick.price()) : null,
+                    primary.fastIndicator(),
+                    primary.slowIndicator(),
+                    primary.signal(),
                     history.size(),
-                    requiredDataPoints,
-                    positions.getOrDefault(symbol, BigDecimal.ZERO),
-                    lastTradeTime.get(symbol),
-                    recentPrices
+                    primary.requiredDataPoints(),
+                    totalPosition,
+                    lastTradeTime,
+                    List.copyOf(recentPrices),
+                    List.copyOf(strategyStatuses),
+                    adaptiveSampling.getVolatilityBps(symbol)
             ));
         }
 
         return new BotStatusResponse(
                 running,
                 startedAt,
-                strategyType,
-                smaService.getShortPeriod(),
-                smaService.getLongPeriod(),
-                vortexService.getPeriod(),
-                samplingIntervalSeconds,
-                orderSizePercent,
-                cooldownSeconds,
+                cfg.version(),
+                cfg.defaultStrategy(),
+                cfg.symbolStrategies(),
+                cfg.shortSmaPeriod(),
+                cfg.longSmaPeriod(),
+                cfg.vortexPeriod(),
+                cfg.samplingIntervalSeconds(),
+                cfg.symbolSamplingIntervals(),
+                cfg.strategySamplingIntervals(),
+                FixedDecimal.toBigDecimal(cfg.orderSizePercent()),
+                cfg.cooldownSeconds(),
                 symbolStatuses
         );
     }
+
+    private StrategySlotStatus slotStatus(StrategyType type, StrategySlot slot, PriceSeries history,
+                                          BotConfig cfg, int samplingIntervalSeconds) {
+        AbstractSignalCalculationService strategy = selectStrategy(type);
+        long[] indicators = new long[2];
+        boolean computed = strategy.computeIndicators(history, cfg, indicators);
+
+        String signalStr;
+        int requiredDataPoints = strategy.getRequiredDataPoints(cfg);
+        if (history.size() < requiredDataPoints) {
+            signalStr = "INSUFFICIENT_DATA";
+        } else if (computed) {
+            signalStr = indicators[0] > indicators[1] ? "BULLISH" : "BEARISH";
+        } else {
+            signalStr = "NONE";
+        }
+
+        return new StrategySlotStatus(
+                type,
+                computed ? FixedDecimal.toBigDecimal(indicators[0]) : null,
+                computed ? FixedDecimal.toBigDecimal(indicators[1]) : null,
+                signalStr,
+                requiredDataPoints,
+                FixedDecimal.toBigDecimal(slot != null ? slot.getPosition() : 0),
+                slot != null ? slot.getLastTradeTime() : null,
+                samplingIntervalSeconds
+        );
+    }
 }
@@ -0,0 +1,84 @@
+package com.trading.ng.service;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link IndicatorKernels} on the incubating Vector API: each vector holds one time
+ * step of {@code SPECIES.length()} consecutive symbols, so the per-bar arithmetic of
+ * that many symbols runs as single SIMD instructions. Elements past the last full
+ * vector go through the scalar kernels.
+ * <p>
+ * Only loaded when the {@code jdk.incubator.vector} module is present at runtime
+ * (see {@link BatchIndicatorEngine}).
+ */
+final class VectorIndicatorKernels implements IndicatorKernels {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private final ScalarIndicatorKernels scalar = new ScalarIndicatorKernels();
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void sums(PriceMatrix closes, int period, long[] out) {
+        long[] c = closes.closes();
+        int n = closes.symbols();
+        int bound = SPECIES.loopBound(n);
+        for (int s = 0; s < bound; s += SPECIES.length()) {
+            LongVector sum = LongVector.zero(SPECIES);
+            for (int t = closes.depth() - period; t < closes.depth(); t++) {
+                sum = sum.add(LongVector.fromArray(SPECIES, c, t * n + s));
+            }
+            sum.intoArray(out, s);
+        }
+        scalar.sums(closes, period, out, bound, n);
+    }
+
+    @Override
+    public void vortexSums(PriceMatrix closes, int period, long[] vmPlus, long[] vmMinus, long[] trueRange) {
+        long[] c = closes.closes();
+        int n = closes.symbols();
+        int bound = SPECIES.loopBound(n);
+        for (int s = 0; s < bound; s += SPECIES.length()) {
+            LongVector sumPlus = LongVector.zero(SPECIES);
+            LongVector sumMinus = LongVector.zero(SPECIES);
+            LongVector sumTr = LongVector.zero(SPECIES);
+            for (int t = closes.depth() - period; t < closes.depth(); t++) {
+                LongVector curr = LongVector.fromArray(SPECIES, c, t * n + s);
+                LongVector prev = LongVector.fromArray(SPECIES, c, (t - 1) * n + s);
+                LongVector prev2 = LongVector.fromArray(SPECIES, c, (t - 2) * n + s);
+                LongVector high = curr.max(prev);
+                LongVector low = curr.min(prev);
+                LongVector prevHigh = prev.max(prev2);
+                LongVector prevLow = prev.min(prev2);
+                sumPlus = sumPlus.add(high.sub(prevLow).abs());
+                sumMinus = sumMinus.add(low.sub(prevHigh).abs());
+                sumTr = sumTr.add(high.sub(low).max(high.sub(prev).abs().max(low.sub(prev).abs())));
+            }
+            sumPlus.intoArray(vmPlus, s);
+            sumMinus.intoArray(vmMinus, s);
+            sumTr.intoArray(trueRange, s);
+        }
+        scalar.vortexSums(closes, period, vmPlus, vmMinus, trueRange, bound, n);
+    }
+
+    @Override
+    public void crossovers(long[] prevFast, long[] prevSlow, long[] currFast, long[] currSlow, int count, long[] out) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            LongVector pf = LongVector.fromArray(SPECIES, prevFast, i);
+            LongVector ps = LongVector.fromArray(SPECIES, prevSlow, i);
+            LongVector cf = LongVector.fromArray(SPECIES, currFast, i);
+            LongVector cs = LongVector.fromArray(SPECIES, currSlow, i);
+            VectorMask<Long> buy = pf.compare(VectorOperators.LE, ps).and(cf.compare(VectorOperators.GT, cs));
+            VectorMask<Long> sell = pf.compare(VectorOperators.GE, ps).and(cf.compare(VectorOperators.LT, cs));
+            LongVector.zero(SPECIES).blend(1L, buy).blend(-1L, sell).intoArray(out, i);
+        }
+        scalar.crossovers(prevFast, prevSlow, currFast, currSlow, out, bound, count);
+    }
+}
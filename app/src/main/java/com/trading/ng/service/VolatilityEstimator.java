@@ -0,0 +1,58 @@
+package com.trading.ng.service;
+
+/**
+ * Exponentially weighted realized variance of log returns per second for one
+ * symbol, updated with O(1) work per price.
+ * <p>
+ * Weights decay with a half-life in wall-clock time and squared returns are
+ * divided by the weighted time they span, so the estimate does not depend on
+ * how often prices arrive. Time since the last price counts as time without
+ * movement.
+ */
+public class VolatilityEstimator {
+
+    // Decay rate per second
+    private final double lambda;
+    private long lastPrice;
+    private long lastMillis;
+    private double weightedSquares;
+    private double weightedSeconds;
+
+    public VolatilityEstimator(int halfLifeSeconds) {
+        this.lambda = Math.log(2) / Math.max(halfLifeSeconds, 1);
+    }
+
+    /**
+     * @param price      fixed-point price
+     * @param timeMillis exchange event time; out-of-order prices are ignored
+     */
+    public synchronized void update(long price, long timeMillis) {
+        if (price <= 0 || timeMillis < lastMillis) {
+            return;
+        }
+        if (lastPrice > 0 && timeMillis > lastMillis) {
+            double decay = decay(timeMillis - lastMillis);
+            double r = Math.log((double) price / lastPrice);
+            weightedSquares = weightedSquares * decay + r * r;
+            weightedSeconds = weightedSeconds * decay + (1 - decay) / lambda;
+        }
+        lastPrice = price;
+        lastMillis = timeMillis;
+    }
+
+    /**
+     * @return variance of log returns per second as of {@code nowMillis}, or {@code 0}
+     *         before the first return
+     */
+    public synchronized double variancePerSecond(long nowMillis) {
+        if (weightedSeconds == 0) {
+            return 0;
+        }
+        double decay = decay(Math.max(nowMillis - lastMillis, 0));
+        return weightedSquares * decay / (weightedSeconds * decay + (1 - decay) / lambda);
+    }
+
+    private double decay(long millis) {
+        return Math.exp(-lambda * millis / 1000.0);
+    }
+}
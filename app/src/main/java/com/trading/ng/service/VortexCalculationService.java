@@ -1,11 +1,8 @@
 package com.trading.ng.service;
 
-import com.trading.ng.config.BotProperties;
+import com.trading.ng.util.FixedDecimal;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.util.List;
-
 /**
  * Vortex Indicator (VI) calculation service.
  * <p>
@@ -26,20 +23,6 @@ import java.util.List;
 @Service
 public class VortexCalculationService extends AbstractSignalCalculationService {
 
-    private volatile int period;
-
-    public VortexCalculationService(BotProperties botProperties) {
-        this.period = botProperties.vortexPeriod();
-    }
-
-    public void setPeriod(int period) {
-        this.period = period;
-    }
-
-    public int getPeriod() {
-        return period;
-    }
-
     /**
      * Compute Vortex Indicator values [VI+, VI-] from close prices.
      * <p>
@@ -48,54 +31,52 @@ public class VortexCalculationService extends AbstractSignalCalculationService {
      * and the close two steps back (for the previous bar's synthetic high/low).
      */
     @Override
-    public BigDecimal[] computeIndicators(List<BigDecimal> prices) {
+    public boolean computeIndicators(PriceSeries prices, BotConfig config, long[] out) {
+        int period = config.vortexPeriod();
         if (prices == null || prices.size() < period + 2) {
-            return null;
+            return false;
         }
 
-        BigDecimal sumVmPlus = BigDecimal.ZERO;
-        BigDecimal sumVmMinus = BigDecimal.ZERO;
-        BigDecimal sumTr = BigDecimal.ZERO;
+        long sumVmPlus = 0;
+        long sumVmMinus = 0;
+        long sumTr = 0;
 
         int startIdx = prices.size() - period;
 
         for (int i = startIdx; i < prices.size(); i++) {
-            BigDecimal curr = prices.get(i);
-            BigDecimal prev = prices.get(i - 1);
-            BigDecimal prev2 = prices.get(i - 2);
+            long curr = prices.get(i);
+            long prev = prices.get(i - 1);
+            long prev2 = prices.get(i - 2);
 
             // Synthetic OHLC from close prices
-            BigDecimal high = curr.max(prev);
-            BigDecimal low = curr.min(prev);
-            BigDecimal prevHigh = prev.max(prev2);
-            BigDecimal prevLow = prev.min(prev2);
+            long high = Math.max(curr, prev);
+            long low = Math.min(curr, prev);
+            long prevHigh = Math.max(prev, prev2);
+            long prevLow = Math.min(prev, prev2);
 
             // VM+ = |High[i] - Low[i-1]|
-            BigDecimal vmPlus = high.subtract(prevLow).abs();
+            long vmPlus = Math.abs(high - prevLow);
             // VM- = |Low[i] - High[i-1]|
-            BigDecimal vmMinus = low.subtract(prevHigh).abs();
+            long vmMinus = Math.abs(low - prevHigh);
             // TR = max(High - Low, |High - Close[i-1]|, |Low - Close[i-1]|)
-            BigDecimal tr = high.subtract(low)
-                    .max(high.subtract(prev).abs())
-                    .max(low.subtract(prev).abs());
+            long tr = Math.max(high - low, Math.max(Math.abs(high - prev), Math.abs(low - prev)));
 
-            sumVmPlus = sumVmPlus.add(vmPlus);
-            sumVmMinus = sumVmMinus.add(vmMinus);
-            sumTr = sumTr.add(tr);
+            sumVmPlus = FixedDecimal.add(sumVmPlus, vmPlus);
+            sumVmMinus = FixedDecimal.add(sumVmMinus, vmMinus);
+            sumTr = FixedDecimal.add(sumTr, tr);
         }
 
-        if (sumTr.compareTo(BigDecimal.ZERO) == 0) {
-            return null;
+        if (sumTr == 0) {
+            return false;
         }
 
-        BigDecimal viPlus = sumVmPlus.divide(sumTr, SCALE, ROUNDING);
-        BigDecimal viMinus = sumVmMinus.divide(sumTr, SCALE, ROUNDING);
-
-        return new BigDecimal[]{viPlus, viMinus};
+        out[0] = FixedDecimal.divide(sumVmPlus, sumTr, ROUNDING);
+        out[1] = FixedDecimal.divide(sumVmMinus, sumTr, ROUNDING);
+        return true;
     }
 
     @Override
-    public int getRequiredDataPoints() {
-        return period + 2;
+    public int getRequiredDataPoints(BotConfig config) {
+        return config.vortexPeriod() + 2;
     }
 }
@@ -0,0 +1,310 @@
+package com.trading.ng.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Scale-8 fixed-point decimal arithmetic on raw {@code long} values.
+ * <p>
+ * A value {@code v} represents {@code v / 10^8}, which matches the precision
+ * Binance uses for prices and quantities. Values are kept as primitives on the
+ * market-data → indicator → signal path so that no arithmetic step allocates;
+ * conversion to {@link BigDecimal} happens only at the REST and JPA boundaries.
+ * <p>
+ * Addition, subtraction and comparison are exact. Multiplication and division
+ * round deterministically with the given {@link RoundingMode}. Every operation
+ * throws {@link ArithmeticException} on overflow instead of wrapping.
+ */
+public final class FixedDecimal {
+
+    public static final int SCALE = 8;
+    public static final long ONE = 100_000_000L;
+    public static final long ZERO = 0L;
+
+    private static final long LOW_32 = 0xFFFF_FFFFL;
+    /** Largest integer part of a representable value. */
+    private static final long MAX_UNITS = Long.MAX_VALUE / ONE;
+
+    private FixedDecimal() {
+    }
+
+    /**
+     * Parse a plain decimal string such as {@code "65000.12000000"} without
+     * going through {@link BigDecimal}. Digits beyond the eighth fractional
+     * place are rounded HALF_UP.
+     *
+     * @throws ArithmeticException if the value is beyond the {@code long} range
+     */
+    public static long parse(CharSequence s) {
+        return parse(s, false);
+    }
+
+    /**
+     * Like {@link #parse}, but a value beyond the {@code long} range comes back
+     * as {@code ±Long.MAX_VALUE} instead of throwing. For figures that are only
+     * informational and can legitimately be that large, such as the 24h volume
+     * or book depth of high-supply tokens.
+     */
+    public static long parseSaturated(CharSequence s) {
+        return parse(s, true);
+    }
+
+    private static long parse(CharSequence s, boolean saturate) {
+        int len = s.length();
+        if (len == 0) {
+            throw new NumberFormatException("Empty decimal string");
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long units = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        boolean roundUp = false;
+
+        for (; i < len; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                if (seenPoint) {
+                    throw new NumberFormatException("Invalid decimal: " + s);
+                }
+                seenPoint = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid decimal: " + s);
+            }
+            seenDigit = true;
+            int digit = c - '0';
+            if (!seenPoint) {
+                // Stops just past MAX_UNITS, so it never wraps however many digits follow
+                units = Math.min(units * 10 + digit, MAX_UNITS + 1);
+            } else if (fractionDigits < SCALE) {
+                fraction = fraction * 10 + digit;
+                fractionDigits++;
+            } else if (fractionDigits == SCALE) {
+                roundUp = digit >= 5;
+                fractionDigits++;
+            }
+        }
+        if (!seenDigit) {
+            throw new NumberFormatException("Invalid decimal: " + s);
+        }
+        for (; fractionDigits < SCALE; fractionDigits++) {
+            fraction *= 10;
+        }
+
+        if (roundUp) {
+            fraction++;
+        }
+        if (units > MAX_UNITS || (units == MAX_UNITS && fraction > Long.MAX_VALUE - MAX_UNITS * ONE)) {
+            if (!saturate) {
+                throw new ArithmeticException("Decimal out of range: " + s);
+            }
+            return negative ? -Long.MAX_VALUE : Long.MAX_VALUE;
+        }
+        long raw = units * ONE + fraction;
+        return negative ? -raw : raw;
+    }
+
+    public static long fromBigDecimal(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long value) {
+        return BigDecimal.valueOf(value, SCALE);
+    }
+
+    public static String toString(long value) {
+        return toBigDecimal(value).toPlainString();
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Sum clamped to the {@code long} range, for running totals such as volume
+     * that may saturate rather than fail.
+     */
+    public static long addSaturated(long a, long b) {
+        long sum = a + b;
+        // Overflow iff both operands have the sign the sum lacks, as in Math.addExact
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    public static long negate(long a) {
+        return Math.negateExact(a);
+    }
+
+    public static long abs(long a) {
+        return Math.absExact(a);
+    }
+
+    public static int compare(long a, long b) {
+        return Long.compare(a, b);
+    }
+
+    /**
+     * Multiply two scale-8 values. The operands are split into integer and
+     * fractional parts so the 128-bit product never has to be materialized;
+     * only the fractional cross term contributes a remainder to round.
+     */
+    public static long multiply(long a, long b, RoundingMode mode) {
+        long aHi = a / ONE;
+        long aLo = a % ONE;
+        long bHi = b / ONE;
+        long bLo = b % ONE;
+
+        // All partial products share the sign of the result, so any overflow
+        // in an intermediate step is also an overflow of the final value.
+        long loProduct = aLo * bLo;
+        long result = Math.multiplyExact(Math.multiplyExact(aHi, bHi), ONE);
+        result = Math.addExact(result, Math.multiplyExact(aHi, bLo));
+        result = Math.addExact(result, Math.multiplyExact(aLo, bHi));
+        result = Math.addExact(result, loProduct / ONE);
+        return Math.addExact(result, roundingIncrement(result, loProduct % ONE, ONE, mode));
+    }
+
+    /**
+     * Divide two scale-8 values. The dividend is rescaled by {@link #ONE} into a
+     * 128-bit product and divided as such, so values of any magnitude stay on
+     * primitives; only {@link Long#MIN_VALUE} operands, whose magnitude has no
+     * {@code long}, go through {@link BigDecimal}.
+     */
+    public static long divide(long a, long b, RoundingMode mode) {
+        if (b == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            return fromBigDecimal(toBigDecimal(a).divide(toBigDecimal(b), SCALE, mode));
+        }
+        long dividend = Math.abs(a);
+        long divisor = Math.abs(b);
+        long hi = Math.multiplyHigh(dividend, ONE);
+        long lo = dividend * ONE;
+        long quotient;
+        if (hi == 0 && lo >= 0) {
+            quotient = lo / divisor;
+        } else if (hi < divisor) {
+            quotient = divideUnsigned(hi, lo, divisor);
+        } else {
+            throw new ArithmeticException("long overflow");
+        }
+        if (quotient < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        // The remainder is below the divisor, so its low 64 bits are all of it
+        long remainder = lo - quotient * divisor;
+        long sign = (a < 0) == (b < 0) ? 1 : -1;
+        return Math.addExact(sign * quotient, roundingIncrement(quotient, sign * remainder, divisor, mode));
+    }
+
+    /**
+     * Divide a scale-8 value by a plain integer count, e.g. for averaging.
+     */
+    public static long divideByCount(long a, int count, RoundingMode mode) {
+        if (count == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return divideRounded(a, count, mode);
+    }
+
+    /**
+     * Round a scale-8 value to a multiple of {@code increment}, e.g. an
+     * exchange step or tick size. A non-positive increment leaves it unchanged.
+     */
+    public static long roundToIncrement(long value, long increment, RoundingMode mode) {
+        if (increment <= 0) {
+            return value;
+        }
+        return Math.multiplyExact(divideRounded(value, increment, mode), increment);
+    }
+
+    private static long divideRounded(long dividend, long divisor, RoundingMode mode) {
+        if (divisor < 0) {
+            dividend = Math.negateExact(dividend);
+            divisor = Math.negateExact(divisor);
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        return quotient + roundingIncrement(quotient, remainder, divisor, mode);
+    }
+
+    /**
+     * Unsigned 128-by-64-bit division of {@code hi:lo} by {@code divisor}, which
+     * requires {@code hi < divisor} so the quotient fits in 64 bits. Schoolbook
+     * division in 32-bit digits after normalizing the divisor (Hacker's Delight,
+     * {@code divlu}).
+     */
+    private static long divideUnsigned(long hi, long lo, long divisor) {
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long d = divisor << shift;
+        long dHi = d >>> 32;
+        long dLo = d & LOW_32;
+        long n32 = shift == 0 ? hi : (hi << shift) | (lo >>> (64 - shift));
+        long n10 = lo << shift;
+        long n1 = n10 >>> 32;
+        long n0 = n10 & LOW_32;
+
+        long q1 = Long.divideUnsigned(n32, dHi);
+        long rhat = n32 - q1 * dHi;
+        while (q1 > LOW_32 || Long.compareUnsigned(q1 * dLo, (rhat << 32) | n1) > 0) {
+            q1--;
+            rhat += dHi;
+            if (rhat > LOW_32) {
+                break;
+            }
+        }
+
+        long n21 = (n32 << 32) + n1 - q1 * d;
+        long q0 = Long.divideUnsigned(n21, dHi);
+        rhat = n21 - q0 * dHi;
+        while (q0 > LOW_32 || Long.compareUnsigned(q0 * dLo, (rhat << 32) | n0) > 0) {
+            q0--;
+            rhat += dHi;
+            if (rhat > LOW_32) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+
+    /**
+     * Returns -1, 0 or +1 to add to a truncated quotient. The remainder carries
+     * the sign of the exact result; {@code divisor} must be positive.
+     */
+    private static long roundingIncrement(long quotient, long remainder, long divisor, RoundingMode mode) {
+        if (remainder == 0) {
+            return 0;
+        }
+        long sign = remainder < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        long toNext = divisor - absRemainder;
+        boolean awayFromZero = switch (mode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> absRemainder >= toNext;
+            case HALF_DOWN -> absRemainder > toNext;
+            case HALF_EVEN -> absRemainder > toNext || (absRemainder == toNext && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? sign : 0;
+    }
+}
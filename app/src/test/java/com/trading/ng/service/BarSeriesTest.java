@@ -0,0 +1,158 @@
+package com.trading.ng.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BarSeriesTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final List<BarSeries> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(BarSeries::close);
+    }
+
+    private BarSeries allocate(int capacity) {
+        BarSeries series = BarSeries.allocate(capacity, MINUTE);
+        opened.add(series);
+        return series;
+    }
+
+    // Bars at the given minutes, each closing at its minute plus the offset
+    private static BarSeries.Batch bars(long closeOffset, long... minutes) {
+        BarSeries.Batch batch = new BarSeries.Batch(minutes.length);
+        for (long minute : minutes) {
+            long close = minute + closeOffset;
+            batch.add(minute * MINUTE, close, close, close, close, 1);
+        }
+        return batch;
+    }
+
+    private static List<Long> minutes(BarSeries series) {
+        List<Long> minutes = new ArrayList<>();
+        series.scan(Long.MIN_VALUE, Long.MAX_VALUE,
+                (openTime, open, high, low, close, volume) -> minutes.add(openTime / MINUTE));
+        return minutes;
+    }
+
+    private static List<Long> closes(BarSeries series) {
+        List<Long> closes = new ArrayList<>();
+        for (int i = 0; i < series.size(); i++) {
+            closes.add(series.get(i));
+        }
+        return closes;
+    }
+
+    @Test
+    void mergeFillsGapsAndPrependsOlderBars() {
+        BarSeries series = allocate(100);
+        assertThat(series.merge(bars(0, 3, 5, 8))).isEqualTo(3);
+
+        assertThat(series.merge(bars(0, 1, 4, 6, 7, 9))).isEqualTo(5);
+
+        assertThat(minutes(series)).containsExactly(1L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(closes(series)).containsExactly(1L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+    }
+
+    @Test
+    void mergeReplacesBarsAtHeldOpenTimes() {
+        BarSeries series = allocate(100);
+        series.merge(bars(0, 1, 2, 3));
+
+        assertThat(series.merge(bars(100, 2, 3, 4))).isEqualTo(1);
+
+        assertThat(minutes(series)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(closes(series)).containsExactly(1L, 102L, 103L, 104L);
+    }
+
+    @Test
+    void mergePastTheCapacityKeepsTheNewestBars() {
+        BarSeries series = allocate(5);
+        series.merge(bars(0, 1, 3, 5, 7));
+
+        // Merged sequence 1..7 keeps 3..7; of the loaded bars only 4 and 6 survive
+        assertThat(series.merge(bars(100, 2, 4, 6))).isEqualTo(2);
+
+        assertThat(minutes(series)).containsExactly(3L, 4L, 5L, 6L, 7L);
+        assertThat(closes(series)).containsExactly(3L, 104L, 5L, 106L, 7L);
+    }
+
+    @Test
+    void mergeOfOnlyOlderBarsIntoAFullSeriesAddsNothing() {
+        BarSeries series = allocate(4);
+        series.merge(bars(0, 10, 11, 12, 13));
+
+        assertThat(series.merge(bars(0, 1, 2))).isZero();
+
+        assertThat(minutes(series)).containsExactly(10L, 11L, 12L, 13L);
+    }
+
+    @Test
+    void mergeOfNewerBarsIntoAFullSeriesDropsTheOldest() {
+        BarSeries series = allocate(4);
+        series.merge(bars(0, 10, 11, 12, 13));
+
+        assertThat(series.merge(bars(0, 13, 14, 15))).isEqualTo(2);
+
+        assertThat(minutes(series)).containsExactly(12L, 13L, 14L, 15L);
+    }
+
+    @Test
+    void batchLargerThanTheCapacityKeepsItsNewestBars() {
+        BarSeries series = allocate(3);
+        series.merge(bars(0, 0));
+
+        assertThat(series.merge(bars(0, 1, 2, 3, 4, 5, 6))).isEqualTo(3);
+
+        assertThat(minutes(series)).containsExactly(4L, 5L, 6L);
+    }
+
+    @Test
+    void anonymousSeriesGrowsPastItsInitialColumns() {
+        BarSeries series = allocate(5 * BarSeries.INITIAL_BARS);
+        int bars = 3 * BarSeries.INITIAL_BARS + 7;
+        for (long minute = 0; minute < bars; minute++) {
+            series.update(minute, 0, minute * MINUTE + 1);
+        }
+        // Back-merge into grown columns
+        assertThat(series.merge(bars(1_000, -2, -1))).isEqualTo(2);
+
+        assertThat(series.size()).isEqualTo(bars + 2);
+        assertThat(series.openTime(0)).isEqualTo(-2 * MINUTE);
+        assertThat(series.get(1)).isEqualTo(999);
+        for (int i = 2; i < series.size(); i++) {
+            assertThat(series.get(i)).isEqualTo(i - 2);
+        }
+    }
+
+    @Test
+    void updateDropsTheOldestQuarterWhenFull() {
+        BarSeries series = allocate(8);
+        for (long minute = 0; minute < 9; minute++) {
+            series.update(minute, 0, minute * MINUTE);
+        }
+        assertThat(minutes(series)).containsExactly(2L, 3L, 4L, 5L, 6L, 7L, 8L);
+    }
+
+    @Test
+    void mappedSeriesReopensItsBars(@TempDir Path dir) {
+        Path file = dir.resolve("BTCEUR-60s.bars");
+        try (BarSeries series = BarSeries.map(file, 16, MINUTE)) {
+            series.merge(bars(0, 1, 2, 4));
+            series.merge(bars(0, 3));
+        }
+        try (BarSeries reopened = BarSeries.map(file, 16, MINUTE)) {
+            assertThat(minutes(reopened)).containsExactly(1L, 2L, 3L, 4L);
+            assertThat(closes(reopened)).containsExactly(1L, 2L, 3L, 4L);
+        }
+    }
+}
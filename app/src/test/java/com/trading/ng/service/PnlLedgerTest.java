@@ -0,0 +1,166 @@
+package com.trading.ng.service;
+
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.util.FixedDecimal;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PnlLedgerTest {
+
+    private static final String SYMBOL = "BTCEUR";
+
+    private static long d(String value) {
+        return FixedDecimal.parse(value);
+    }
+
+    private static void buy(PnlLedger ledger, long tradeId, String price, String quantity) {
+        ledger.apply(tradeId, OrderSide.BUY, d(price), d(quantity), 0, 0);
+    }
+
+    private static long sell(PnlLedger ledger, long tradeId, String price, String quantity) {
+        return ledger.apply(tradeId, OrderSide.SELL, d(price), d(quantity), 0, 0);
+    }
+
+    @Test
+    void fifoClosesTheOldestLotsFirst() {
+        PnlLedger ledger = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        buy(ledger, 1, "100", "1");
+        buy(ledger, 2, "200", "1");
+        sell(ledger, 3, "300", "1.5");
+
+        // Cost 100 + 0.5 * 200 against proceeds of 450
+        assertThat(ledger.getRealized()).isEqualTo(d("250"));
+        assertThat(ledger.getPosition()).isEqualTo(d("0.5"));
+        assertThat(ledger.getCostBasis()).isEqualTo(d("100"));
+        assertThat(ledger.encodeLots()).isEqualTo(d("0.5") + ":" + d("200"));
+    }
+
+    @Test
+    void averageClosesAtTheAveragePrice() {
+        PnlLedger ledger = new PnlLedger(SYMBOL, CostMethod.AVERAGE);
+        buy(ledger, 1, "100", "1");
+        buy(ledger, 2, "200", "1");
+        sell(ledger, 3, "300", "1.5");
+
+        assertThat(ledger.getRealized()).isEqualTo(d("225"));
+        assertThat(ledger.getPosition()).isEqualTo(d("0.5"));
+        assertThat(ledger.getCostBasis()).isEqualTo(d("75"));
+        assertThat(ledger.encodeLots()).isEqualTo(d("0.5") + ":" + d("150"));
+    }
+
+    @Test
+    void closingThePositionClearsTheCostBasis() {
+        PnlLedger ledger = new PnlLedger(SYMBOL, CostMethod.AVERAGE);
+        buy(ledger, 1, "100", "1");
+        buy(ledger, 2, "101", "2");
+        sell(ledger, 3, "90", "3");
+
+        assertThat(ledger.getPosition()).isZero();
+        assertThat(ledger.getCostBasis()).isZero();
+        assertThat(ledger.getRealized()).isEqualTo(d("-32"));
+        assertThat(ledger.encodeLots()).isEmpty();
+    }
+
+    @Test
+    void sellWithoutALotIsReportedAsUnmatched() {
+        PnlLedger ledger = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        buy(ledger, 1, "100", "0.4");
+
+        assertThat(sell(ledger, 2, "120", "1")).isEqualTo(d("0.6"));
+        assertThat(ledger.getRealized()).isEqualTo(d("8"));
+        assertThat(ledger.getPosition()).isZero();
+    }
+
+    @Test
+    void baseAssetFeeShrinksTheBoughtLotAndGrowsTheSoldQuantity() {
+        PnlLedger ledger = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        ledger.apply(1, OrderSide.BUY, d("100"), d("1"), d("0.1"), d("0.001"));
+        assertThat(ledger.getPosition()).isEqualTo(d("0.999"));
+        assertThat(ledger.getCostBasis()).isEqualTo(d("99.9"));
+
+        ledger.apply(2, OrderSide.SELL, d("200"), d("0.5"), d("0.2"), d("0.001"));
+        assertThat(ledger.getPosition()).isEqualTo(d("0.498"));
+        assertThat(ledger.getRealized()).isEqualTo(d("50.1"));
+        assertThat(ledger.getFees()).isEqualTo(d("0.3"));
+    }
+
+    @Test
+    void unrealizedFollowsTheMark() {
+        PnlLedger ledger = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        buy(ledger, 1, "100", "2");
+        assertThat(ledger.getUnrealized()).isZero();
+
+        ledger.mark(d("90"));
+        assertThat(ledger.getUnrealized()).isEqualTo(d("-20"));
+        ledger.mark(d("130"));
+        assertThat(ledger.getUnrealized()).isEqualTo(d("60"));
+    }
+
+    @Test
+    void lateFillsAreAppliedAndDuplicatesIgnored() {
+        PnlLedger ledger = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        buy(ledger, 10, "100", "1");
+        assertThat(ledger.takeDirty()).isTrue();
+
+        // A catch-up recovers a fill that was missed before trade 10
+        buy(ledger, 5, "100", "1");
+        buy(ledger, 5, "100", "1");
+        buy(ledger, 10, "100", "1");
+
+        assertThat(ledger.getPosition()).isEqualTo(d("2"));
+        assertThat(ledger.getLastTradeId()).isEqualTo(10);
+        assertThat(ledger.takeDirty()).isTrue();
+        assertThat(ledger.takeDirty()).isFalse();
+    }
+
+    @Test
+    void idsBelowTheTrackedWindowCountAsApplied() {
+        PnlLedger ledger = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        for (long tradeId = 1; tradeId <= PnlLedger.TRACKED_TRADE_IDS + 1; tradeId++) {
+            buy(ledger, tradeId, "1", "0.001");
+        }
+        assertThat(ledger.getTradeIdFloor()).isEqualTo(1);
+
+        long position = ledger.getPosition();
+        buy(ledger, 1, "1", "0.001");
+        buy(ledger, 0, "1", "0.001");
+        buy(ledger, 2, "1", "0.001");
+        assertThat(ledger.getPosition()).isEqualTo(position);
+    }
+
+    @Test
+    void restoreKeepsLotsAndDuplicateDetection() {
+        PnlLedger original = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        buy(original, 3, "100", "1");
+        buy(original, 7, "200", "1");
+        sell(original, 5, "150", "0.5");
+
+        PnlLedger restored = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        restored.restore(original.getPosition(), original.getCostBasis(), original.getRealized(),
+                original.getFees(), original.getLastTradeId(), original.getTradeIdFloor(),
+                original.encodeRecentTradeIds(), original.encodeLots());
+
+        assertThat(restored.encodeLots()).isEqualTo(original.encodeLots());
+        assertThat(restored.encodeRecentTradeIds()).isEqualTo("3,5,7");
+
+        sell(restored, 5, "150", "0.5");
+        assertThat(restored.getPosition()).isEqualTo(d("1.5"));
+        sell(restored, 6, "300", "1");
+        assertThat(restored.getRealized()).isEqualTo(d("25") + d("150"));
+    }
+
+    @Test
+    void fifoLotsRestoredAsAverageAreMerged() {
+        PnlLedger original = new PnlLedger(SYMBOL, CostMethod.FIFO);
+        buy(original, 1, "100", "1");
+        buy(original, 2, "300", "1");
+
+        PnlLedger restored = new PnlLedger(SYMBOL, CostMethod.AVERAGE);
+        restored.restore(original.getPosition(), original.getCostBasis(), 0, 0,
+                original.getLastTradeId(), original.getTradeIdFloor(),
+                original.encodeRecentTradeIds(), original.encodeLots());
+
+        assertThat(restored.encodeLots()).isEqualTo(d("2") + ":" + d("200"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.trading.ng.service;
+
+import com.trading.ng.config.RiskProperties;
+import com.trading.ng.domain.OrderSide;
+import com.trading.ng.domain.OrderStatus;
+import com.trading.ng.domain.OrderType;
+import com.trading.ng.dto.PlaceOrderRequest;
+import com.trading.ng.util.FixedDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RiskEngineTest {
+
+    private static final String SYMBOL = "BTCEUR";
+
+    private RiskEngine riskEngine;
+
+    @BeforeEach
+    void setUp() {
+        MarketDataStreamService marketData = mock(MarketDataStreamService.class);
+        when(marketData.getLatestTick(SYMBOL))
+                .thenReturn(new MarketTick(SYMBOL, FixedDecimal.parse("50000"), 0, 0, 0));
+        riskEngine = new RiskEngine(marketData, new RiskProperties(
+                true, new BigDecimal("1000"), new BigDecimal("5000"), 1_000_000, new BigDecimal("5")));
+    }
+
+    private static PlaceOrderRequest buy(String quantity) {
+        return new PlaceOrderRequest(SYMBOL, OrderSide.BUY, OrderType.LIMIT,
+                new BigDecimal(quantity), new BigDecimal("50000"), null, "GTC");
+    }
+
+    private BigDecimal exposure() {
+        return riskEngine.getStatus().symbolExposure().getOrDefault(SYMBOL, BigDecimal.ZERO);
+    }
+
+    @Test
+    void cancelReplaceLoopDoesNotUseUpTheLimit() {
+        // Each order reserves 500 against a limit of 1000, so three live ones would be rejected
+        for (long orderId = 1; orderId <= 1_000; orderId++) {
+            long reserved = riskEngine.check(buy("0.01"));
+            riskEngine.bind(orderId, SYMBOL, reserved, new BigDecimal("0.01"));
+            riskEngine.settle(orderId, OrderStatus.CANCELED, BigDecimal.ZERO);
+        }
+        assertThat(exposure()).isEqualByComparingTo("0");
+        assertThat(riskEngine.getStatus().rejectedOrders()).isZero();
+    }
+
+    @Test
+    void partialFillKeepsOnlyTheFilledNotional() {
+        long reserved = riskEngine.check(buy("0.01"));
+        riskEngine.bind(7, SYMBOL, reserved, new BigDecimal("0.01"));
+
+        riskEngine.settle(7, OrderStatus.PARTIALLY_FILLED, new BigDecimal("0.004"));
+        assertThat(exposure()).isEqualByComparingTo("500");
+
+        riskEngine.settle(7, OrderStatus.CANCELED, new BigDecimal("0.004"));
+        assertThat(exposure()).isEqualByComparingTo("200");
+        assertThat(riskEngine.getStatus().totalExposure()).isEqualByComparingTo("200");
+    }
+
+    @Test
+    void filledOrderKeepsItsExposure() {
+        long reserved = riskEngine.check(buy("0.01"));
+        riskEngine.bind(1, SYMBOL, reserved, new BigDecimal("0.01"));
+        riskEngine.settle(1, OrderStatus.FILLED, new BigDecimal("0.01"));
+
+        assertThat(exposure()).isEqualByComparingTo("500");
+        assertThatThrownBy(() -> riskEngine.check(buy("0.02"))).isInstanceOf(RiskRejectedException.class);
+    }
+
+    @Test
+    void settlingTwiceReleasesOnce() {
+        riskEngine.check(buy("0.01"));
+        long reserved = riskEngine.check(buy("0.01"));
+        riskEngine.bind(2, SYMBOL, reserved, new BigDecimal("0.01"));
+
+        riskEngine.settle(2, OrderStatus.EXPIRED, BigDecimal.ZERO);
+        riskEngine.settle(2, OrderStatus.EXPIRED, BigDecimal.ZERO);
+
+        assertThat(exposure()).isEqualByComparingTo("500");
+    }
+
+    @Test
+    void rejectedOrderReservesNothing() {
+        riskEngine.check(buy("0.015"));
+
+        assertThatThrownBy(() -> riskEngine.check(buy("0.01"))).isInstanceOf(RiskRejectedException.class);
+        assertThat(exposure()).isEqualByComparingTo("750");
+        assertThat(riskEngine.getStatus().rejectedOrders()).isEqualTo(1);
+    }
+
+    @Test
+    void failedPlacementReleasesTheReservation() {
+        long reserved = riskEngine.check(buy("0.02"));
+        assertThat(exposure()).isEqualByComparingTo("1000");
+
+        riskEngine.release(SYMBOL, reserved);
+        assertThat(exposure()).isEqualByComparingTo("0");
+    }
+}
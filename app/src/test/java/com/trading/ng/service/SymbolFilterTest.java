@@ -0,0 +1,42 @@
+package com.trading.ng.service;
+
+import com.trading.ng.domain.OrderType;
+import org.junit.jupiter.api.Test;
+
+import static com.trading.ng.util.FixedDecimal.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolFilterTest {
+
+    // LOT_SIZE 0.001 .. 9000 in steps of 0.001, MARKET_LOT_SIZE up to 120 with no step of its own
+    private final SymbolFilter filter = new SymbolFilter("BTCEUR",
+            parse("0.001"), parse("0.001"), parse("9000"),
+            0, 0, parse("120"),
+            parse("0.01"), parse("0.01"), parse("1000000"), parse("5"));
+
+    @Test
+    void marketOrdersAreHeldToTheMarketLotSizeMaximum() {
+        assertThat(filter.violation(parse("150"), parse("60000"), OrderType.MARKET))
+                .contains("above MARKET_LOT_SIZE maximum 120");
+        assertThat(filter.violation(parse("150"), parse("60000"), OrderType.LIMIT)).isNull();
+        assertThat(filter.violation(parse("120"), parse("60000"), OrderType.MARKET)).isNull();
+    }
+
+    @Test
+    void marketOrdersStillPassLotSize() {
+        assertThat(filter.violation(parse("0.0005"), 0, OrderType.MARKET)).contains("below LOT_SIZE minimum");
+    }
+
+    @Test
+    void marketStepSizeAppliesOnlyToMarketOrders() {
+        SymbolFilter coarse = new SymbolFilter("BTCEUR",
+                parse("0.001"), parse("0.001"), 0,
+                parse("0.1"), parse("0.1"), 0,
+                0, 0, 0, 0);
+
+        assertThat(coarse.roundQuantity(parse("1.2345"), OrderType.MARKET)).isEqualTo(parse("1.2"));
+        assertThat(coarse.roundQuantity(parse("1.2345"), OrderType.LIMIT)).isEqualTo(parse("1.234"));
+        assertThat(coarse.violation(parse("0.05"), 0, OrderType.MARKET)).contains("below MARKET_LOT_SIZE minimum");
+        assertThat(coarse.violation(parse("0.05"), 0, OrderType.LIMIT)).isNull();
+    }
+}
@@ -0,0 +1,211 @@
+package com.trading.ng.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedDecimalTest {
+
+    private static long d(String value) {
+        return FixedDecimal.parse(value);
+    }
+
+    @Test
+    void parsesPlainDecimals() {
+        assertThat(d("65000.12")).isEqualTo(6_500_012_000_000L);
+        assertThat(d("-0.5")).isEqualTo(-50_000_000L);
+        assertThat(d("+3")).isEqualTo(300_000_000L);
+        assertThat(d(".25")).isEqualTo(25_000_000L);
+        assertThat(d("7.")).isEqualTo(700_000_000L);
+    }
+
+    @Test
+    void trailingZerosDoNotChangeTheValue() {
+        assertThat(d("65000.12000000")).isEqualTo(d("65000.12"));
+        assertThat(d("1.000000000000")).isEqualTo(FixedDecimal.ONE);
+        assertThat(d("0.00000000")).isZero();
+    }
+
+    @Test
+    void roundsDigitsBeyondTheScaleHalfUp() {
+        assertThat(d("0.000000015")).isEqualTo(2);
+        assertThat(d("0.0000000149999")).isEqualTo(1);
+        assertThat(d("-0.000000015")).isEqualTo(-2);
+    }
+
+    @Test
+    void rejectsExponentAndMalformedStrings() {
+        // Exchange values are always plain; exponent notation goes through fromBigDecimal
+        assertThatThrownBy(() -> d("1E-8")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> d("1e3")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> d("")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> d("-")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> d("1.2.3")).isInstanceOf(NumberFormatException.class);
+        assertThat(FixedDecimal.fromBigDecimal(new BigDecimal("1E-8"))).isEqualTo(1);
+        assertThat(FixedDecimal.fromBigDecimal(new BigDecimal("6.5E+4"))).isEqualTo(d("65000"));
+    }
+
+    @Test
+    void parseThrowsOnOverflow() {
+        assertThat(d("92233720368.54775807")).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> d("92233720368.54775808")).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> d("100000000000")).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> d("99999999999999999999999999")).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> d("92233720368.547758075")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void parseSaturatedClampsInsteadOfThrowing() {
+        // 24h volume of a high-supply token
+        assertThat(FixedDecimal.parseSaturated("412345678901234.00000000")).isEqualTo(Long.MAX_VALUE);
+        assertThat(FixedDecimal.parseSaturated("-92233720368.54775808")).isEqualTo(-Long.MAX_VALUE);
+        assertThat(FixedDecimal.parseSaturated("92233720368.547758075")).isEqualTo(Long.MAX_VALUE);
+        assertThat(FixedDecimal.parseSaturated("92233720368.54775807")).isEqualTo(Long.MAX_VALUE);
+        assertThat(FixedDecimal.parseSaturated("1234.5")).isEqualTo(d("1234.5"));
+        assertThatThrownBy(() -> FixedDecimal.parseSaturated("1e30")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void multiplyRoundsTheDroppedDigits() {
+        long tiny = d("0.00000001");
+        long half = d("0.5");
+        assertThat(FixedDecimal.multiply(tiny, half, RoundingMode.HALF_UP)).isEqualTo(1);
+        assertThat(FixedDecimal.multiply(tiny, half, RoundingMode.HALF_DOWN)).isZero();
+        assertThat(FixedDecimal.multiply(tiny, half, RoundingMode.HALF_EVEN)).isZero();
+        assertThat(FixedDecimal.multiply(3 * tiny, half, RoundingMode.HALF_EVEN)).isEqualTo(2);
+        assertThat(FixedDecimal.multiply(tiny, d("0.1"), RoundingMode.UP)).isEqualTo(1);
+        assertThat(FixedDecimal.multiply(tiny, d("0.9"), RoundingMode.DOWN)).isZero();
+    }
+
+    @Test
+    void multiplyRoundsNegativesBySign() {
+        long minusTiny = d("-0.00000001");
+        long half = d("0.5");
+        assertThat(FixedDecimal.multiply(minusTiny, half, RoundingMode.HALF_UP)).isEqualTo(-1);
+        assertThat(FixedDecimal.multiply(minusTiny, half, RoundingMode.FLOOR)).isEqualTo(-1);
+        assertThat(FixedDecimal.multiply(minusTiny, half, RoundingMode.CEILING)).isZero();
+        assertThat(FixedDecimal.multiply(d("-2.5"), d("-4"), RoundingMode.UNNECESSARY)).isEqualTo(d("10"));
+    }
+
+    @Test
+    void divideRoundsRepeatingFractions() {
+        long one = FixedDecimal.ONE;
+        long three = d("3");
+        assertThat(FixedDecimal.divide(one, three, RoundingMode.HALF_UP)).isEqualTo(d("0.33333333"));
+        assertThat(FixedDecimal.divide(one, three, RoundingMode.UP)).isEqualTo(d("0.33333334"));
+        assertThat(FixedDecimal.divide(2 * one, three, RoundingMode.DOWN)).isEqualTo(d("0.66666666"));
+        assertThat(FixedDecimal.divide(2 * one, three, RoundingMode.HALF_UP)).isEqualTo(d("0.66666667"));
+        assertThat(FixedDecimal.divide(-one, three, RoundingMode.FLOOR)).isEqualTo(d("-0.33333334"));
+        assertThat(FixedDecimal.divide(-one, three, RoundingMode.CEILING)).isEqualTo(d("-0.33333333"));
+        assertThat(FixedDecimal.divide(one, -three, RoundingMode.UP)).isEqualTo(d("-0.33333334"));
+        assertThat(FixedDecimal.divideByCount(d("1"), 3, RoundingMode.HALF_EVEN)).isEqualTo(d("0.33333333"));
+    }
+
+    @Test
+    void divideRescalesLargeDividendsPastALong() {
+        // Rescaling anything above ~922 by ONE no longer fits in a long
+        assertThat(FixedDecimal.divide(d("1000"), d("3"), RoundingMode.HALF_UP)).isEqualTo(d("333.33333333"));
+        assertThat(FixedDecimal.divide(d("-1000"), d("3"), RoundingMode.FLOOR)).isEqualTo(d("-333.33333334"));
+        assertThat(FixedDecimal.divide(d("1500000"), d("0.00002"), RoundingMode.HALF_UP))
+                .isEqualTo(d("75000000000"));
+        assertThat(FixedDecimal.divide(Long.MAX_VALUE, Long.MAX_VALUE, RoundingMode.UNNECESSARY))
+                .isEqualTo(FixedDecimal.ONE);
+        assertThat(FixedDecimal.divide(Long.MAX_VALUE, d("-3"), RoundingMode.DOWN))
+                .isEqualTo(d("-30744573456.18258602"));
+    }
+
+    @Test
+    void divideThrowsWhenTheQuotientOverflows() {
+        assertThatThrownBy(() -> FixedDecimal.divide(d("1000"), 1, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedDecimal.divide(Long.MAX_VALUE, d("0.5"), RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void divisionByZeroThrows() {
+        assertThatThrownBy(() -> FixedDecimal.divide(FixedDecimal.ONE, 0, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedDecimal.divideByCount(FixedDecimal.ONE, 0, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        assertThatThrownBy(() -> FixedDecimal.add(Long.MAX_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedDecimal.subtract(Long.MIN_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedDecimal.multiply(Long.MAX_VALUE, d("2"), RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedDecimal.multiply(d("-1000000"), d("1000000"), RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedDecimal.fromBigDecimal(new BigDecimal("1E+12")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void addSaturatedClampsAtTheRange() {
+        assertThat(FixedDecimal.addSaturated(Long.MAX_VALUE - 1, 5)).isEqualTo(Long.MAX_VALUE);
+        assertThat(FixedDecimal.addSaturated(Long.MIN_VALUE + 1, -5)).isEqualTo(Long.MIN_VALUE);
+        assertThat(FixedDecimal.addSaturated(Long.MAX_VALUE, Long.MIN_VALUE)).isEqualTo(-1);
+        assertThat(FixedDecimal.addSaturated(d("1.5"), d("2.25"))).isEqualTo(d("3.75"));
+    }
+
+    @Test
+    void unnecessaryRoundingThrowsWhenDigitsAreDropped() {
+        assertThatThrownBy(() -> FixedDecimal.divide(FixedDecimal.ONE, d("3"), RoundingMode.UNNECESSARY))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void matchesBigDecimalForRandomOperands(RoundingMode mode) {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long a = random.nextLong() % (1_000_000 * FixedDecimal.ONE);
+            long b = random.nextLong() % (1_000 * FixedDecimal.ONE);
+            if (b == 0) {
+                continue;
+            }
+            BigDecimal x = FixedDecimal.toBigDecimal(a);
+            BigDecimal y = FixedDecimal.toBigDecimal(b);
+            assertThat(FixedDecimal.multiply(a, b, mode))
+                    .as("%s * %s %s", x, y, mode)
+                    .isEqualTo(x.multiply(y).setScale(FixedDecimal.SCALE, mode).unscaledValue().longValueExact());
+            assertThat(FixedDecimal.divide(a, b, mode))
+                    .as("%s / %s %s", x, y, mode)
+                    .isEqualTo(x.divide(y, FixedDecimal.SCALE, mode).unscaledValue().longValueExact());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void divideMatchesBigDecimalAcrossTheWholeRange(RoundingMode mode) {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long a = random.nextLong() >> random.nextInt(64);
+            long b = random.nextLong() >> random.nextInt(64);
+            if (b == 0) {
+                continue;
+            }
+            BigDecimal x = FixedDecimal.toBigDecimal(a);
+            BigDecimal y = FixedDecimal.toBigDecimal(b);
+            BigDecimal expected = x.divide(y, FixedDecimal.SCALE, mode);
+            if (expected.unscaledValue().bitLength() > 63) {
+                assertThatThrownBy(() -> FixedDecimal.divide(a, b, mode))
+                        .as("%s / %s %s", x, y, mode)
+                        .isInstanceOf(ArithmeticException.class);
+            } else {
+                assertThat(FixedDecimal.divide(a, b, mode))
+                        .as("%s / %s %s", x, y, mode)
+                        .isEqualTo(expected.unscaledValue().longValueExact());
+            }
+        }
+    }
+}